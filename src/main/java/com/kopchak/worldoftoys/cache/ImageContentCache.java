@@ -0,0 +1,49 @@
+package com.kopchak.worldoftoys.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class ImageContentCache {
+    private final static String CACHE_NAME = "images";
+    private final Cache<String, byte[]> cache;
+    private final long maxEntrySizeBytes;
+
+    public ImageContentCache(@Value("${image.cache.max-size-bytes}") long maxSizeBytes,
+                             @Value("${image.cache.max-entry-size-bytes}") long maxEntrySizeBytes,
+                             MeterRegistry meterRegistry) {
+        this.maxEntrySizeBytes = maxEntrySizeBytes;
+        this.cache = Caffeine
+                .newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((String hash, byte[] content) -> content.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Only small images such as thumbnails are kept on the heap, larger ones are streamed from the image storage.
+     */
+    public boolean isCacheable(Long contentLength) {
+        return contentLength != null && contentLength <= maxEntrySizeBytes;
+    }
+
+    public byte[] get(String hash, Function<String, byte[]> imageContentLoader) {
+        return cache.get(hash, imageContentLoader);
+    }
+
+    public void evictAll(Collection<String> hashes) {
+        cache.invalidateAll(hashes);
+        log.info("The images with hashes: {} were evicted from the cache", hashes);
+    }
+}
@@ -0,0 +1,43 @@
+package com.kopchak.worldoftoys.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class ProductCountCache {
+    private final static String CACHE_NAME = "product-counts";
+    private final Cache<ProductCountCacheKey, Long> cache;
+
+    public ProductCountCache(@Value("${product.count-cache.ttl}") Duration ttl,
+                             @Value("${product.count-cache.max-size}") long maxSize, MeterRegistry meterRegistry) {
+        this.cache = Caffeine
+                .newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public long get(ProductCountCacheKey key, Function<ProductCountCacheKey, Long> countLoader) {
+        return cache.get(key, countLoader);
+    }
+
+    public Long getIfPresent(ProductCountCacheKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        log.info("The product counts were evicted from the cache");
+    }
+}
@@ -0,0 +1,43 @@
+package com.kopchak.worldoftoys.cache;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProductCountCacheKey(String productName, BigDecimal minPrice, BigDecimal maxPrice,
+                                   List<String> originCategories, List<String> brandCategories,
+                                   List<String> ageCategories, String availability) {
+
+    public static ProductCountCacheKey of(String productName, BigDecimal minPrice, BigDecimal maxPrice,
+                                          List<String> originCategories, List<String> brandCategories,
+                                          List<String> ageCategories, String availability) {
+        return new ProductCountCacheKey(
+                productName == null ? null : productName.toLowerCase(),
+                normalizePrice(minPrice),
+                normalizePrice(maxPrice),
+                normalizeCategories(originCategories),
+                normalizeCategories(brandCategories),
+                normalizeCategories(ageCategories),
+                normalizeAvailability(availability));
+    }
+
+    private static BigDecimal normalizePrice(BigDecimal price) {
+        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
+        return price.stripTrailingZeros();
+    }
+
+    private static List<String> normalizeCategories(List<String> categories) {
+        if (categories == null) {
+            return List.of();
+        }
+        return categories.stream().distinct().sorted().toList();
+    }
+
+    private static String normalizeAvailability(String availability) {
+        if ("available".equalsIgnoreCase(availability) || "unavailable".equalsIgnoreCase(availability)) {
+            return availability.toLowerCase();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.kopchak.worldoftoys.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class StripeCustomerCache {
+    private final static String CACHE_NAME = "stripe-customers";
+    private final Cache<String, String> cache;
+
+    public StripeCustomerCache(@Value("${stripe.customer-cache.ttl}") Duration ttl,
+                               @Value("${stripe.customer-cache.max-size}") long maxSize,
+                               MeterRegistry meterRegistry) {
+        this.cache = Caffeine
+                .newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<String> get(String email, Function<String, Optional<String>> customerIdLoader) {
+        return Optional.ofNullable(cache.get(email, key -> customerIdLoader.apply(key).orElse(null)));
+    }
+
+    public void put(String email, String customerId) {
+        cache.put(email, customerId);
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+        log.info("The stripe customer with email: {} was evicted from the cache", email);
+    }
+}
@@ -0,0 +1,46 @@
+package com.kopchak.worldoftoys.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kopchak.worldoftoys.domain.user.AppUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class UserDetailsCache {
+    private final static String CACHE_NAME = "user-details";
+    private final Cache<String, UserDetailsSnapshot> cache;
+
+    public UserDetailsCache(@Value("${security.user-cache.ttl}") Duration ttl,
+                            @Value("${security.user-cache.max-size}") long maxSize, MeterRegistry meterRegistry) {
+        this.cache = Caffeine
+                .newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns a detached copy of the cached user, so callers can never mutate the state shared between requests.
+     */
+    public Optional<AppUser> get(String email, Function<String, Optional<AppUser>> userLoader) {
+        UserDetailsSnapshot snapshot = cache.get(email,
+                key -> userLoader.apply(key).map(UserDetailsSnapshot::of).orElse(null));
+        return Optional.ofNullable(snapshot).map(UserDetailsSnapshot::toAppUser);
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+        log.info("The user with the username: {} was evicted from the cache", email);
+    }
+}
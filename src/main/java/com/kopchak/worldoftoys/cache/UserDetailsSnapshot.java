@@ -0,0 +1,25 @@
+package com.kopchak.worldoftoys.cache;
+
+import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.domain.user.Role;
+
+public record UserDetailsSnapshot(Integer id, String email, String password, Role role, boolean locked,
+                                  boolean enabled) {
+
+    public static UserDetailsSnapshot of(AppUser user) {
+        return new UserDetailsSnapshot(user.getId(), user.getEmail(), user.getPassword(), user.getRole(),
+                Boolean.TRUE.equals(user.getLocked()), Boolean.TRUE.equals(user.getEnabled()));
+    }
+
+    public AppUser toAppUser() {
+        return AppUser
+                .builder()
+                .id(id)
+                .email(email)
+                .password(password)
+                .role(role)
+                .locked(locked)
+                .enabled(enabled)
+                .build();
+    }
+}
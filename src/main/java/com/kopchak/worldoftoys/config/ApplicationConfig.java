@@ -1,7 +1,9 @@
 package com.kopchak.worldoftoys.config;
 
+import com.kopchak.worldoftoys.cache.UserDetailsCache;
 import com.kopchak.worldoftoys.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,13 +16,15 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
+@EnableConfigurationProperties(JwtProperties.class)
 @RequiredArgsConstructor
 public class ApplicationConfig {
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> userDetailsCache.get(username, userRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
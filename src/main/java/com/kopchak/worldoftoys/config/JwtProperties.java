@@ -0,0 +1,12 @@
+package com.kopchak.worldoftoys.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "security.jwt")
+public record JwtProperties(String secret, String keyId, Map<String, String> verificationKeys) {
+    public JwtProperties {
+        verificationKeys = verificationKeys == null ? Map.of() : Map.copyOf(verificationKeys);
+    }
+}
@@ -13,7 +13,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.logout.LogoutFilter;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 
 @Configuration
@@ -33,19 +33,20 @@ public class SecurityConfig {
                 .and()
                 .csrf().disable()
                 .authorizeHttpRequests()
-                .requestMatchers("/api/v*/auth/**", "/api/v*/products/**", "/api/v*/payment/webhook",
+                .requestMatchers("/api/v*/auth/**", "/api/v*/products/**", "/api/v*/images/**",
+                        "/api/v*/payment/webhook",
                         "/swagger-ui/**", "/v3/api-docs/**", "/error")
                 .permitAll()
                 .requestMatchers("/api/v*/cart/**", "/api/v*/order/**", "/api/v*/payment/{orderId}")
                 .hasAuthority(Role.ROLE_USER.name())
-                .requestMatchers("/api/v1/admin/**")
+                .requestMatchers("/api/v1/admin/**", "/actuator/**")
                 .hasAuthority(Role.ROLE_ADMIN.name())
                 .and()
                 .sessionManagement()
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(jwtAuthFilter, LogoutFilter.class)
                 .logout()
                 .logoutUrl("/api/v1/auth/logout")
                 .addLogoutHandler(logoutHandler)
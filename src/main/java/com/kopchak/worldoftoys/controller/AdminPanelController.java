@@ -7,11 +7,14 @@ import com.kopchak.worldoftoys.dto.admin.category.AdminCategoryDto;
 import com.kopchak.worldoftoys.dto.admin.category.CategoryNameDto;
 import com.kopchak.worldoftoys.dto.admin.order.FilteredOrdersPageDto;
 import com.kopchak.worldoftoys.dto.admin.order.FilteringOrderOptionsDto;
+import com.kopchak.worldoftoys.dto.admin.order.OrdersStatusUpdateDto;
 import com.kopchak.worldoftoys.dto.admin.order.StatusDto;
 import com.kopchak.worldoftoys.dto.admin.product.AddUpdateProductDto;
+import com.kopchak.worldoftoys.dto.admin.product.AdminFilteredProductDto;
 import com.kopchak.worldoftoys.dto.admin.product.AdminProductDto;
 import com.kopchak.worldoftoys.dto.admin.product.AdminProductsPageDto;
 import com.kopchak.worldoftoys.dto.error.ExceptionDto;
+import com.kopchak.worldoftoys.dto.product.CursorPageDto;
 import com.kopchak.worldoftoys.dto.product.FilteredProductsPageDto;
 import com.kopchak.worldoftoys.dto.product.ProductDto;
 import com.kopchak.worldoftoys.service.impl.CategoryService;
@@ -64,11 +67,41 @@ public class AdminPanelController {
             @RequestParam(name = "brand", required = false) List<String> brandCategories,
             @RequestParam(name = "age", required = false) List<String> ageCategories,
             @RequestParam(name = "price-sort", required = false) String priceSortOrder,
-            @RequestParam(name = "availability", required = false) String availability
-
+            @RequestParam(name = "availability", required = false) String availability,
+            @RequestParam(name = "count-mode", defaultValue = "exact") String countMode
     ) {
         var productsPage = productService.getAdminProductsPage(page, size, productName, minPrice, maxPrice,
-                originCategories, brandCategories, ageCategories, priceSortOrder, availability);
+                originCategories, brandCategories, ageCategories, priceSortOrder, availability, countMode);
+        return new ResponseEntity<>(productsPage, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Fetch filtered products by cursor")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Products were successfully fetched",
+                    content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The cursor is invalid or does not match the price sort order",
+                    content = @Content(schema = @Schema(implementation = ExceptionDto.class)))
+    })
+    @GetMapping(value = "/products", params = "cursor")
+    public ResponseEntity<CursorPageDto<AdminFilteredProductDto>> getFilteredProductsCursorPage(
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "name", required = false) String productName,
+            @RequestParam(name = "min-price", required = false) BigDecimal minPrice,
+            @RequestParam(name = "max-price", required = false) BigDecimal maxPrice,
+            @RequestParam(name = "origin", required = false) List<String> originCategories,
+            @RequestParam(name = "brand", required = false) List<String> brandCategories,
+            @RequestParam(name = "age", required = false) List<String> ageCategories,
+            @RequestParam(name = "price-sort", required = false) String priceSortOrder,
+            @RequestParam(name = "availability", required = false) String availability,
+            @RequestParam(name = "with-total", defaultValue = "false") boolean withTotal
+    ) {
+        var productsPage = productService.getAdminProductsCursorPage(cursor, size, productName, minPrice, maxPrice,
+                originCategories, brandCategories, ageCategories, priceSortOrder, availability, withTotal);
         return new ResponseEntity<>(productsPage, HttpStatus.OK);
     }
 
@@ -279,4 +312,29 @@ public class AdminPanelController {
         orderService.updateOrderStatus(orderId, statusDto);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    @Operation(summary = "Update status of several orders")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Orders status was successfully updated",
+                    content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid order ids or status",
+                    content = @Content(schema = @Schema(implementation = ExceptionDto.class))),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Some orders with these ids are not found",
+                    content = @Content(schema = @Schema(implementation = ExceptionDto.class))),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The status of some orders was changed concurrently",
+                    content = @Content(schema = @Schema(implementation = ExceptionDto.class)))
+    })
+    @PatchMapping("/orders")
+    public ResponseEntity<Void> updateOrdersStatus(@Valid @RequestBody OrdersStatusUpdateDto ordersStatusUpdateDto) {
+        orderService.updateOrdersStatus(ordersStatusUpdateDto);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
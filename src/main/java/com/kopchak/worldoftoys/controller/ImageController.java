@@ -0,0 +1,78 @@
+package com.kopchak.worldoftoys.controller;
+
+import com.kopchak.worldoftoys.domain.image.ImageSize;
+import com.kopchak.worldoftoys.dto.error.ExceptionDto;
+import com.kopchak.worldoftoys.dto.image.ImageContentDto;
+import com.kopchak.worldoftoys.service.impl.ImageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/v1/images")
+@CrossOrigin
+@RequiredArgsConstructor
+@Tag(name = "image-controller", description = "The image controller is responsible for serving product images. " +
+        "It provides a cacheable endpoint for fetching the thumbnail, medium or full variant of a single image by id")
+public class ImageController {
+    private final ImageService imageService;
+    private static final long IMAGE_MAX_AGE_IN_DAYS = 365;
+
+    @Operation(summary = "Fetch image variant by id and size")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "The image was successfully fetched",
+                    content = @Content(mediaType = "image/*")),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "The image was not modified",
+                    content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid image size",
+                    content = @Content(schema = @Schema(implementation = ExceptionDto.class))),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "The image with this id is not found",
+                    content = @Content(schema = @Schema(implementation = ExceptionDto.class))),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "The image cannot be read from the image storage",
+                    content = @Content(schema = @Schema(implementation = ExceptionDto.class)))
+    })
+    @GetMapping("/{imageId}")
+    public ResponseEntity<Resource> getImageById(@PathVariable(name = "imageId") Integer imageId,
+                                               @RequestParam(name = "size", defaultValue = "full") ImageSize size,
+                                               WebRequest webRequest) {
+        ImageContentDto imageContent = imageService.getImageContent(imageId, size);
+        long lastModified = imageContent.lastModified() == null ? -1 : imageContent.lastModified().toEpochMilli();
+        CacheControl cacheControl = CacheControl.maxAge(IMAGE_MAX_AGE_IN_DAYS, TimeUnit.DAYS).cachePublic().immutable();
+        if (webRequest.checkNotModified(imageContent.eTag(), lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity
+                .ok()
+                .contentType(MediaType.parseMediaType(imageContent.type()))
+                .contentLength(imageContent.contentLength())
+                .eTag(imageContent.eTag())
+                .cacheControl(cacheControl);
+        if (lastModified != -1) {
+            responseBuilder.lastModified(lastModified);
+        }
+        return responseBuilder.body(imageContent.content());
+    }
+}
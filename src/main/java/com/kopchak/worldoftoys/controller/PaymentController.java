@@ -56,7 +56,7 @@ public class PaymentController {
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "204",
-                    description = "The payment has been successfully handled",
+                    description = "The payment webhook event has been successfully accepted",
                     content = @Content(schema = @Schema(hidden = true))),
             @ApiResponse(
                     responseCode = "400",
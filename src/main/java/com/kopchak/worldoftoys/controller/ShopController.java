@@ -1,12 +1,16 @@
 package com.kopchak.worldoftoys.controller;
 
 import com.kopchak.worldoftoys.dto.error.ExceptionDto;
+import com.kopchak.worldoftoys.dto.product.CursorPageDto;
+import com.kopchak.worldoftoys.dto.product.FilteredProductDto;
 import com.kopchak.worldoftoys.dto.product.FilteredProductsPageDto;
 import com.kopchak.worldoftoys.dto.product.ProductDto;
+import com.kopchak.worldoftoys.dto.product.ProductSuggestionDto;
 import com.kopchak.worldoftoys.dto.product.category.FilteringCategoriesDto;
 import com.kopchak.worldoftoys.service.impl.CategoryService;
 import com.kopchak.worldoftoys.service.impl.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -47,13 +51,57 @@ public class ShopController {
             @RequestParam(name = "origin", required = false) List<String> originCategories,
             @RequestParam(name = "brand", required = false) List<String> brandCategories,
             @RequestParam(name = "age", required = false) List<String> ageCategories,
-            @RequestParam(name = "price-sort", required = false) String priceSortOrder
+            @RequestParam(name = "price-sort", required = false) String priceSortOrder,
+            @RequestParam(name = "count-mode", defaultValue = "exact") String countMode
     ) {
         var productsPage = productService.getFilteredProductsPage(page, size, productName, minPrice, maxPrice,
-                originCategories, brandCategories, ageCategories, priceSortOrder);
+                originCategories, brandCategories, ageCategories, priceSortOrder, countMode);
         return new ResponseEntity<>(productsPage, HttpStatus.OK);
     }
 
+    @Operation(summary = "Fetch filtered products by cursor")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Products were successfully fetched",
+                    content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The cursor is invalid or does not match the price sort order",
+                    content = @Content(schema = @Schema(implementation = ExceptionDto.class)))
+    })
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDto<FilteredProductDto>> getFilteredProductsCursorPage(
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "name", required = false) String productName,
+            @RequestParam(name = "min-price", required = false) BigDecimal minPrice,
+            @RequestParam(name = "max-price", required = false) BigDecimal maxPrice,
+            @RequestParam(name = "origin", required = false) List<String> originCategories,
+            @RequestParam(name = "brand", required = false) List<String> brandCategories,
+            @RequestParam(name = "age", required = false) List<String> ageCategories,
+            @RequestParam(name = "price-sort", required = false) String priceSortOrder,
+            @RequestParam(name = "with-total", defaultValue = "false") boolean withTotal
+    ) {
+        var productsPage = productService.getFilteredProductsCursorPage(cursor, size, productName, minPrice, maxPrice,
+                originCategories, brandCategories, ageCategories, priceSortOrder, withTotal);
+        return new ResponseEntity<>(productsPage, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Fetch product suggestions ranked by relevance")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Product suggestions were successfully fetched",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductSuggestionDto.class))))
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<ProductSuggestionDto>> getProductSuggestions(
+            @RequestParam(name = "query") String query,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        List<ProductSuggestionDto> productSuggestions = productService.getProductSuggestions(query, limit);
+        return new ResponseEntity<>(productSuggestions, HttpStatus.OK);
+    }
+
     @Operation(summary = "Fetch filtering product categories")
     @ApiResponse(
             responseCode = "200",
@@ -0,0 +1,15 @@
+package com.kopchak.worldoftoys.converter;
+
+import com.kopchak.worldoftoys.domain.image.ImageSize;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+public class ImageSizeConverter implements Converter<String, ImageSize> {
+    @Override
+    public ImageSize convert(String source) {
+        return ImageSize.valueOf(source.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,54 @@
+package com.kopchak.worldoftoys.domain.email.outbox;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt_at", columnList = "status, nextAttemptAt")
+})
+public class EmailOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    @NotBlank(message = "Invalid recipient: recipient is blank")
+    private String recipient;
+
+    @Column(nullable = false)
+    @NotBlank(message = "Invalid subject: subject is blank")
+    private String subject;
+
+    @Lob
+    @Column(nullable = false)
+    @NotBlank(message = "Invalid content: content is blank")
+    private String content;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid next attempt date: next attempt date is NULL")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid creation date: creation date is NULL")
+    private LocalDateTime createdAt;
+
+    private String lastError;
+}
@@ -0,0 +1,6 @@
+package com.kopchak.worldoftoys.domain.email.outbox;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    FAILED
+}
@@ -3,9 +3,12 @@ package com.kopchak.worldoftoys.domain.image;
 import com.kopchak.worldoftoys.domain.product.Product;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 @Entity
 @Getter
 @Setter
@@ -14,7 +17,9 @@ import lombok.*;
 @AllArgsConstructor
 public class Image {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_id_seq")
+    @SequenceGenerator(name = "image_id_seq", sequenceName = "image_id_seq",
+            initialValue = 10000, allocationSize = 50)
     private Integer id;
 
     @Column(length = 50, nullable = false)
@@ -25,12 +30,19 @@ public class Image {
     @NotBlank(message = "Invalid type: type is blank")
     private String type;
 
-    @Lob
-    @Column(nullable = false, length = 100_000, columnDefinition = "BLOB")
-    @NotEmpty(message = "Invalid image: image is empty")
-    private byte[] image;
+    @OneToMany(mappedBy = "image", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, orphanRemoval = true)
+    @Builder.Default
+    private List<ImageVariant> variants = new ArrayList<>();
+
+    @Column
+    private LocalDateTime uploadedAt;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
+
+    @PrePersist
+    private void setUploadedAt() {
+        this.uploadedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,16 @@
+package com.kopchak.worldoftoys.domain.image;
+
+import lombok.Getter;
+
+@Getter
+public enum ImageSize {
+    THUMBNAIL(240),
+    MEDIUM(720),
+    FULL(1600);
+
+    private final int maxDimension;
+
+    ImageSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+}
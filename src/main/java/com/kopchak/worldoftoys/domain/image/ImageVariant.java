@@ -0,0 +1,42 @@
+package com.kopchak.worldoftoys.domain.image;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"image_id", "size"}))
+public class ImageVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_variant_id_seq")
+    @SequenceGenerator(name = "image_variant_id_seq", sequenceName = "image_variant_id_seq",
+            initialValue = 10000, allocationSize = 50)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    @NotNull(message = "Invalid size: size is mandatory")
+    private ImageSize size;
+
+    @Column(length = 10, nullable = false)
+    @NotBlank(message = "Invalid type: type is blank")
+    private String type;
+
+    @Column(length = 64, nullable = false)
+    @NotBlank(message = "Invalid hash: hash is blank")
+    private String hash;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid content length: content length is mandatory")
+    private Long contentLength;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "image_id", nullable = false)
+    private Image image;
+}
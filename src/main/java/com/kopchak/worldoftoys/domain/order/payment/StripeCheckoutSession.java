@@ -0,0 +1,41 @@
+package com.kopchak.worldoftoys.domain.order.payment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class StripeCheckoutSession {
+    @Id
+    private String orderId;
+
+    @Column(nullable = false, unique = true)
+    @NotBlank(message = "Invalid session id: session id is blank")
+    private String sessionId;
+
+    @Column(nullable = false)
+    @NotBlank(message = "Invalid customer id: customer id is blank")
+    private String customerId;
+
+    @Column(nullable = false, length = 1024)
+    @NotBlank(message = "Invalid url: url is blank")
+    private String url;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid expiration date: expiration date is NULL")
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid creation date: creation date is NULL")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.kopchak.worldoftoys.domain.order.payment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class StripeCustomer {
+    @Id
+    private String email;
+
+    @Column(nullable = false, unique = true)
+    @NotBlank(message = "Invalid customer id: customer id is blank")
+    private String customerId;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid creation date: creation date is NULL")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,75 @@
+package com.kopchak.worldoftoys.domain.order.payment.webhook;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "stripe_webhook_event", indexes = {
+        @Index(name = "idx_stripe_webhook_event_status_next_attempt_at", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_stripe_webhook_event_order_id", columnList = "orderId")
+})
+public class StripeWebhookEvent implements Persistable<String> {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    @NotBlank(message = "Invalid type: type is blank")
+    private String type;
+
+    @Column(nullable = false)
+    @NotBlank(message = "Invalid order id: order id is blank")
+    private String orderId;
+
+    @Column(nullable = false)
+    @NotBlank(message = "Invalid session id: session id is blank")
+    private String sessionId;
+
+    private String sessionPaymentStatus;
+
+    private Long amountTotal;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private StripeWebhookEventStatus status = StripeWebhookEventStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid next attempt date: next attempt date is NULL")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid receiving date: receiving date is NULL")
+    private LocalDateTime receivedAt;
+
+    private String lastError;
+
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEvent = true;
+
+    @Override
+    public boolean isNew() {
+        return newEvent;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEvent = false;
+    }
+}
@@ -0,0 +1,5 @@
+package com.kopchak.worldoftoys.domain.order.payment.webhook;
+
+public enum StripeWebhookEventStatus {
+    PENDING, PROCESSED, FAILED
+}
@@ -23,7 +23,9 @@ import java.util.Set;
 @Entity
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_id_seq")
+    @SequenceGenerator(name = "product_id_seq", sequenceName = "product_id_seq",
+            initialValue = 10000, allocationSize = 50)
     private Integer id;
 
     @Column(length = 60, nullable = false, unique = true)
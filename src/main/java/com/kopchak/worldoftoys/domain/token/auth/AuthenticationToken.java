@@ -6,20 +6,35 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_authentication_token_user_revoked", columnList = "user_id, revoked"),
+        @Index(name = "idx_authentication_token_expires_at", columnList = "expiresAt")
+})
 public class AuthenticationToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authentication_token_id_seq")
+    @SequenceGenerator(name = "authentication_token_id_seq", sequenceName = "authentication_token_id_seq",
+            initialValue = 10000, allocationSize = 50)
     private Integer id;
 
-    @Column(unique = true, nullable = false)
-    @NotBlank(message = "Invalid token: token is blank")
-    private String token;
+    @Column(length = 64, unique = true, nullable = false, columnDefinition = "char(64)")
+    @NotBlank(message = "Invalid token hash: token hash is blank")
+    private String tokenHash;
+
+    @Column(length = 36)
+    private String tokenId;
+
+    @Column(nullable = false)
+    @NotNull(message = "Invalid expiration date: expiration date is NULL")
+    private LocalDateTime expiresAt;
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,24 @@
+package com.kopchak.worldoftoys.dto.admin.order;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Ids of the orders and their new status")
+public record OrdersStatusUpdateDto(
+        @ArraySchema(schema = @Schema(example = "4c980930-16eb-41cd-b998-29d03118d67c"))
+        @NotEmpty(message = "Invalid order ids: order ids are mandatory")
+        @Size(max = 1000, message = "Invalid order ids: up to 1000 orders can be updated at once")
+        List<@NotBlank(message = "Invalid order id: order id is blank") String> orderIds,
+        @Schema(requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Invalid status: status is mandatory")
+        @Valid
+        StatusDto status
+) {
+}
@@ -0,0 +1,4 @@
+package com.kopchak.worldoftoys.dto.email;
+
+public record EmailContentDto(String subject, String content) {
+}
@@ -0,0 +1,4 @@
+package com.kopchak.worldoftoys.dto.email;
+
+public record StatusEmailRecipientDto(String email, String firstname, String orderId) {
+}
@@ -0,0 +1,11 @@
+package com.kopchak.worldoftoys.dto.image;
+
+import lombok.Builder;
+import org.springframework.core.io.Resource;
+
+import java.time.Instant;
+
+@Builder
+public record ImageContentDto(String name, String type, Resource content, long contentLength, String eTag,
+                              Instant lastModified) {
+}
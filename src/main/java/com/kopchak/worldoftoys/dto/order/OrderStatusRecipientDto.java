@@ -0,0 +1,7 @@
+package com.kopchak.worldoftoys.dto.order;
+
+import com.kopchak.worldoftoys.domain.order.OrderStatus;
+
+public record OrderStatusRecipientDto(String orderId, OrderStatus orderStatus, String userEmail,
+                                      String userFirstname) {
+}
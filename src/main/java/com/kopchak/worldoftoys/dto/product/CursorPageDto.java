@@ -0,0 +1,6 @@
+package com.kopchak.worldoftoys.dto.product;
+
+import java.util.List;
+
+public record CursorPageDto<T>(List<T> content, String nextCursor, Long totalElementsAmount) {
+}
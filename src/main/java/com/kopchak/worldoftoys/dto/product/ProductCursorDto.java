@@ -0,0 +1,6 @@
+package com.kopchak.worldoftoys.dto.product;
+
+import java.math.BigDecimal;
+
+public record ProductCursorDto(String priceSortOrder, BigDecimal price, Integer id) {
+}
@@ -0,0 +1,9 @@
+package com.kopchak.worldoftoys.dto.product;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+public record ProductListingDto(Integer id, String name, String slug, BigDecimal price, BigInteger availableQuantity,
+                                Boolean isAvailable, Integer mainImageId, String mainImageName,
+                                String mainImageType) {
+}
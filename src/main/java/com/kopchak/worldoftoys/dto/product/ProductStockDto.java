@@ -0,0 +1,6 @@
+package com.kopchak.worldoftoys.dto.product;
+
+import java.math.BigInteger;
+
+public record ProductStockDto(Integer id, Boolean isAvailable, BigInteger availableQuantity) {
+}
@@ -0,0 +1,4 @@
+package com.kopchak.worldoftoys.dto.product;
+
+public record ProductSuggestionDto(String name, String slug) {
+}
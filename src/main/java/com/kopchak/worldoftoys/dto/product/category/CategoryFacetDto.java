@@ -0,0 +1,7 @@
+package com.kopchak.worldoftoys.dto.product.category;
+
+import lombok.Builder;
+
+@Builder
+public record CategoryFacetDto(String name, String slug, long productsAmount) {
+}
@@ -5,6 +5,6 @@ import lombok.Builder;
 import java.util.List;
 
 @Builder
-public record FilteringCategoriesDto(List<CategoryDto> brandCategories, List<CategoryDto> originCategories,
-                                     List<CategoryDto> ageCategories) {
+public record FilteringCategoriesDto(List<CategoryFacetDto> brandCategories, List<CategoryFacetDto> originCategories,
+                                     List<CategoryFacetDto> ageCategories) {
 }
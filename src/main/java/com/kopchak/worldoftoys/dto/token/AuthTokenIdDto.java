@@ -0,0 +1,6 @@
+package com.kopchak.worldoftoys.dto.token;
+
+import java.time.LocalDateTime;
+
+public record AuthTokenIdDto(String tokenId, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,63 @@
+package com.kopchak.worldoftoys.email;
+
+import com.kopchak.worldoftoys.domain.email.EmailType;
+import com.kopchak.worldoftoys.domain.email.confirm.ConfirmEmail;
+import com.kopchak.worldoftoys.domain.email.confirm.factory.ConfirmEmailFactory;
+import com.kopchak.worldoftoys.domain.email.status.StatusEmail;
+import com.kopchak.worldoftoys.domain.email.status.factory.StatusEmailFactory;
+import com.kopchak.worldoftoys.domain.order.StatusProvider;
+import com.kopchak.worldoftoys.domain.token.confirm.ConfirmationTokenType;
+import com.kopchak.worldoftoys.dto.email.EmailContentDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class EmailRenderer {
+    private final static String EMAIL_TEMPLATE_NAME = "email";
+    private final static String NAME_SLOT = "name";
+    private final static String LINK_SLOT = "link";
+    private final static String ORDER_ID_SLOT = "orderId";
+    private final static ConfirmEmailFactory CONFIRM_EMAIL_FACTORY = new ConfirmEmailFactory();
+    private final static StatusEmailFactory STATUS_EMAIL_FACTORY = new StatusEmailFactory();
+    private final ITemplateEngine templateEngine;
+    private final Map<Enum<?>, EmailTemplate> emailTemplates = new ConcurrentHashMap<>();
+
+    public EmailContentDto renderConfirmEmail(String userFirstname, String confirmToken,
+                                              ConfirmationTokenType tokenType) {
+        ConfirmEmail confirmEmail = CONFIRM_EMAIL_FACTORY.createConfirmEmail(tokenType, confirmToken);
+        EmailTemplate emailTemplate = emailTemplates.computeIfAbsent(tokenType,
+                key -> compileEmailTemplate(confirmEmail));
+        String content = emailTemplate.render(Map.of(
+                NAME_SLOT, String.valueOf(userFirstname),
+                LINK_SLOT, confirmEmail.getLink()));
+        return new EmailContentDto(confirmEmail.getSubject(), content);
+    }
+
+    public <T extends Enum<T> & StatusProvider> EmailContentDto renderStatusEmail(String userFirstname,
+                                                                                  String orderId, T status) {
+        StatusEmail statusEmail = STATUS_EMAIL_FACTORY.createStatusEmail(status, orderId);
+        EmailTemplate emailTemplate = emailTemplates.computeIfAbsent(status, key -> compileEmailTemplate(
+                STATUS_EMAIL_FACTORY.createStatusEmail(status, EmailTemplate.slot(ORDER_ID_SLOT))));
+        String content = emailTemplate.render(Map.of(
+                NAME_SLOT, String.valueOf(userFirstname),
+                LINK_SLOT, statusEmail.getLink(),
+                ORDER_ID_SLOT, String.valueOf(orderId)));
+        return new EmailContentDto(statusEmail.getSubject(), content);
+    }
+
+    private EmailTemplate compileEmailTemplate(EmailType emailType) {
+        Context context = new Context();
+        context.setVariable("title", emailType.getTitle());
+        context.setVariable("name", EmailTemplate.slot(NAME_SLOT));
+        context.setVariable("message", emailType.getMsg());
+        context.setVariable("link", EmailTemplate.slot(LINK_SLOT));
+        context.setVariable("linkName", emailType.getLinkName());
+        return EmailTemplate.compile(templateEngine.process(EMAIL_TEMPLATE_NAME, context));
+    }
+}
@@ -0,0 +1,53 @@
+package com.kopchak.worldoftoys.email;
+
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class EmailTemplate {
+    private final static String SLOT_PREFIX = "__EMAIL_SLOT_";
+    private final static String SLOT_SUFFIX = "__";
+    private final static Pattern SLOT_PATTERN = Pattern.compile(Pattern.quote(SLOT_PREFIX) + "(\\w+?)" +
+            Pattern.quote(SLOT_SUFFIX));
+    private final static int ESTIMATED_SLOT_VALUE_LENGTH = 64;
+    private final List<String> fragments;
+    private final List<String> slotNames;
+    private final int fragmentsLength;
+
+    private EmailTemplate(List<String> fragments, List<String> slotNames) {
+        this.fragments = fragments;
+        this.slotNames = slotNames;
+        this.fragmentsLength = fragments.stream().mapToInt(String::length).sum();
+    }
+
+    public static String slot(String slotName) {
+        return SLOT_PREFIX + slotName + SLOT_SUFFIX;
+    }
+
+    public static EmailTemplate compile(String renderedTemplate) {
+        List<String> fragments = new ArrayList<>();
+        List<String> slotNames = new ArrayList<>();
+        Matcher matcher = SLOT_PATTERN.matcher(renderedTemplate);
+        int fragmentStart = 0;
+        while (matcher.find()) {
+            fragments.add(renderedTemplate.substring(fragmentStart, matcher.start()));
+            slotNames.add(matcher.group(1));
+            fragmentStart = matcher.end();
+        }
+        fragments.add(renderedTemplate.substring(fragmentStart));
+        return new EmailTemplate(List.copyOf(fragments), List.copyOf(slotNames));
+    }
+
+    public String render(Map<String, String> slotValues) {
+        StringBuilder content = new StringBuilder(fragmentsLength + slotNames.size() * ESTIMATED_SLOT_VALUE_LENGTH);
+        for (int i = 0; i < slotNames.size(); i++) {
+            content.append(fragments.get(i));
+            content.append(HtmlEscape.escapeHtml4Xml(String.valueOf(slotValues.get(slotNames.get(i)))));
+        }
+        return content.append(fragments.get(slotNames.size())).toString();
+    }
+}
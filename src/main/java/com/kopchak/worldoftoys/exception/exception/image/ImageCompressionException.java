@@ -1,7 +0,0 @@
-package com.kopchak.worldoftoys.exception.exception.image;
-
-public class ImageCompressionException extends RuntimeException {
-    public ImageCompressionException(String message) {
-        super(message);
-    }
-}
@@ -0,0 +1,7 @@
+package com.kopchak.worldoftoys.exception.exception.image;
+
+public class ImageNotFoundException extends RuntimeException {
+    public ImageNotFoundException(String message) {
+        super(message);
+    }
+}
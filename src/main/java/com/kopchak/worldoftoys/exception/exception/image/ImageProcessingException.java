@@ -0,0 +1,7 @@
+package com.kopchak.worldoftoys.exception.exception.image;
+
+public class ImageProcessingException extends RuntimeException {
+    public ImageProcessingException(String message) {
+        super(message);
+    }
+}
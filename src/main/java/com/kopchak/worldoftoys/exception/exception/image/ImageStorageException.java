@@ -0,0 +1,7 @@
+package com.kopchak.worldoftoys.exception.exception.image;
+
+public class ImageStorageException extends RuntimeException {
+    public ImageStorageException(String message) {
+        super(message);
+    }
+}
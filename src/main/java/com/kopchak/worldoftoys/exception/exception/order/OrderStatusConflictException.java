@@ -0,0 +1,7 @@
+package com.kopchak.worldoftoys.exception.exception.order;
+
+public class OrderStatusConflictException extends RuntimeException {
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.kopchak.worldoftoys.exception.exception.product;
+
+public class InvalidPageSizeException extends RuntimeException {
+    public InvalidPageSizeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.kopchak.worldoftoys.exception.exception.product;
+
+public class InvalidProductCursorException extends RuntimeException {
+    public InvalidProductCursorException(String reason) {
+        super(reason);
+    }
+}
@@ -12,7 +12,10 @@ import com.kopchak.worldoftoys.exception.exception.image.InvalidImageFileFormatE
 import com.kopchak.worldoftoys.exception.exception.order.OrderNotFoundException;
 import com.kopchak.worldoftoys.exception.exception.order.InvalidOrderStatusException;
 import com.kopchak.worldoftoys.exception.exception.order.OrderCreationException;
+import com.kopchak.worldoftoys.exception.exception.order.OrderStatusConflictException;
 import com.kopchak.worldoftoys.exception.exception.product.DuplicateProductNameException;
+import com.kopchak.worldoftoys.exception.exception.product.InvalidPageSizeException;
+import com.kopchak.worldoftoys.exception.exception.product.InvalidProductCursorException;
 import com.kopchak.worldoftoys.exception.exception.product.ProductNotFoundException;
 import com.kopchak.worldoftoys.exception.exception.token.InvalidConfirmationTokenException;
 import com.kopchak.worldoftoys.exception.exception.token.JwtTokenException;
@@ -30,10 +33,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.server.ResponseStatusException;
 
-import com.kopchak.worldoftoys.exception.exception.image.ImageCompressionException;
 import com.kopchak.worldoftoys.exception.exception.image.ImageExceedsMaxSizeException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageNotFoundException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageProcessingException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageStorageException;
 
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -44,25 +48,26 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler({
             CartValidationException.class, CategoryContainsProductsException.class, CategoryCreationException.class,
-            ImageCompressionException.class, ImageExceedsMaxSizeException.class, InvalidOrderStatusException.class,
+            ImageProcessingException.class, ImageExceedsMaxSizeException.class, InvalidOrderStatusException.class,
             OrderCreationException.class, InvalidConfirmationTokenException.class, JwtTokenException.class,
             AccountActivationException.class, InvalidPasswordException.class, TokenAlreadyExistException.class,
-            ConversionFailedException.class
+            ConversionFailedException.class, InvalidProductCursorException.class, InvalidPageSizeException.class
     })
-    public ExceptionDto handleBadRequestException(ResponseStatusException e) {
-        return new ExceptionDto(e.getReason());
+    public ExceptionDto handleBadRequestException(RuntimeException e) {
+        return new ExceptionDto(e.getMessage());
     }
 
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler({ProductNotFoundException.class, CategoryNotFoundException.class, UserNotFoundException.class,
-            OrderNotFoundException.class})
+            OrderNotFoundException.class, ImageNotFoundException.class})
     public ExceptionDto handleNotFoundException(RuntimeException e) {
         return new ExceptionDto(e.getMessage());
     }
 
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler({
-            DuplicateProductNameException.class, DuplicateCategoryNameException.class, UsernameAlreadyExistException.class
+            DuplicateProductNameException.class, DuplicateCategoryNameException.class,
+            UsernameAlreadyExistException.class, OrderStatusConflictException.class
     })
     public ExceptionDto handleConflictException(RuntimeException e) {
         return new ExceptionDto(e.getMessage());
@@ -74,6 +79,12 @@ public class GlobalExceptionHandler {
         return new ExceptionDto(e.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    @ExceptionHandler(ImageStorageException.class)
+    public ExceptionDto handleInternalServerErrorException(RuntimeException e) {
+        return new ExceptionDto(e.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
     @ExceptionHandler(MessageSendingException.class)
     public ExceptionDto handleServiceUnavailableException(RuntimeException e) {
@@ -2,6 +2,7 @@ package com.kopchak.worldoftoys.filter;
 
 import com.kopchak.worldoftoys.exception.exception.token.JwtTokenException;
 import com.kopchak.worldoftoys.domain.token.auth.AuthTokenType;
+import com.kopchak.worldoftoys.security.ParsedAuthToken;
 import com.kopchak.worldoftoys.service.impl.JwtTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -40,21 +41,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             final String jwt = authHeader.substring(BEARER.length());
 
             try {
-                if (jwtTokenService.isAuthTokenValid(jwt, AuthTokenType.ACCESS)) {
-                    final String userEmail = jwtTokenService.extractUsername(jwt);
+                final ParsedAuthToken parsedToken = jwtTokenService.parseAuthToken(jwt);
+
+                if (jwtTokenService.isStatelessValidationEnabled()) {
+                    jwtTokenService.extractStatelessAccessTokenUser(parsedToken).ifPresent(user -> {
+                        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                            setAuthentication(request, user, parsedToken);
+                        }
+                    });
+                } else if (jwtTokenService.isAuthTokenValid(parsedToken, AuthTokenType.ACCESS)) {
+                    final String userEmail = parsedToken.username();
 
                     if (SecurityContextHolder.getContext().getAuthentication() == null) {
                         UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
 
                         if (userEmail.equals(userDetails.getUsername())) {
-                            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-
-                            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                            SecurityContextHolder.getContext().setAuthentication(authToken);
+                            setAuthentication(request, userDetails, parsedToken);
                         }
                     }
                 }
@@ -65,4 +67,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void setAuthentication(HttpServletRequest request, UserDetails userDetails, ParsedAuthToken parsedToken) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                parsedToken,
+                userDetails.getAuthorities()
+        );
+
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
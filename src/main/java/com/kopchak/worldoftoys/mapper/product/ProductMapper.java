@@ -7,6 +7,7 @@ import com.kopchak.worldoftoys.dto.admin.product.AdminProductDto;
 import com.kopchak.worldoftoys.dto.image.ImageDto;
 import com.kopchak.worldoftoys.dto.product.FilteredProductDto;
 import com.kopchak.worldoftoys.dto.product.ProductDto;
+import com.kopchak.worldoftoys.dto.product.ProductListingDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -31,9 +32,9 @@ public abstract class ProductMapper {
 
     @Mapping(target = "name", source = "product.name")
     @Mapping(target = "mainImage", source = "mainImage")
-    public abstract FilteredProductDto toFilteredProductDto(Product product, ImageDto mainImage);
+    public abstract FilteredProductDto toFilteredProductDto(ProductListingDto product, ImageDto mainImage);
 
     @Mapping(target = "name", source = "product.name")
     @Mapping(target = "mainImage", source = "mainImage")
-    public abstract AdminFilteredProductDto toAdminFilteredProductDto(Product product, ImageDto mainImage);
+    public abstract AdminFilteredProductDto toAdminFilteredProductDto(ProductListingDto product, ImageDto mainImage);
 }
@@ -28,9 +28,15 @@ public interface CartItemRepository extends JpaRepository<CartItem, CartItemId>
             "WHERE c.id.user = :user")
     BigDecimal calculateUserCartTotalPrice(@Param("user") AppUser user);
 
+    @Query("SELECT c FROM CartItem c " +
+            "JOIN FETCH c.id.product " +
+            "WHERE c.id.user = :user")
+    Set<CartItem> findAllUserCartItemsWithProducts(@Param("user") AppUser user);
+
     @Modifying
     @Transactional
-    Set<CartItem> deleteAllById_User(AppUser user);
+    @Query("DELETE FROM CartItem c WHERE c.id.user = :user")
+    int deleteAllUserCartItems(@Param("user") AppUser user);
 
     @Modifying
     @Transactional
@@ -0,0 +1,44 @@
+package com.kopchak.worldoftoys.repository.email;
+
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxMessage;
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    long countByStatus(EmailOutboxStatus status);
+
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.status = com.kopchak.worldoftoys.domain.email.outbox." +
+            "EmailOutboxStatus.PENDING AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<EmailOutboxMessage> findDueMessages(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.attempts = m.attempts + 1, m.nextAttemptAt = :leaseExpiresAt " +
+            "WHERE m.id = :id AND m.attempts = :attempts AND m.status = com.kopchak.worldoftoys.domain.email." +
+            "outbox.EmailOutboxStatus.PENDING")
+    int claimMessage(@Param("id") Long id, @Param("attempts") int attempts,
+                     @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError " +
+            "WHERE m.id = :id")
+    void scheduleRetry(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                       @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.kopchak.worldoftoys.domain.email.outbox." +
+            "EmailOutboxStatus.FAILED, m.lastError = :lastError WHERE m.id = :id")
+    void markFailed(@Param("id") Long id, @Param("lastError") String lastError);
+}
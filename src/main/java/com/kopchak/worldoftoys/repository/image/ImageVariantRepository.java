@@ -0,0 +1,22 @@
+package com.kopchak.worldoftoys.repository.image;
+
+import com.kopchak.worldoftoys.domain.image.ImageSize;
+import com.kopchak.worldoftoys.domain.image.ImageVariant;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Integer> {
+    @EntityGraph(attributePaths = {"image"})
+    Optional<ImageVariant> findByImage_IdAndSize(Integer imageId, ImageSize size);
+
+    @Query("SELECT DISTINCT v.hash FROM ImageVariant v WHERE v.hash IN :hashes")
+    Set<String> findReferencedHashes(@Param("hashes") Collection<String> hashes);
+}
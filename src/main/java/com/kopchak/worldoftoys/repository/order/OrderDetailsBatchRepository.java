@@ -0,0 +1,9 @@
+package com.kopchak.worldoftoys.repository.order;
+
+import com.kopchak.worldoftoys.domain.order.details.OrderDetails;
+
+import java.util.Collection;
+
+public interface OrderDetailsBatchRepository {
+    void insertAll(Collection<OrderDetails> orderDetails);
+}
@@ -4,6 +4,7 @@ import com.kopchak.worldoftoys.domain.order.Order;
 import com.kopchak.worldoftoys.domain.order.OrderStatus;
 import com.kopchak.worldoftoys.domain.order.payment.PaymentStatus;
 import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.dto.order.OrderStatusRecipientDto;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,9 +12,13 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -34,4 +39,15 @@ public interface OrderRepository extends JpaRepository<Order, String>, JpaSpecif
 
     @Query("SELECT DISTINCT p.status FROM Order o LEFT JOIN o.payments p WHERE p IS NOT NULL")
     Set<PaymentStatus> findAllPaymentStatuses();
+
+    @Query("SELECT new com.kopchak.worldoftoys.dto.order.OrderStatusRecipientDto(o.id, o.orderStatus, u.email, " +
+            "u.firstname) FROM Order o JOIN o.user u WHERE o.id IN :orderIds")
+    List<OrderStatusRecipientDto> findOrderStatusRecipients(@Param("orderIds") Collection<String> orderIds);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :orderStatus " +
+            "WHERE o.id IN :orderIds AND o.orderStatus = :expectedStatus")
+    int updateOrderStatuses(@Param("orderIds") Collection<String> orderIds,
+                            @Param("expectedStatus") OrderStatus expectedStatus,
+                            @Param("orderStatus") OrderStatus orderStatus);
 }
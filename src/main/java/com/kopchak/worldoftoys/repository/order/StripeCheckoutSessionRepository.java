@@ -0,0 +1,9 @@
+package com.kopchak.worldoftoys.repository.order;
+
+import com.kopchak.worldoftoys.domain.order.payment.StripeCheckoutSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StripeCheckoutSessionRepository extends JpaRepository<StripeCheckoutSession, String> {
+}
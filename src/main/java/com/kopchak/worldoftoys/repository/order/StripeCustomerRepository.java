@@ -0,0 +1,15 @@
+package com.kopchak.worldoftoys.repository.order;
+
+import com.kopchak.worldoftoys.domain.order.payment.StripeCustomer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StripeCustomerRepository extends JpaRepository<StripeCustomer, String> {
+    @Query("SELECT c.customerId FROM StripeCustomer c WHERE c.email = :email")
+    Optional<String> findCustomerIdByEmail(@Param("email") String email);
+}
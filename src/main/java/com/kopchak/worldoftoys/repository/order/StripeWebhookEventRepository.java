@@ -0,0 +1,65 @@
+package com.kopchak.worldoftoys.repository.order;
+
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEvent;
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, String> {
+    long countByStatus(StripeWebhookEventStatus status);
+
+    boolean existsByOrderIdAndStatusAndReceivedAtBefore(String orderId, StripeWebhookEventStatus status,
+                                                        LocalDateTime receivedAt);
+
+    @Query("SELECT e FROM StripeWebhookEvent e WHERE e.status = com.kopchak.worldoftoys.domain.order.payment." +
+            "webhook.StripeWebhookEventStatus.PENDING AND e.nextAttemptAt <= :now ORDER BY e.receivedAt, e.id")
+    List<StripeWebhookEvent> findDueEvents(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StripeWebhookEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseExpiresAt " +
+            "WHERE e.id = :id AND e.attempts = :attempts AND e.status = com.kopchak.worldoftoys.domain.order." +
+            "payment.webhook.StripeWebhookEventStatus.PENDING")
+    int claimEvent(@Param("id") String id, @Param("attempts") int attempts,
+                   @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StripeWebhookEvent e SET e.attempts = e.attempts - 1, e.nextAttemptAt = :nextAttemptAt " +
+            "WHERE e.id = :id")
+    void deferEvent(@Param("id") String id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StripeWebhookEvent e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError " +
+            "WHERE e.id = :id")
+    void scheduleRetry(@Param("id") String id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                       @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StripeWebhookEvent e SET e.status = com.kopchak.worldoftoys.domain.order.payment.webhook." +
+            "StripeWebhookEventStatus.PROCESSED, e.lastError = NULL WHERE e.id = :id")
+    void markProcessed(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StripeWebhookEvent e SET e.status = com.kopchak.worldoftoys.domain.order.payment.webhook." +
+            "StripeWebhookEventStatus.FAILED, e.lastError = :lastError WHERE e.id = :id")
+    void markFailed(@Param("id") String id, @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StripeWebhookEvent e WHERE e.status = com.kopchak.worldoftoys.domain.order.payment." +
+            "webhook.StripeWebhookEventStatus.PROCESSED AND e.receivedAt < :receivedBefore")
+    int deleteProcessedEvents(@Param("receivedBefore") LocalDateTime receivedBefore);
+}
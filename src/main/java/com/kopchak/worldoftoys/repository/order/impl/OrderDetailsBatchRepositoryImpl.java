@@ -0,0 +1,34 @@
+package com.kopchak.worldoftoys.repository.order.impl;
+
+import com.kopchak.worldoftoys.domain.order.details.OrderDetails;
+import com.kopchak.worldoftoys.repository.order.OrderDetailsBatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderDetailsBatchRepositoryImpl implements OrderDetailsBatchRepository {
+    private final static String INSERT_ORDER_DETAILS_SQL = "INSERT INTO " +
+            "order_details(order_id, product_id, quantity) VALUES (:orderId, :productId, :quantity)";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Collection<OrderDetails> orderDetails) {
+        if (orderDetails.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batchParams = orderDetails
+                .stream()
+                .map(orderDetail -> new MapSqlParameterSource()
+                        .addValue("orderId", orderDetail.getOrder().getId())
+                        .addValue("productId", orderDetail.getProduct().getId())
+                        .addValue("quantity", orderDetail.getQuantity()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_DETAILS_SQL, batchParams);
+    }
+}
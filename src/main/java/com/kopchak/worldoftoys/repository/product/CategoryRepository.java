@@ -2,9 +2,9 @@ package com.kopchak.worldoftoys.repository.product;
 
 import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.product.category.ProductCategory;
+import com.kopchak.worldoftoys.dto.product.category.FilteringCategoriesDto;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -19,11 +19,7 @@ public interface CategoryRepository {
 
     <T extends ProductCategory> void create(String name, Class<T> categoryType) throws ReflectiveOperationException;
 
-    List<ProductCategory> findUniqueBrandCategoryList(Specification<Product> spec);
-
-    List<ProductCategory> findUniqueOriginCategoryList(Specification<Product> spec);
-
-    List<ProductCategory> findUniqueAgeCategoryList(Specification<Product> spec);
+    FilteringCategoriesDto findCategoryFacets(Specification<Product> spec);
 
     <T extends ProductCategory> boolean containsProductsInCategory(Integer id, Class<T> categoryType);
 
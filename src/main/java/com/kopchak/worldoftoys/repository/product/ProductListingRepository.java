@@ -0,0 +1,25 @@
+package com.kopchak.worldoftoys.repository.product;
+
+import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.dto.product.ProductListingDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public interface ProductListingRepository {
+    Page<ProductListingDto> findAll(Specification<Product> spec, Pageable pageable);
+
+    Page<ProductListingDto> findAll(Specification<Product> spec, Pageable pageable, LongSupplier totalSupplier);
+
+    Slice<ProductListingDto> findSlice(Specification<Product> spec, int size);
+
+    long count(Specification<Product> spec);
+
+    long countUpTo(Specification<Product> spec, int limit);
+
+    List<ProductListingDto> findAllById(List<Integer> ids);
+}
@@ -1,6 +1,7 @@
 package com.kopchak.worldoftoys.repository.product;
 
 import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.search.ProductSearchDocument;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,8 +9,10 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,4 +31,13 @@ public interface ProductRepository extends JpaRepository<Product, Integer>, JpaS
     @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"mainImage", "images", "originCategory",
             "brandCategory", "ageCategories"})
     Optional<Product> findById(@NotNull Integer id);
+
+    @Query("SELECT new com.kopchak.worldoftoys.search.ProductSearchDocument(p.id, p.name, p.slug, p.description) " +
+            "FROM Product p")
+    List<ProductSearchDocument> findAllSearchDocuments();
+
+    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"originCategory", "brandCategory",
+            "ageCategories"})
+    @Query("SELECT p FROM Product p")
+    List<Product> findAllCatalogProducts();
 }
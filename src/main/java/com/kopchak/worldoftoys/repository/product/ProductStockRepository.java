@@ -0,0 +1,15 @@
+package com.kopchak.worldoftoys.repository.product;
+
+import com.kopchak.worldoftoys.dto.product.ProductStockDto;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductStockRepository {
+    Set<Integer> decreaseAvailableQuantities(Map<Integer, BigInteger> quantities);
+
+    List<ProductStockDto> findAllStocksById(Collection<Integer> ids);
+}
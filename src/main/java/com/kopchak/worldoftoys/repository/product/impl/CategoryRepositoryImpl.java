@@ -4,9 +4,13 @@ import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.product.Product_;
 import com.kopchak.worldoftoys.domain.product.category.ProductCategory;
 import com.kopchak.worldoftoys.domain.product.category.ProductCategory_;
+import com.kopchak.worldoftoys.dto.product.category.CategoryDto;
+import com.kopchak.worldoftoys.dto.product.category.CategoryFacetDto;
+import com.kopchak.worldoftoys.dto.product.category.FilteringCategoriesDto;
 import com.kopchak.worldoftoys.repository.product.CategoryRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import jakarta.persistence.metamodel.SetAttribute;
@@ -19,11 +23,7 @@ import org.springframework.stereotype.Repository;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -76,27 +76,38 @@ public class CategoryRepositoryImpl implements CategoryRepository {
     }
 
     @Override
-    public List<ProductCategory> findUniqueBrandCategoryList(Specification<Product> spec) {
-        return findUniqueProductCategoryList(
-                spec,
-                root -> root.get(Product_.BRAND_CATEGORY)
-        );
-    }
+    public FilteringCategoriesDto findCategoryFacets(Specification<Product> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<Product> root = criteriaQuery.from(Product.class);
 
-    @Override
-    public List<ProductCategory> findUniqueOriginCategoryList(Specification<Product> spec) {
-        return findUniqueProductCategoryList(
-                spec,
-                root -> root.get(Product_.ORIGIN_CATEGORY)
-        );
-    }
+        CategoryFacet brandFacet = new CategoryFacet(root.join(Product_.brandCategory, JoinType.INNER));
+        CategoryFacet originFacet = new CategoryFacet(root.join(Product_.originCategory, JoinType.INNER));
+        CategoryFacet ageFacet = new CategoryFacet(root.join(Product_.ageCategories, JoinType.LEFT));
+        List<CategoryFacet> categoryFacets = List.of(brandFacet, originFacet, ageFacet);
 
-    @Override
-    public List<ProductCategory> findUniqueAgeCategoryList(Specification<Product> spec) {
-        return findUniqueProductCategoryList(
-                spec,
-                root -> root.join(Product_.AGE_CATEGORIES, JoinType.INNER)
-        );
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(Product_.id));
+        categoryFacets.forEach(categoryFacet -> selections.addAll(categoryFacet.getSelections()));
+        criteriaQuery.multiselect(selections);
+        criteriaQuery.distinct(true);
+        if (spec != null) {
+            criteriaQuery.where(spec.toPredicate(root, criteriaQuery, criteriaBuilder));
+        }
+        criteriaQuery.orderBy(Collections.emptyList());
+
+        for (Tuple tuple : entityManager.createQuery(criteriaQuery).getResultList()) {
+            Integer productId = tuple.get(0, Integer.class);
+            for (int i = 0; i < categoryFacets.size(); i++) {
+                categoryFacets.get(i).add(productId, tuple, 1 + i * CategoryFacet.SELECTIONS_AMOUNT);
+            }
+        }
+        return FilteringCategoriesDto
+                .builder()
+                .brandCategories(brandFacet.toCategoryFacetDtoList())
+                .originCategories(originFacet.toCategoryFacetDtoList())
+                .ageCategories(ageFacet.toCategoryFacetDtoList())
+                .build();
     }
 
     @Override
@@ -128,28 +139,6 @@ public class CategoryRepositoryImpl implements CategoryRepository {
         }
     }
 
-    private List<ProductCategory> findUniqueProductCategoryList(Specification<Product> spec,
-                                                                Function<Root<Product>, Path<ProductCategory>>
-                                                                        categoryAttributeExtractor) {
-
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<ProductCategory> criteriaQuery = criteriaBuilder.createQuery(ProductCategory.class);
-        Root<Product> root = criteriaQuery.from(Product.class);
-
-        Path<ProductCategory> categoryAttribute = categoryAttributeExtractor.apply(root);
-
-        criteriaQuery.select(categoryAttribute);
-        criteriaQuery.distinct(true);
-        criteriaQuery.orderBy(criteriaBuilder.asc(categoryAttribute));
-
-        if (spec != null) {
-            criteriaQuery.where(spec.toPredicate(root, criteriaQuery, criteriaBuilder));
-        }
-
-        TypedQuery<ProductCategory> query = entityManager.createQuery(criteriaQuery);
-        return query.getResultList();
-    }
-
     private <T extends ProductCategory> String categoryTypeToJoinField(Class<T> productCategoryType) {
         Field[] fields = Product_.class.getDeclaredFields();
         for (Field field : fields) {
@@ -163,4 +152,37 @@ public class CategoryRepositoryImpl implements CategoryRepository {
         }
         return null;
     }
+
+    private static class CategoryFacet {
+        private final static int SELECTIONS_AMOUNT = 3;
+        private final Join<Product, ? extends ProductCategory> categoryJoin;
+        private final Map<Integer, CategoryDto> categories = new TreeMap<>();
+        private final Map<Integer, Set<Integer>> categoryProductIds = new HashMap<>();
+
+        private CategoryFacet(Join<Product, ? extends ProductCategory> categoryJoin) {
+            this.categoryJoin = categoryJoin;
+        }
+
+        private List<Selection<?>> getSelections() {
+            return List.of(categoryJoin.get(ProductCategory_.id), categoryJoin.get(ProductCategory_.name),
+                    categoryJoin.get(ProductCategory_.slug));
+        }
+
+        private void add(Integer productId, Tuple tuple, int position) {
+            Integer categoryId = tuple.get(position, Integer.class);
+            if (categoryId == null) {
+                return;
+            }
+            categories.computeIfAbsent(categoryId, id ->
+                    new CategoryDto(tuple.get(position + 1, String.class), tuple.get(position + 2, String.class)));
+            categoryProductIds.computeIfAbsent(categoryId, id -> new HashSet<>()).add(productId);
+        }
+
+        private List<CategoryFacetDto> toCategoryFacetDtoList() {
+            return categories.entrySet().stream()
+                    .map(category -> new CategoryFacetDto(category.getValue().name(), category.getValue().slug(),
+                            categoryProductIds.get(category.getKey()).size()))
+                    .toList();
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package com.kopchak.worldoftoys.repository.product.impl;
+
+import com.kopchak.worldoftoys.domain.image.Image;
+import com.kopchak.worldoftoys.domain.image.Image_;
+import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.domain.product.Product_;
+import com.kopchak.worldoftoys.dto.product.ProductListingDto;
+import com.kopchak.worldoftoys.repository.product.ProductListingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductListingRepositoryImpl implements ProductListingRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<ProductListingDto> findAll(Specification<Product> spec, Pageable pageable) {
+        return findAll(spec, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<ProductListingDto> findAll(Specification<Product> spec, Pageable pageable, LongSupplier totalSupplier) {
+        TypedQuery<ProductListingDto> query = createListingQuery(spec);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, totalSupplier);
+    }
+
+    @Override
+    public Slice<ProductListingDto> findSlice(Specification<Product> spec, int size) {
+        TypedQuery<ProductListingDto> query = createListingQuery(spec);
+        query.setMaxResults(size + 1);
+        List<ProductListingDto> content = new ArrayList<>(query.getResultList());
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content.remove(size);
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    @Override
+    public long count(Specification<Product> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
+        Root<Product> root = criteriaQuery.from(Product.class);
+
+        criteriaQuery.select(criteriaBuilder.countDistinct(root));
+        if (spec != null) {
+            criteriaQuery.where(spec.toPredicate(root, criteriaQuery, criteriaBuilder));
+        }
+        criteriaQuery.orderBy(Collections.emptyList());
+        return entityManager.createQuery(criteriaQuery).getSingleResult();
+    }
+
+    @Override
+    public long countUpTo(Specification<Product> spec, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> criteriaQuery = criteriaBuilder.createQuery(Integer.class);
+        Root<Product> root = criteriaQuery.from(Product.class);
+
+        criteriaQuery.select(root.get(Product_.id)).distinct(true);
+        if (spec != null) {
+            criteriaQuery.where(spec.toPredicate(root, criteriaQuery, criteriaBuilder));
+        }
+        criteriaQuery.orderBy(Collections.emptyList());
+        return entityManager.createQuery(criteriaQuery).setMaxResults(limit).getResultList().size();
+    }
+
+    @Override
+    public List<ProductListingDto> findAllById(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Specification<Product> spec = (root, query, criteriaBuilder) -> root.get(Product_.id).in(ids);
+        Map<Integer, ProductListingDto> productsById = createListingQuery(spec).getResultList().stream()
+                .collect(Collectors.toMap(ProductListingDto::id, Function.identity()));
+        return ids.stream().map(productsById::get).filter(Objects::nonNull).toList();
+    }
+
+    private TypedQuery<ProductListingDto> createListingQuery(Specification<Product> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductListingDto> criteriaQuery = criteriaBuilder.createQuery(ProductListingDto.class);
+        Root<Product> root = criteriaQuery.from(Product.class);
+        Join<Product, Image> mainImageJoin = root.join(Product_.mainImage, JoinType.LEFT);
+
+        criteriaQuery.select(criteriaBuilder.construct(ProductListingDto.class,
+                root.get(Product_.id),
+                root.get(Product_.name),
+                root.get(Product_.slug),
+                root.get(Product_.price),
+                root.get(Product_.availableQuantity),
+                root.get(Product_.isAvailable),
+                mainImageJoin.get(Image_.id),
+                mainImageJoin.get(Image_.name),
+                mainImageJoin.get(Image_.type)));
+        criteriaQuery.distinct(true);
+        if (spec != null) {
+            criteriaQuery.where(spec.toPredicate(root, criteriaQuery, criteriaBuilder));
+        }
+        List<Order> orders = new ArrayList<>(criteriaQuery.getOrderList());
+        orders.add(criteriaBuilder.asc(root.get(Product_.id)));
+        criteriaQuery.orderBy(orders);
+        return entityManager.createQuery(criteriaQuery);
+    }
+}
@@ -0,0 +1,57 @@
+package com.kopchak.worldoftoys.repository.product.impl;
+
+import com.kopchak.worldoftoys.dto.product.ProductStockDto;
+import com.kopchak.worldoftoys.repository.product.ProductStockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigInteger;
+import java.util.*;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+    private final static String DECREASE_AVAILABLE_QUANTITY_SQL = "UPDATE product " +
+            "SET available_quantity = available_quantity - :quantity " +
+            "WHERE id = :id AND available_quantity >= :quantity";
+    private final static String FIND_STOCKS_SQL = "SELECT id, is_available, available_quantity " +
+            "FROM product " +
+            "WHERE id IN (:ids)";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<Integer> decreaseAvailableQuantities(Map<Integer, BigInteger> quantities) {
+        if (quantities.isEmpty()) {
+            return Collections.emptySet();
+        }
+        // rows are always locked in ascending id order, so concurrent orders can't deadlock each other
+        List<Integer> productIds = new ArrayList<>(new TreeMap<>(quantities).keySet());
+        SqlParameterSource[] batchParams = productIds
+                .stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("quantity", quantities.get(id)))
+                .toArray(SqlParameterSource[]::new);
+        int[] updatedRows = jdbcTemplate.batchUpdate(DECREASE_AVAILABLE_QUANTITY_SQL, batchParams);
+        Set<Integer> outOfStockProductIds = new LinkedHashSet<>();
+        for (int i = 0; i < updatedRows.length; i++) {
+            if (updatedRows[i] != 1) {
+                outOfStockProductIds.add(productIds.get(i));
+            }
+        }
+        return outOfStockProductIds;
+    }
+
+    @Override
+    public List<ProductStockDto> findAllStocksById(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.query(FIND_STOCKS_SQL, Map.of("ids", ids), (rs, rowNum) -> new ProductStockDto(
+                rs.getInt("id"), rs.getBoolean("is_available"),
+                rs.getBigDecimal("available_quantity").toBigInteger()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.kopchak.worldoftoys.repository.specifications;
 
 import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.dto.product.ProductCursorDto;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
@@ -15,4 +16,6 @@ public interface ProductSpecifications {
     Specification<Product> filterByAllCriteria(String productName, BigDecimal minPrice, BigDecimal maxPrice,
                                                List<String> originCategories, List<String> brandCategories,
                                                List<String> ageCategories, String priceSortOrder, String availability);
+
+    Specification<Product> isAfterCursor(ProductCursorDto cursor);
 }
@@ -3,18 +3,25 @@ package com.kopchak.worldoftoys.repository.specifications.impl;
 import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.product.Product_;
 import com.kopchak.worldoftoys.domain.product.category.*;
+import com.kopchak.worldoftoys.dto.product.ProductCursorDto;
 import com.kopchak.worldoftoys.repository.specifications.ProductSpecifications;
+import com.kopchak.worldoftoys.search.ProductSearchIndex;
 import jakarta.persistence.criteria.*;
 import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
+import java.util.Set;
 
 @Component
+@RequiredArgsConstructor
 public class ProductSpecificationsImpl implements ProductSpecifications {
+    private final ProductSearchIndex productSearchIndex;
+
     @Override
     public Specification<Product> filterByProductNamePriceAndCategories(String productName, BigDecimal minPrice,
                                                                         BigDecimal maxPrice,
@@ -42,13 +49,36 @@ public class ProductSpecificationsImpl implements ProductSpecifications {
                 .and(sortByPrice(priceSortOrder));
     }
 
+    @Override
+    public Specification<Product> isAfterCursor(ProductCursorDto cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return criteriaBuilder.conjunction();
+            }
+            Path<Integer> idPath = root.get(Product_.id);
+            Path<BigDecimal> pricePath = root.get(Product_.price);
+            Predicate idGreaterThanPredicate = criteriaBuilder.greaterThan(idPath, cursor.id());
+            if ("asc".equalsIgnoreCase(cursor.priceSortOrder())) {
+                return criteriaBuilder.or(criteriaBuilder.greaterThan(pricePath, cursor.price()),
+                        criteriaBuilder.and(criteriaBuilder.equal(pricePath, cursor.price()), idGreaterThanPredicate));
+            } else if ("desc".equalsIgnoreCase(cursor.priceSortOrder())) {
+                return criteriaBuilder.or(criteriaBuilder.lessThan(pricePath, cursor.price()),
+                        criteriaBuilder.and(criteriaBuilder.equal(pricePath, cursor.price()), idGreaterThanPredicate));
+            }
+            return idGreaterThanPredicate;
+        };
+    }
+
     private Specification<Product> hasProductName(String productName) {
         return (root, query, criteriaBuilder) -> {
-            if (productName == null) {
+            if (productName == null || productName.isBlank()) {
                 return criteriaBuilder.conjunction();
             }
-            String pattern = String.format("%%%s%%", productName);
-            return criteriaBuilder.like(criteriaBuilder.lower(root.get(Product_.name)), pattern.toLowerCase());
+            Set<Integer> productIds = productSearchIndex.findProductIds(productName);
+            if (productIds.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            return root.get(Product_.id).in(productIds);
         };
     }
 
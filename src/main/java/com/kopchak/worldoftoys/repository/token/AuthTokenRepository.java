@@ -3,26 +3,47 @@ package com.kopchak.worldoftoys.repository.token;
 import com.kopchak.worldoftoys.domain.token.auth.AuthTokenType;
 import com.kopchak.worldoftoys.domain.token.auth.AuthenticationToken;
 import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.dto.token.AuthTokenIdDto;
+import com.kopchak.worldoftoys.security.AuthTokenHasher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AuthTokenRepository extends JpaRepository<AuthenticationToken, Integer> {
-    Optional<AuthenticationToken> findByToken(String authToken);
+    Optional<AuthenticationToken> findByTokenHash(String tokenHash);
+
+    default Optional<AuthenticationToken> findByToken(String authToken) {
+        return findByTokenHash(AuthTokenHasher.hash(authToken));
+    }
 
     @Query("SELECT CASE WHEN COUNT(t) > 0 THEN true ELSE false END FROM AuthenticationToken t " +
-            "WHERE t.user.email = :email AND t.tokenType = :tokenType AND t.expired = false AND t.revoked = false")
+            "WHERE t.user.email = :email AND t.tokenType = :tokenType AND t.expired = false AND t.revoked = false " +
+            "AND t.expiresAt > CURRENT_TIMESTAMP")
     boolean isActiveAuthTokenExists(@Param("email") String email, @Param("tokenType") AuthTokenType tokenType);
 
     @Modifying
     @Query("UPDATE AuthenticationToken t SET t.expired = true, t.revoked = true WHERE t.user = :user AND " +
-            "(t.expired = false OR t.revoked = false)")
+            "t.revoked = false AND t.expiresAt > CURRENT_TIMESTAMP")
     void revokeActiveUserAuthTokens(@Param("user") AppUser user);
 
+    @Query("SELECT new com.kopchak.worldoftoys.dto.token.AuthTokenIdDto(t.tokenId, t.expiresAt) " +
+            "FROM AuthenticationToken t WHERE t.user = :user AND t.revoked = false AND t.tokenId IS NOT NULL " +
+            "AND t.expiresAt > CURRENT_TIMESTAMP")
+    List<AuthTokenIdDto> findActiveUserTokenIds(@Param("user") AppUser user);
+
+    @Query("SELECT new com.kopchak.worldoftoys.dto.token.AuthTokenIdDto(t.tokenId, t.expiresAt) " +
+            "FROM AuthenticationToken t WHERE t.revoked = true AND t.tokenId IS NOT NULL " +
+            "AND t.expiresAt > CURRENT_TIMESTAMP")
+    List<AuthTokenIdDto> findAllRevokedTokenIds();
 
+    @Query("SELECT t.id FROM AuthenticationToken t WHERE t.expiresAt <= :now ORDER BY t.id")
+    List<Integer> findExpiredTokenIds(@Param("now") LocalDateTime now, Pageable pageable);
 }
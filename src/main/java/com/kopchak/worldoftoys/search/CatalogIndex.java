@@ -0,0 +1,320 @@
+package com.kopchak.worldoftoys.search;
+
+import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.domain.product.category.AgeCategory;
+import com.kopchak.worldoftoys.domain.product.category.BrandCategory;
+import com.kopchak.worldoftoys.domain.product.category.OriginCategory;
+import com.kopchak.worldoftoys.domain.product.category.ProductCategory;
+import com.kopchak.worldoftoys.dto.product.ProductCursorDto;
+import com.kopchak.worldoftoys.dto.product.category.CategoryFacetDto;
+import com.kopchak.worldoftoys.dto.product.category.FilteringCategoriesDto;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class CatalogIndex {
+    private final boolean enabled;
+    private final ProductSearchIndex productSearchIndex;
+    private final Map<Integer, CatalogProduct> products = new HashMap<>();
+    private final BitSet allProducts = new BitSet();
+    private final BitSet availableProducts = new BitSet();
+    private final NavigableMap<BigDecimal, BitSet> productsByPrice = new TreeMap<>();
+    private final Map<Class<? extends ProductCategory>, CategoryPostings> categoryPostings = Map.of(
+            BrandCategory.class, new CategoryPostings(),
+            OriginCategory.class, new CategoryPostings(),
+            AgeCategory.class, new CategoryPostings());
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public CatalogIndex(@Value("${catalog.index.enabled}") boolean enabled, ProductSearchIndex productSearchIndex) {
+        this.enabled = enabled;
+        this.productSearchIndex = productSearchIndex;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void indexAll(Collection<Product> products) {
+        products.forEach(this::index);
+        log.info("Indexed {} products in the catalog index", products.size());
+    }
+
+    public void index(Product product) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeProduct(product.getId());
+            Set<Integer> ageCategoryIds = new HashSet<>();
+            product.getAgeCategories().forEach(ageCategory -> {
+                addCategoryProduct(ageCategory, product.getId());
+                ageCategoryIds.add(ageCategory.getId());
+            });
+            addCategoryProduct(product.getBrandCategory(), product.getId());
+            addCategoryProduct(product.getOriginCategory(), product.getId());
+            products.put(product.getId(), new CatalogProduct(product.getPrice(), product.getBrandCategory().getId(),
+                    product.getOriginCategory().getId(), ageCategoryIds));
+            allProducts.set(product.getId());
+            productsByPrice.computeIfAbsent(product.getPrice(), price -> new BitSet()).set(product.getId());
+            availableProducts.set(product.getId(), isAvailable(product.getIsAvailable(),
+                    product.getAvailableQuantity()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateAvailability(Integer productId, Boolean isAvailable, BigInteger availableQuantity) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (products.containsKey(productId)) {
+                availableProducts.set(productId, isAvailable(isAvailable, availableQuantity));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexCategory(ProductCategory category) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            CategoryPostings postings = categoryPostings.get(Hibernate.getClass(category));
+            CategoryEntry categoryEntry = postings.categories.get(category.getId());
+            if (categoryEntry != null) {
+                postings.categoryIdsBySlug.remove(categoryEntry.slug());
+                postings.categories.put(category.getId(), new CategoryEntry(category.getName(), category.getSlug()));
+                postings.categoryIdsBySlug.put(category.getSlug(), category.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCategory(Class<? extends ProductCategory> categoryType, Integer categoryId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            CategoryPostings postings = categoryPostings.get(categoryType);
+            CategoryEntry categoryEntry = postings.categories.remove(categoryId);
+            if (categoryEntry != null) {
+                postings.categoryIdsBySlug.remove(categoryEntry.slug());
+                postings.productsByCategoryId.remove(categoryId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count(String productName, BigDecimal minPrice, BigDecimal maxPrice, List<String> originCategories,
+                      List<String> brandCategories, List<String> ageCategories, String availability) {
+        lock.readLock().lock();
+        try {
+            return filter(productName, minPrice, maxPrice, originCategories, brandCategories, ageCategories,
+                    availability).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Integer> findProductIds(String productName, BigDecimal minPrice, BigDecimal maxPrice,
+                                        List<String> originCategories, List<String> brandCategories,
+                                        List<String> ageCategories, String availability, String priceSortOrder,
+                                        ProductCursorDto cursor, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet filteredProducts = filter(productName, minPrice, maxPrice, originCategories, brandCategories,
+                    ageCategories, availability);
+            List<Integer> productIds = new ArrayList<>(Math.min(limit, filteredProducts.cardinality()));
+            long skipped = 0;
+            for (BitSet productsPart : getOrderedProductParts(filteredProducts, priceSortOrder, cursor)) {
+                for (int id = productsPart.nextSetBit(0); id >= 0; id = productsPart.nextSetBit(id + 1)) {
+                    if (skipped++ < offset) {
+                        continue;
+                    }
+                    productIds.add(id);
+                    if (productIds.size() == limit) {
+                        return productIds;
+                    }
+                }
+            }
+            return productIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public FilteringCategoriesDto findCategoryFacets(String productName, BigDecimal minPrice, BigDecimal maxPrice,
+                                                     List<String> originCategories, List<String> brandCategories,
+                                                     List<String> ageCategories) {
+        lock.readLock().lock();
+        try {
+            BitSet filteredProducts = filter(productName, minPrice, maxPrice, originCategories, brandCategories,
+                    ageCategories, null);
+            return FilteringCategoriesDto
+                    .builder()
+                    .brandCategories(categoryPostings.get(BrandCategory.class).toCategoryFacetDtoList(filteredProducts))
+                    .originCategories(categoryPostings.get(OriginCategory.class).toCategoryFacetDtoList(filteredProducts))
+                    .ageCategories(categoryPostings.get(AgeCategory.class).toCategoryFacetDtoList(filteredProducts))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet filter(String productName, BigDecimal minPrice, BigDecimal maxPrice, List<String> originCategories,
+                          List<String> brandCategories, List<String> ageCategories, String availability) {
+        BitSet filteredProducts = (BitSet) allProducts.clone();
+        if (productName != null && !productName.isBlank()) {
+            BitSet matchingProducts = new BitSet();
+            productSearchIndex.findProductIds(productName).forEach(matchingProducts::set);
+            filteredProducts.and(matchingProducts);
+        }
+        if (isPositive(minPrice) || isPositive(maxPrice)) {
+            filteredProducts.and(getProductsInPriceRange(minPrice, maxPrice));
+        }
+        filterByCategories(filteredProducts, OriginCategory.class, originCategories);
+        filterByCategories(filteredProducts, BrandCategory.class, brandCategories);
+        filterByCategories(filteredProducts, AgeCategory.class, ageCategories);
+        if ("available".equalsIgnoreCase(availability)) {
+            filteredProducts.and(availableProducts);
+        } else if ("unavailable".equalsIgnoreCase(availability)) {
+            filteredProducts.andNot(availableProducts);
+        }
+        return filteredProducts;
+    }
+
+    private void filterByCategories(BitSet filteredProducts, Class<? extends ProductCategory> categoryType,
+                                    List<String> categorySlugs) {
+        if (categorySlugs == null || categorySlugs.isEmpty()) {
+            return;
+        }
+        CategoryPostings postings = categoryPostings.get(categoryType);
+        BitSet categoryProducts = new BitSet();
+        for (String categorySlug : categorySlugs) {
+            Integer categoryId = postings.categoryIdsBySlug.get(categorySlug);
+            if (categoryId != null) {
+                categoryProducts.or(postings.productsByCategoryId.get(categoryId));
+            }
+        }
+        filteredProducts.and(categoryProducts);
+    }
+
+    private BitSet getProductsInPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        NavigableMap<BigDecimal, BitSet> priceRange = productsByPrice;
+        if (isPositive(minPrice)) {
+            priceRange = priceRange.tailMap(minPrice, true);
+        }
+        if (isPositive(maxPrice)) {
+            priceRange = priceRange.headMap(maxPrice, true);
+        }
+        BitSet productsInPriceRange = new BitSet();
+        priceRange.values().forEach(productsInPriceRange::or);
+        return productsInPriceRange;
+    }
+
+    private List<BitSet> getOrderedProductParts(BitSet filteredProducts, String priceSortOrder,
+                                                ProductCursorDto cursor) {
+        boolean isAscSortOrder = "asc".equalsIgnoreCase(priceSortOrder);
+        if (!isAscSortOrder && !"desc".equalsIgnoreCase(priceSortOrder)) {
+            if (cursor != null) {
+                filteredProducts.clear(0, cursor.id() + 1);
+            }
+            return List.of(filteredProducts);
+        }
+        NavigableMap<BigDecimal, BitSet> orderedPrices = isAscSortOrder ? productsByPrice :
+                productsByPrice.descendingMap();
+        if (cursor != null) {
+            orderedPrices = orderedPrices.tailMap(cursor.price(), true);
+        }
+        List<BitSet> productParts = new ArrayList<>();
+        for (Map.Entry<BigDecimal, BitSet> priceProducts : orderedPrices.entrySet()) {
+            BitSet productsPart = (BitSet) priceProducts.getValue().clone();
+            productsPart.and(filteredProducts);
+            if (cursor != null && priceProducts.getKey().compareTo(cursor.price()) == 0) {
+                productsPart.clear(0, cursor.id() + 1);
+            }
+            productParts.add(productsPart);
+        }
+        return productParts;
+    }
+
+    private void addCategoryProduct(ProductCategory category, Integer productId) {
+        CategoryPostings postings = categoryPostings.get(Hibernate.getClass(category));
+        postings.categories.putIfAbsent(category.getId(), new CategoryEntry(category.getName(), category.getSlug()));
+        postings.categoryIdsBySlug.putIfAbsent(category.getSlug(), category.getId());
+        postings.productsByCategoryId.computeIfAbsent(category.getId(), id -> new BitSet()).set(productId);
+    }
+
+    private void removeProduct(Integer productId) {
+        CatalogProduct product = products.remove(productId);
+        if (product == null) {
+            return;
+        }
+        allProducts.clear(productId);
+        availableProducts.clear(productId);
+        productsByPrice.get(product.price()).clear(productId);
+        categoryPostings.get(BrandCategory.class).removeProduct(product.brandCategoryId(), productId);
+        categoryPostings.get(OriginCategory.class).removeProduct(product.originCategoryId(), productId);
+        product.ageCategoryIds().forEach(ageCategoryId ->
+                categoryPostings.get(AgeCategory.class).removeProduct(ageCategoryId, productId));
+    }
+
+    private boolean isAvailable(Boolean isAvailable, BigInteger availableQuantity) {
+        return Boolean.TRUE.equals(isAvailable) && availableQuantity != null &&
+                availableQuantity.compareTo(BigInteger.ZERO) > 0;
+    }
+
+    private boolean isPositive(BigDecimal price) {
+        return price != null && price.compareTo(BigDecimal.ZERO) > 0;
+    }
+
+    private record CatalogProduct(BigDecimal price, Integer brandCategoryId, Integer originCategoryId,
+                                  Set<Integer> ageCategoryIds) {
+    }
+
+    private record CategoryEntry(String name, String slug) {
+    }
+
+    private static class CategoryPostings {
+        private final Map<Integer, CategoryEntry> categories = new TreeMap<>();
+        private final Map<String, Integer> categoryIdsBySlug = new HashMap<>();
+        private final Map<Integer, BitSet> productsByCategoryId = new HashMap<>();
+
+        private void removeProduct(Integer categoryId, Integer productId) {
+            BitSet categoryProducts = productsByCategoryId.get(categoryId);
+            if (categoryProducts != null) {
+                categoryProducts.clear(productId);
+            }
+        }
+
+        private List<CategoryFacetDto> toCategoryFacetDtoList(BitSet filteredProducts) {
+            List<CategoryFacetDto> categoryFacets = new ArrayList<>();
+            categories.forEach((categoryId, category) -> {
+                BitSet categoryProducts = (BitSet) productsByCategoryId.get(categoryId).clone();
+                categoryProducts.and(filteredProducts);
+                int productsAmount = categoryProducts.cardinality();
+                if (productsAmount > 0) {
+                    categoryFacets.add(new CategoryFacetDto(category.name(), category.slug(), productsAmount));
+                }
+            });
+            return categoryFacets;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.kopchak.worldoftoys.search;
+
+import com.kopchak.worldoftoys.repository.product.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogIndexInitializer implements ApplicationRunner {
+    private final ProductRepository productRepository;
+    private final CatalogIndex catalogIndex;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (catalogIndex.isEnabled()) {
+            catalogIndex.indexAll(productRepository.findAllCatalogProducts());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.kopchak.worldoftoys.search;
+
+public record ProductSearchDocument(Integer id, String name, String slug, String description) {
+}
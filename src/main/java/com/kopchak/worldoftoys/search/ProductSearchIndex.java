@@ -0,0 +1,131 @@
+package com.kopchak.worldoftoys.search;
+
+import com.github.slugify.Slugify;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class ProductSearchIndex {
+    private final static int NAME_TOKEN_WEIGHT = 3;
+    private final static int DESCRIPTION_TOKEN_WEIGHT = 1;
+    private final static int EXACT_MATCH_MULTIPLIER = 2;
+    private final static String TOKEN_DELIMITER = "-";
+    private final Slugify slugify = Slugify.builder().transliterator(true).build();
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, ProductSearchDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(Integer productId, String name, String description) {
+        index(new ProductSearchDocument(productId, name, slugify.slugify(name), description));
+    }
+
+    public void index(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.id());
+            documents.put(document.id(), document);
+            getTokenWeights(document).forEach((token, weight) ->
+                    postings.computeIfAbsent(token, key -> new HashMap<>()).put(document.id(), weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<ProductSearchDocument> documents) {
+        documents.forEach(this::index);
+        log.info("Indexed {} products for search", documents.size());
+    }
+
+    public Set<Integer> findProductIds(String query) {
+        return rankProducts(query).keySet();
+    }
+
+    public List<ProductSearchDocument> search(String query, int limit) {
+        Map<Integer, Integer> productScores = rankProducts(query);
+        lock.readLock().lock();
+        try {
+            return productScores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(productScore -> documents.get(productScore.getKey()))
+                    .filter(Objects::nonNull)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Integer> rankProducts(String query) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return Map.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> productScores = null;
+            for (String queryToken : queryTokens) {
+                Map<Integer, Integer> tokenScores = scoreToken(queryToken);
+                if (productScores == null) {
+                    productScores = tokenScores;
+                } else {
+                    productScores.keySet().retainAll(tokenScores.keySet());
+                    productScores.replaceAll((productId, score) -> score + tokenScores.get(productId));
+                }
+                if (productScores.isEmpty()) {
+                    break;
+                }
+            }
+            return productScores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Integer> scoreToken(String queryToken) {
+        Map<Integer, Integer> tokenScores = new HashMap<>();
+        postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).forEach((token, tokenPostings) -> {
+            int multiplier = token.equals(queryToken) ? EXACT_MATCH_MULTIPLIER : 1;
+            tokenPostings.forEach((productId, weight) -> tokenScores.merge(productId, weight * multiplier, Integer::sum));
+        });
+        return tokenScores;
+    }
+
+    private Map<String, Integer> getTokenWeights(ProductSearchDocument document) {
+        Map<String, Integer> tokenWeights = new HashMap<>();
+        tokenize(document.name()).forEach(token -> tokenWeights.merge(token, NAME_TOKEN_WEIGHT, Integer::sum));
+        tokenize(document.description())
+                .forEach(token -> tokenWeights.merge(token, DESCRIPTION_TOKEN_WEIGHT, Integer::sum));
+        return tokenWeights;
+    }
+
+    private void removeDocument(Integer productId) {
+        ProductSearchDocument indexedDocument = documents.remove(productId);
+        if (indexedDocument == null) {
+            return;
+        }
+        for (String token : getTokenWeights(indexedDocument).keySet()) {
+            Map<Integer, Integer> tokenPostings = postings.get(token);
+            tokenPostings.remove(productId);
+            if (tokenPostings.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String slug = slugify.slugify(text);
+        if (slug.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(slug.split(TOKEN_DELIMITER)).distinct().toList();
+    }
+}
@@ -0,0 +1,19 @@
+package com.kopchak.worldoftoys.search;
+
+import com.kopchak.worldoftoys.repository.product.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexInitializer implements ApplicationRunner {
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        productSearchIndex.indexAll(productRepository.findAllSearchDocuments());
+    }
+}
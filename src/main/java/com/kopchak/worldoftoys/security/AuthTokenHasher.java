@@ -0,0 +1,22 @@
+package com.kopchak.worldoftoys.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class AuthTokenHasher {
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private AuthTokenHasher() {
+    }
+
+    public static String hash(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.kopchak.worldoftoys.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@Slf4j
+public class AuthTokenRevocationList {
+    private final int expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private int bloomFilterCapacity;
+    private int bloomFilterInsertions;
+    private long rebuildsAmount;
+
+    public AuthTokenRevocationList(@Value("${security.jwt.revocation.expected-insertions}") int expectedInsertions,
+                                   @Value("${security.jwt.revocation.false-positive-probability}")
+                                   double falsePositiveProbability) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.bloomFilterCapacity = expectedInsertions;
+    }
+
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        if (bloomFilterInsertions >= bloomFilterCapacity) {
+            rebuild();
+        }
+        revokedTokens.put(tokenId, expiresAt);
+        bloomFilter.put(tokenId);
+        bloomFilterInsertions++;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return bloomFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    synchronized long getRebuildsAmount() {
+        return rebuildsAmount;
+    }
+
+    private void rebuild() {
+        Instant now = Instant.now();
+        revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        bloomFilterCapacity = Math.max(expectedInsertions, revokedTokens.size() * 2);
+        BloomFilter rebuiltBloomFilter = new BloomFilter(bloomFilterCapacity, falsePositiveProbability);
+        revokedTokens.keySet().forEach(rebuiltBloomFilter::put);
+        bloomFilter = rebuiltBloomFilter;
+        bloomFilterInsertions = revokedTokens.size();
+        rebuildsAmount++;
+        log.info("The auth token revocation list was rebuilt with {} revoked tokens", revokedTokens.size());
+    }
+
+    private static class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitsAmount;
+        private final int hashFunctionsAmount;
+
+        private BloomFilter(int expectedInsertions, double falsePositiveProbability) {
+            long optimalBitsAmount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) /
+                    (Math.log(2) * Math.log(2)));
+            this.bitsAmount = Math.max(Long.SIZE, optimalBitsAmount);
+            this.bits = new AtomicLongArray((int) ((bitsAmount + Long.SIZE - 1) / Long.SIZE));
+            this.hashFunctionsAmount = Math.max(1,
+                    (int) Math.round((double) bitsAmount / expectedInsertions * Math.log(2)));
+        }
+
+        private void put(String value) {
+            long[] hashes = hash(value);
+            for (int i = 0; i < hashFunctionsAmount; i++) {
+                long bitIndex = getBitIndex(hashes, i);
+                int wordIndex = (int) (bitIndex / Long.SIZE);
+                long mask = 1L << (bitIndex % Long.SIZE);
+                bits.getAndAccumulate(wordIndex, mask, (word, bit) -> word | bit);
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long[] hashes = hash(value);
+            for (int i = 0; i < hashFunctionsAmount; i++) {
+                long bitIndex = getBitIndex(hashes, i);
+                if ((bits.get((int) (bitIndex / Long.SIZE)) & (1L << (bitIndex % Long.SIZE))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long getBitIndex(long[] hashes, int hashFunctionIndex) {
+            return Math.floorMod(hashes[0] + hashFunctionIndex * hashes[1], bitsAmount);
+        }
+
+        private long[] hash(String value) {
+            long firstHash = 0xcbf29ce484222325L;
+            long secondHash = 0x84222325cbf29ce4L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                firstHash = (firstHash ^ b) * 0x100000001b3L;
+                secondHash = (secondHash ^ b) * 0x9e3779b97f4a7c15L;
+            }
+            return new long[]{mix(firstHash), mix(secondHash) | 1};
+        }
+
+        private long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.kopchak.worldoftoys.security;
+
+import com.kopchak.worldoftoys.service.impl.JwtTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AuthTokenRevocationListInitializer implements ApplicationRunner {
+    private final JwtTokenService jwtTokenService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (jwtTokenService.isStatelessValidationEnabled()) {
+            jwtTokenService.loadRevokedAuthTokens();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.kopchak.worldoftoys.security;
+
+import com.kopchak.worldoftoys.config.JwtProperties;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class JwtKeys {
+    private final String signingKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys = new HashMap<>();
+    private final JwtParser parser;
+
+    public JwtKeys(JwtProperties jwtProperties) {
+        this.signingKeyId = jwtProperties.keyId();
+        this.signingKey = toKey(jwtProperties.secret());
+        jwtProperties.verificationKeys().forEach((keyId, secret) -> verificationKeys.put(keyId, toKey(secret)));
+        verificationKeys.put(signingKeyId, signingKey);
+        this.parser = Jwts
+                .parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return getVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    private Key getVerificationKey(String keyId) {
+        if (keyId == null) {
+            return signingKey;
+        }
+        Key verificationKey = verificationKeys.get(keyId);
+        if (verificationKey == null) {
+            throw new UnsupportedJwtException(String.format("The signing key with id: %s is unknown", keyId));
+        }
+        return verificationKey;
+    }
+
+    private Key toKey(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+}
@@ -0,0 +1,51 @@
+package com.kopchak.worldoftoys.security;
+
+import com.kopchak.worldoftoys.domain.token.auth.AuthTokenType;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+public record ParsedAuthToken(String token, Claims claims) {
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_TYPE_CLAIM = "type";
+    public static final String LOCKED_CLAIM = "locked";
+    public static final String ENABLED_CLAIM = "enabled";
+
+    public String tokenId() {
+        return claims.getId();
+    }
+
+    public String username() {
+        return claims.getSubject();
+    }
+
+    public Integer userId() {
+        return claims.get(USER_ID_CLAIM, Integer.class);
+    }
+
+    public String role() {
+        return claims.get(ROLE_CLAIM, String.class);
+    }
+
+    public Boolean locked() {
+        return claims.get(LOCKED_CLAIM, Boolean.class);
+    }
+
+    public Boolean enabled() {
+        return claims.get(ENABLED_CLAIM, Boolean.class);
+    }
+
+    public AuthTokenType tokenType() {
+        String tokenType = claims.get(TOKEN_TYPE_CLAIM, String.class);
+        return tokenType == null ? null : AuthTokenType.valueOf(tokenType);
+    }
+
+    public Instant expiresAt() {
+        return claims.getExpiration().toInstant();
+    }
+
+    public boolean isExpired() {
+        return !expiresAt().isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,37 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.repository.token.AuthTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthTokenCleanupService {
+    @Value(value = "${security.token-cleanup.chunk-size}")
+    private int CHUNK_SIZE;
+    private final AuthTokenRepository authTokenRepository;
+
+    @Scheduled(fixedDelayString = "${security.token-cleanup.interval}",
+            initialDelayString = "${security.token-cleanup.interval}")
+    public void deleteExpiredAuthTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        long deletedTokensAmount = 0;
+        List<Integer> expiredTokenIds;
+        do {
+            expiredTokenIds = authTokenRepository.findExpiredTokenIds(now, PageRequest.of(0, CHUNK_SIZE));
+            if (!expiredTokenIds.isEmpty()) {
+                authTokenRepository.deleteAllByIdInBatch(expiredTokenIds);
+                deletedTokensAmount += expiredTokenIds.size();
+            }
+        } while (expiredTokenIds.size() == CHUNK_SIZE);
+        log.info("Deleted {} expired authentication tokens", deletedTokensAmount);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.ProductCountCache;
 import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.product.category.ProductCategory;
 import com.kopchak.worldoftoys.domain.product.category.type.CategoryType;
@@ -13,6 +14,8 @@ import com.kopchak.worldoftoys.exception.exception.category.DuplicateCategoryNam
 import com.kopchak.worldoftoys.mapper.product.CategoryMapper;
 import com.kopchak.worldoftoys.repository.product.CategoryRepository;
 import com.kopchak.worldoftoys.repository.specifications.impl.ProductSpecificationsImpl;
+import com.kopchak.worldoftoys.search.CatalogIndex;
+import com.kopchak.worldoftoys.transaction.AfterCommitExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.domain.Specification;
@@ -30,17 +33,22 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final ProductSpecificationsImpl productSpecifications;
     private final CategoryMapper categoryMapper;
+    private final ProductCountCache productCountCache;
+    private final CatalogIndex catalogIndex;
+    private final AfterCommitExecutor afterCommitExecutor;
 
     public FilteringCategoriesDto getFilteringCategories(String productName, BigDecimal minPrice, BigDecimal maxPrice,
                                                          List<String> originCategories, List<String> brandCategories,
                                                          List<String> ageCategories) {
-        Specification<Product> spec = productSpecifications.filterByProductNamePriceAndCategories(productName, minPrice,
-                maxPrice, originCategories, brandCategories, ageCategories, null);
-        var filteringProductCategoriesDto = categoryMapper.toFilteringCategoriesDto(
-                categoryRepository.findUniqueBrandCategoryList(spec),
-                categoryRepository.findUniqueOriginCategoryList(spec),
-                categoryRepository.findUniqueAgeCategoryList(spec)
-        );
+        FilteringCategoriesDto filteringProductCategoriesDto;
+        if (catalogIndex.isEnabled()) {
+            filteringProductCategoriesDto = catalogIndex.findCategoryFacets(productName, minPrice, maxPrice,
+                    originCategories, brandCategories, ageCategories);
+        } else {
+            Specification<Product> spec = productSpecifications.filterByProductNamePriceAndCategories(productName,
+                    minPrice, maxPrice, originCategories, brandCategories, ageCategories, null);
+            filteringProductCategoriesDto = categoryRepository.findCategoryFacets(spec);
+        }
         log.info("Fetched filtering product categories - Product Name: '{}', Min Price: {}, Max Price: {}, " +
                         "Origin Categories: {}, Brand Categories: {}, Age Categories: {}",
                 productName, minPrice, maxPrice, originCategories, brandCategories, ageCategories);
@@ -58,6 +66,7 @@ public class CategoryService {
                     "with id: %d because there are products in this category.", categoryId));
         }
         categoryRepository.deleteByIdAndType(categoryId, categoryType.getCategory());
+        afterCommitExecutor.execute(() -> catalogIndex.removeCategory(categoryType.getCategory(), categoryId));
     }
 
     public void updateCategory(CategoryType categoryType, Integer categoryId, CategoryNameDto categoryNameDto) {
@@ -66,6 +75,13 @@ public class CategoryService {
             throw new DuplicateCategoryNameException(String.format("Category with name: %s already exist", categoryName));
         }
         categoryRepository.updateNameByIdAndType(categoryId, categoryName, categoryType.getCategory());
+        afterCommitExecutor.execute(() -> {
+            productCountCache.evictAll();
+            if (catalogIndex.isEnabled()) {
+                categoryRepository.findByIdAndType(categoryId, categoryType.getCategory())
+                        .ifPresent(catalogIndex::indexCategory);
+            }
+        });
     }
 
     public void createCategory(CategoryType categoryType, CategoryNameDto categoryNameDto) {
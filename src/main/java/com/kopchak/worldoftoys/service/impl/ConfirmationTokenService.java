@@ -1,5 +1,6 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.UserDetailsCache;
 import com.kopchak.worldoftoys.dto.token.ConfirmTokenDto;
 import com.kopchak.worldoftoys.dto.user.ResetPasswordDto;
 import com.kopchak.worldoftoys.domain.token.confirm.ConfirmationToken;
@@ -28,6 +29,7 @@ public class ConfirmationTokenService {
     private final JwtTokenService jwtTokenService;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final UserDetailsCache userDetailsCache;
     private static final int TOKEN_EXPIRATION_TIME_IN_MINUTES = 15;
 
     public ConfirmTokenDto createConfirmationToken(String username, ConfirmationTokenType tokenType) {
@@ -67,6 +69,7 @@ public class ConfirmationTokenService {
         AppUser user = confirmationToken.getUser();
         user.setEnabled(true);
         userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
         confirmTokenRepository.save(confirmationToken);
         log.info("The account for the user with username: {} is activated", user.getUsername());
     }
@@ -0,0 +1,176 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxMessage;
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxStatus;
+import com.kopchak.worldoftoys.repository.email.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class EmailOutboxService {
+    private final static String EXECUTOR_NAME = "email-outbox";
+    private final static long SHUTDOWN_TIMEOUT_IN_SECONDS = 10;
+    private final static int MAX_ERROR_LENGTH = 255;
+
+    @Value(value = "${email.outbox.batch-size}")
+    private int BATCH_SIZE;
+
+    @Value(value = "${email.outbox.send-batch-size}")
+    private int SEND_BATCH_SIZE;
+
+    @Value(value = "${email.outbox.max-attempts}")
+    private int MAX_ATTEMPTS;
+
+    @Value(value = "${email.outbox.initial-backoff}")
+    private Duration INITIAL_BACKOFF;
+
+    @Value(value = "${email.outbox.max-backoff}")
+    private Duration MAX_BACKOFF;
+
+    @Value(value = "${email.outbox.sending-timeout}")
+    private Duration SENDING_TIMEOUT;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailSenderService emailSenderService;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong pendingMessagesAmount = new AtomicLong();
+    private final AtomicLong failedMessagesAmount = new AtomicLong();
+    private final Counter sentMessagesCounter;
+    private final Counter failedAttemptsCounter;
+
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository, EmailSenderService emailSenderService,
+                              MeterRegistry meterRegistry, @Value("${email.outbox.pool-size}") int poolSize,
+                              @Value("${email.outbox.queue-capacity}") int queueCapacity) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailSenderService = emailSenderService;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(EXECUTOR_NAME + "-"));
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("email.outbox.pending", pendingMessagesAmount, AtomicLong::get)
+                .description("The number of emails waiting in the outbox to be sent")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.failed", failedMessagesAmount, AtomicLong::get)
+                .description("The number of emails that were not sent after all attempts")
+                .register(meterRegistry);
+        this.sentMessagesCounter = Counter.builder("email.outbox.sent")
+                .description("The number of emails sent from the outbox")
+                .register(meterRegistry);
+        this.failedAttemptsCounter = Counter.builder("email.outbox.failed-attempts")
+                .description("The number of failed attempts to send an email from the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval}")
+    public void dispatchPendingEmails() {
+        pendingMessagesAmount.set(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+        failedMessagesAmount.set(emailOutboxRepository.countByStatus(EmailOutboxStatus.FAILED));
+        int freeCapacity = executor.getQueue().remainingCapacity() * SEND_BATCH_SIZE;
+        if (pendingMessagesAmount.get() == 0 || freeCapacity == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> dueMessages = emailOutboxRepository.findDueMessages(now,
+                PageRequest.of(0, Math.min(BATCH_SIZE, freeCapacity)));
+        List<EmailOutboxMessage> batch = new ArrayList<>(SEND_BATCH_SIZE);
+        for (EmailOutboxMessage message : dueMessages) {
+            if (emailOutboxRepository.claimMessage(message.getId(), message.getAttempts(),
+                    now.plus(SENDING_TIMEOUT)) == 0) {
+                continue;
+            }
+            message.setAttempts(message.getAttempts() + 1);
+            batch.add(message);
+            if (batch.size() == SEND_BATCH_SIZE) {
+                if (!submitBatch(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(SEND_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            submitBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("The email outbox executor did not finish sending emails before the shutdown");
+        }
+    }
+
+    private boolean submitBatch(List<EmailOutboxMessage> batch) {
+        try {
+            executor.execute(() -> deliver(batch));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("The email outbox executor is full, {} emails will be sent later", batch.size());
+            return false;
+        }
+    }
+
+    private void deliver(List<EmailOutboxMessage> batch) {
+        Map<Long, String> failedMessages;
+        try {
+            failedMessages = emailSenderService.sendAll(batch);
+        } catch (RuntimeException e) {
+            failedMessages = batch.stream().collect(Collectors.toMap(EmailOutboxMessage::getId,
+                    message -> String.valueOf(e.getMessage())));
+        }
+        List<Long> sentMessageIds = new ArrayList<>();
+        for (EmailOutboxMessage message : batch) {
+            if (failedMessages.containsKey(message.getId())) {
+                handleFailedAttempt(message, failedMessages.get(message.getId()));
+            } else {
+                sentMessageIds.add(message.getId());
+            }
+        }
+        if (!sentMessageIds.isEmpty()) {
+            emailOutboxRepository.deleteAllByIdInBatch(sentMessageIds);
+            sentMessagesCounter.increment(sentMessageIds.size());
+        }
+    }
+
+    private void handleFailedAttempt(EmailOutboxMessage message, String sendingError) {
+        failedAttemptsCounter.increment();
+        String error = StringUtils.abbreviate(sendingError, MAX_ERROR_LENGTH);
+        int attempts = message.getAttempts();
+        if (attempts >= MAX_ATTEMPTS) {
+            emailOutboxRepository.markFailed(message.getId(), error);
+            log.error("The email with id: {} was not sent after {} attempts", message.getId(), attempts);
+        } else {
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(calculateBackoff(attempts));
+            emailOutboxRepository.scheduleRetry(message.getId(), nextAttemptAt, error);
+            log.warn("The email with id: {} will be resent at: {}", message.getId(), nextAttemptAt);
+        }
+    }
+
+    private Duration calculateBackoff(int attempts) {
+        Duration backoff = INITIAL_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+}
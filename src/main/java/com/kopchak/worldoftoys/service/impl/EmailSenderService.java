@@ -1,27 +1,30 @@
 package com.kopchak.worldoftoys.service.impl;
 
-import com.kopchak.worldoftoys.domain.email.EmailType;
-import com.kopchak.worldoftoys.domain.email.confirm.ConfirmEmail;
-import com.kopchak.worldoftoys.domain.email.confirm.factory.ConfirmEmailFactory;
-import com.kopchak.worldoftoys.domain.email.status.StatusEmail;
-import com.kopchak.worldoftoys.domain.email.status.factory.StatusEmailFactory;
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxMessage;
 import com.kopchak.worldoftoys.domain.order.StatusProvider;
 import com.kopchak.worldoftoys.domain.token.confirm.ConfirmationTokenType;
 import com.kopchak.worldoftoys.domain.user.AppUser;
-import com.kopchak.worldoftoys.exception.exception.email.MessageSendingException;
+import com.kopchak.worldoftoys.dto.email.EmailContentDto;
+import com.kopchak.worldoftoys.dto.email.StatusEmailRecipientDto;
+import com.kopchak.worldoftoys.email.EmailRenderer;
 import com.kopchak.worldoftoys.exception.exception.user.UserNotFoundException;
+import com.kopchak.worldoftoys.repository.email.EmailOutboxRepository;
 import com.kopchak.worldoftoys.repository.user.UserRepository;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.ITemplateEngine;
-import org.thymeleaf.context.Context;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @AllArgsConstructor
@@ -30,23 +33,50 @@ public class EmailSenderService {
     private final static String SENDER_EMAIL = "worldoftoys@gmail.com";
     private final JavaMailSender mailSender;
     private final UserRepository userRepository;
-    private ITemplateEngine templateEngine;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailRenderer emailRenderer;
+
+    public <T extends Enum<T> & StatusProvider> void sendEmails(List<StatusEmailRecipientDto> recipients, T status) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> messages = recipients
+                .stream()
+                .map(recipient -> {
+                    EmailContentDto emailContent = emailRenderer.renderStatusEmail(recipient.firstname(),
+                            recipient.orderId(), status);
+                    return buildOutboxMessage(recipient.email(), emailContent.content(), emailContent.subject(), now);
+                })
+                .toList();
+        emailOutboxRepository.saveAll(messages);
+        log.info("{} emails with the status: {} were added to the outbox", messages.size(), status);
+    }
 
-    @Async
-    public void send(String emailRecipient, String emailContent, String msgSubject) {
+    public Map<Long, String> sendAll(List<EmailOutboxMessage> messages) {
+        Map<Long, String> failedMessages = new HashMap<>();
+        Map<MimeMessage, Long> mimeMessages = new LinkedHashMap<>();
+        for (EmailOutboxMessage message : messages) {
+            try {
+                mimeMessages.put(createMimeMessage(message.getRecipient(), message.getContent(),
+                        message.getSubject()), message.getId());
+            } catch (MessagingException e) {
+                failedMessages.put(message.getId(), e.getMessage());
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failedMessages;
+        }
         try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-            helper.setText(emailContent, true);
-            helper.setTo(emailRecipient);
-            helper.setSubject(msgSubject);
-            helper.setFrom(SENDER_EMAIL);
-            mailSender.send(mimeMessage);
-            log.info("The email with subject: {} sent to the: {}", msgSubject, emailRecipient);
-        } catch (MessagingException | MailException e) {
-            log.error("Failed to send the email to the user with username: {}", emailRecipient);
-            throw new MessageSendingException("Failed to send the email: Mail server is temporarily unavailable");
+            mailSender.send(mimeMessages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                mimeMessages.values().forEach(messageId -> failedMessages.put(messageId, e.getMessage()));
+            }
+            e.getFailedMessages().forEach((mimeMessage, exception) ->
+                    failedMessages.put(mimeMessages.get(mimeMessage), exception.getMessage()));
+        } catch (MailException e) {
+            mimeMessages.values().forEach(messageId -> failedMessages.put(messageId, e.getMessage()));
         }
+        log.info("Sent {} of {} emails in one batch", messages.size() - failedMessages.size(), messages.size());
+        return failedMessages;
     }
 
     public void sendEmail(String userEmail, String confirmToken, ConfirmationTokenType tokenType) {
@@ -55,28 +85,41 @@ public class EmailSenderService {
             log.error(errMsg);
             return new UserNotFoundException(errMsg);
         });
-        String userFirstname = user.getFirstname();
-        ConfirmEmailFactory confirmEmailFactory = new ConfirmEmailFactory();
-        ConfirmEmail confirmEmail = confirmEmailFactory.createConfirmEmail(tokenType, confirmToken);
-        String emailContent = buildEmail(userFirstname, confirmEmail);
-        send(userEmail, emailContent, confirmEmail.getSubject());
+        EmailContentDto emailContent = emailRenderer.renderConfirmEmail(user.getFirstname(), confirmToken, tokenType);
+        enqueue(userEmail, emailContent.content(), emailContent.subject());
     }
 
     public <T extends Enum<T> & StatusProvider> void sendEmail(String userEmail, String userFirstname, String orderId,
                                                                T status) {
-        StatusEmailFactory statusEmailFactory = new StatusEmailFactory();
-        StatusEmail statusEmail = statusEmailFactory.createStatusEmail(status, orderId);
-        String emailContent = buildEmail(userFirstname, statusEmail);
-        send(userEmail, emailContent, statusEmail.getSubject());
+        EmailContentDto emailContent = emailRenderer.renderStatusEmail(userFirstname, orderId, status);
+        enqueue(userEmail, emailContent.content(), emailContent.subject());
+    }
+
+    private MimeMessage createMimeMessage(String emailRecipient, String emailContent, String msgSubject)
+            throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+        helper.setText(emailContent, true);
+        helper.setTo(emailRecipient);
+        helper.setSubject(msgSubject);
+        helper.setFrom(SENDER_EMAIL);
+        return mimeMessage;
+    }
+
+    private void enqueue(String emailRecipient, String emailContent, String msgSubject) {
+        emailOutboxRepository.save(buildOutboxMessage(emailRecipient, emailContent, msgSubject, LocalDateTime.now()));
+        log.info("The email with subject: {} to the: {} was added to the outbox", msgSubject, emailRecipient);
     }
 
-    private String buildEmail(String name, EmailType emailType) {
-        Context context = new Context();
-        context.setVariable("title", emailType.getTitle());
-        context.setVariable("name", name);
-        context.setVariable("message", emailType.getMsg());
-        context.setVariable("link", emailType.getLink());
-        context.setVariable("linkName", emailType.getLinkName());
-        return templateEngine.process("email", context);
+    private EmailOutboxMessage buildOutboxMessage(String emailRecipient, String emailContent, String msgSubject,
+                                                  LocalDateTime createdAt) {
+        return EmailOutboxMessage
+                .builder()
+                .recipient(emailRecipient)
+                .subject(msgSubject)
+                .content(emailContent)
+                .nextAttemptAt(createdAt)
+                .createdAt(createdAt)
+                .build();
     }
 }
@@ -0,0 +1,62 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.cache.ImageContentCache;
+import com.kopchak.worldoftoys.repository.image.ImageVariantRepository;
+import com.kopchak.worldoftoys.storage.ImageStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageCleanupService {
+    @Value(value = "${image.storage.cleanup.chunk-size}")
+    private int CHUNK_SIZE;
+    @Value(value = "${image.storage.cleanup.grace-period}")
+    private Duration GRACE_PERIOD;
+    private final ImageVariantRepository imageVariantRepository;
+    private final ImageStorage imageStorage;
+    private final ImageContentCache imageContentCache;
+
+    @Scheduled(fixedDelayString = "${image.storage.cleanup.interval}",
+            initialDelayString = "${image.storage.cleanup.interval}")
+    public void deleteOrphanImages() {
+        Instant storedBefore = Instant.now().minus(GRACE_PERIOD);
+        long deletedImagesAmount = 0;
+        try (Stream<String> storedHashes = imageStorage.findHashesStoredBefore(storedBefore)) {
+            Iterator<String> storedHashesIterator = storedHashes.iterator();
+            while (storedHashesIterator.hasNext()) {
+                List<String> hashesChunk = new ArrayList<>(CHUNK_SIZE);
+                while (storedHashesIterator.hasNext() && hashesChunk.size() < CHUNK_SIZE) {
+                    hashesChunk.add(storedHashesIterator.next());
+                }
+                deletedImagesAmount += deleteOrphanImages(hashesChunk, storedBefore);
+            }
+        }
+        log.info("Deleted {} orphan images from the image storage", deletedImagesAmount);
+    }
+
+    private int deleteOrphanImages(List<String> hashes, Instant storedBefore) {
+        Set<String> referencedHashes = imageVariantRepository.findReferencedHashes(hashes);
+        List<String> deletedHashes = hashes
+                .stream()
+                .filter(hash -> !referencedHashes.contains(hash))
+                .filter(hash -> imageStorage.deleteIfStoredBefore(hash, storedBefore))
+                .toList();
+        if (!deletedHashes.isEmpty()) {
+            imageContentCache.evictAll(deletedHashes);
+        }
+        return deletedHashes.size();
+    }
+}
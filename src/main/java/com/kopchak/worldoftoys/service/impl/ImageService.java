@@ -1,30 +1,55 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.ImageContentCache;
 import com.kopchak.worldoftoys.domain.image.Image;
+import com.kopchak.worldoftoys.domain.image.ImageSize;
+import com.kopchak.worldoftoys.domain.image.ImageVariant;
 import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.dto.image.ImageContentDto;
 import com.kopchak.worldoftoys.dto.image.ImageDto;
-import com.kopchak.worldoftoys.exception.exception.image.ImageCompressionException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageProcessingException;
 import com.kopchak.worldoftoys.exception.exception.image.ImageExceedsMaxSizeException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageNotFoundException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageStorageException;
 import com.kopchak.worldoftoys.exception.exception.image.InvalidImageFileFormatException;
+import com.kopchak.worldoftoys.repository.image.ImageVariantRepository;
+import com.kopchak.worldoftoys.storage.ImageStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.zip.DataFormatException;
-import java.util.zip.Deflater;
-import java.util.zip.Inflater;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ImageService {
-    private final static int MAX_IMG_COMPRESSION_SIZE = 100_000;
+    private final static int MAX_IMG_SIZE = 100_000;
     private final static String IMAGE_CONTENT_TYPE_PREFIX = "image/";
+    private final static String FALLBACK_IMAGE_CONTENT_TYPE = "image/png";
+    private final static String JPEG_IMAGE_CONTENT_TYPE = "image/jpeg";
+    private final static String IMAGE_URL_PATH = "/api/v1/images/{imageId}";
+    private final ImageVariantRepository imageVariantRepository;
+    private final ImageStorage imageStorage;
+    private final ImageContentCache imageContentCache;
 
     public Optional<Image> convertMultipartFileToImage(MultipartFile multipartFile, Product product) {
         if (multipartFile == null) {
@@ -35,8 +60,8 @@ public class ImageService {
             throw new InvalidImageFileFormatException(
                     String.format("The file with name: %s must have an image type", fileName));
         }
-        byte[] compressedImg = compressImage(multipartFile, fileName);
-        if (compressedImg.length > MAX_IMG_COMPRESSION_SIZE) {
+        byte[] imageBytes = readImageBytes(multipartFile, fileName);
+        if (imageBytes.length > MAX_IMG_SIZE) {
             throw new ImageExceedsMaxSizeException(String.format("The image with name: %s is too large", fileName));
         }
         String generatedName = generateImageName(multipartFile);
@@ -44,26 +69,58 @@ public class ImageService {
                 .builder()
                 .name(generatedName)
                 .type(multipartFile.getContentType())
-                .image(compressedImg)
                 .product(product)
                 .build();
+        image.setVariants(createImageVariants(image, imageBytes, fileName));
         return Optional.of(image);
     }
 
-    public Optional<ImageDto> decompressImage(Image image) {
-        return Optional.ofNullable(image)
-                .map(img -> {
-                    try {
-                        String imageName = img.getName();
-                        byte[] decompressedImg = decompressImageData(img.getImage());
-                        log.info("The image with name: {} was successfully decompressed", imageName);
-                        return Optional.of(new ImageDto(imageName, img.getType(), decompressedImg));
-                    } catch (IOException | DataFormatException e) {
-                        log.error("Error decompressing the image with name: {}", img.getName(), e);
-                        return Optional.<ImageDto>empty();
-                    }
-                })
-                .orElse(Optional.empty());
+    public ImageDto toImageDto(Image image, ImageSize size) {
+        if (image == null) {
+            return null;
+        }
+        return toImageDto(image.getId(), image.getName(), image.getType(), size);
+    }
+
+    public ImageDto toImageDto(Integer imageId, String imageName, String imageType, ImageSize size) {
+        if (imageId == null) {
+            return null;
+        }
+        String imageUrl = UriComponentsBuilder
+                .fromPath(IMAGE_URL_PATH)
+                .queryParam("size", size.name().toLowerCase())
+                .buildAndExpand(imageId)
+                .toUriString();
+        return new ImageDto(imageName, imageType, imageUrl);
+    }
+
+    public ImageContentDto getImageContent(Integer imageId, ImageSize size) {
+        ImageVariant imageVariant = imageVariantRepository.findByImage_IdAndSize(imageId, size).orElseThrow(() ->
+                new ImageNotFoundException(String.format("The image with id: %d is not found.", imageId)));
+        Image image = imageVariant.getImage();
+        LocalDateTime uploadedAt = image.getUploadedAt();
+        String hash = imageVariant.getHash();
+        Resource content = imageContentCache.isCacheable(imageVariant.getContentLength()) ?
+                new ByteArrayResource(imageContentCache.get(hash, this::loadImageContent)) : imageStorage.load(hash);
+        return ImageContentDto
+                .builder()
+                .name(image.getName())
+                .type(imageVariant.getType())
+                .content(content)
+                .contentLength(imageVariant.getContentLength())
+                .eTag(imageVariant.getHash())
+                .lastModified(uploadedAt == null ? null : uploadedAt.atZone(ZoneId.systemDefault()).toInstant())
+                .build();
+    }
+
+    private byte[] loadImageContent(String hash) {
+        try {
+            return imageStorage.load(hash).getContentAsByteArray();
+        } catch (IOException e) {
+            String errorMsg = String.format("The image with hash: %s cannot be read", hash);
+            log.error(errorMsg, e);
+            throw new ImageStorageException(errorMsg);
+        }
     }
 
     private boolean isNonImageFile(MultipartFile file) {
@@ -74,55 +131,106 @@ public class ImageService {
         return true;
     }
 
-    private byte[] compressImage(MultipartFile multipartFile, String fileName) {
+    private byte[] readImageBytes(MultipartFile multipartFile, String fileName) {
         try {
-            byte[] data = multipartFile.getBytes();
-            Deflater deflater = new Deflater();
-            deflater.setLevel(Deflater.BEST_COMPRESSION);
-            deflater.setInput(data);
-            deflater.finish();
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length);
-            byte[] compressedData = compressData(deflater, outputStream);
-            outputStream.close();
-            log.info("The image with name: {} was successfully compressed", fileName);
-            return compressedData;
+            return multipartFile.getBytes();
         } catch (IOException e) {
-            String errorMsg = String.format("The image with name: %s cannot be compressed", fileName);
+            String errorMsg = String.format("The image with name: %s cannot be read", fileName);
             log.error(errorMsg);
-            throw new ImageCompressionException(errorMsg);
+            throw new ImageProcessingException(errorMsg);
         }
     }
 
-    private byte[] compressData(Deflater deflater, ByteArrayOutputStream outputStream) throws IOException {
-        byte[] tmp = new byte[4 * 1024];
-        while (!deflater.finished()) {
-            int size = deflater.deflate(tmp);
-            outputStream.write(tmp, 0, size);
+    private List<ImageVariant> createImageVariants(Image image, byte[] imageBytes, String fileName) {
+        try {
+            BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
+            if (originalImage == null) {
+                throw new InvalidImageFileFormatException(
+                        String.format("The file with name: %s must have an image type", fileName));
+            }
+            List<ImageVariant> imageVariants = new ArrayList<>();
+            for (ImageSize size : ImageSize.values()) {
+                imageVariants.add(createImageVariant(image, originalImage, imageBytes, size));
+            }
+            log.info("The image with name: {} was successfully resized", fileName);
+            return imageVariants;
+        } catch (IOException e) {
+            String errorMsg = String.format("The image with name: %s cannot be decoded or resized", fileName);
+            log.error(errorMsg);
+            throw new ImageProcessingException(errorMsg);
         }
-        return outputStream.toByteArray();
     }
 
-    private String generateImageName(MultipartFile multipartFile) {
-        String fileExtension = ".".concat(multipartFile.getContentType().replace(IMAGE_CONTENT_TYPE_PREFIX, ""));
-        String randString = RandomStringUtils.randomAlphanumeric(4);
-        String filename = multipartFile.getOriginalFilename();
-        return filename == null ? randString.concat(fileExtension) :
-                filename.replace(fileExtension, "").concat(randString).concat(fileExtension);
+    private ImageVariant createImageVariant(Image image, BufferedImage originalImage, byte[] originalImageBytes,
+                                            ImageSize size) throws IOException {
+        int width = originalImage.getWidth();
+        int height = originalImage.getHeight();
+        ImageVariant imageVariant = ImageVariant.builder().image(image).size(size).build();
+        if (Math.max(width, height) <= size.getMaxDimension()) {
+            imageVariant.setType(image.getType());
+            setImageVariantContent(imageVariant, originalImageBytes);
+            return imageVariant;
+        }
+        double scale = (double) size.getMaxDimension() / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        String contentType = getEncodingContentType(image.getType());
+        boolean hasAlpha = originalImage.getColorModel().hasAlpha() && !contentType.equals(JPEG_IMAGE_CONTENT_TYPE);
+        BufferedImage resizedImage = resizeImage(originalImage, targetWidth, targetHeight, hasAlpha);
+        imageVariant.setType(contentType);
+        setImageVariantContent(imageVariant, encodeImage(resizedImage, contentType));
+        return imageVariant;
     }
 
-    private byte[] decompressImageData(byte[] compressedData) throws IOException, DataFormatException {
-        Inflater inflater = new Inflater();
-        inflater.setInput(compressedData);
+    private void setImageVariantContent(ImageVariant imageVariant, byte[] content) {
+        imageVariant.setHash(imageStorage.store(content));
+        imageVariant.setContentLength((long) content.length);
+    }
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream(compressedData.length)) {
-            byte[] buffer = new byte[4 * 1024];
+    private BufferedImage resizeImage(BufferedImage sourceImage, int targetWidth, int targetHeight, boolean hasAlpha) {
+        BufferedImage resizedImage = sourceImage;
+        int width = sourceImage.getWidth();
+        int height = sourceImage.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage stepImage = new BufferedImage(width, height,
+                    hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = stepImage.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(resizedImage, 0, 0, width, height, null);
+            graphics.dispose();
+            resizedImage = stepImage;
+        } while (width != targetWidth || height != targetHeight);
+        return resizedImage;
+    }
 
-            while (!inflater.finished()) {
-                int count = inflater.inflate(buffer);
-                outputStream.write(buffer, 0, count);
-            }
+    private byte[] encodeImage(BufferedImage image, String contentType) throws IOException {
+        ImageWriter imageWriter = ImageIO.getImageWritersByMIMEType(contentType).next();
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+             ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            imageWriter.setOutput(imageOutputStream);
+            imageWriter.write(image);
+            imageOutputStream.flush();
             return outputStream.toByteArray();
+        } finally {
+            imageWriter.dispose();
         }
     }
+
+    private String getEncodingContentType(String contentType) {
+        if (contentType.equals("image/jpg")) {
+            return JPEG_IMAGE_CONTENT_TYPE;
+        }
+        return ImageIO.getImageWritersByMIMEType(contentType).hasNext() ? contentType : FALLBACK_IMAGE_CONTENT_TYPE;
+    }
+
+    private String generateImageName(MultipartFile multipartFile) {
+        String fileExtension = ".".concat(multipartFile.getContentType().replace(IMAGE_CONTENT_TYPE_PREFIX, ""));
+        String randString = RandomStringUtils.randomAlphanumeric(4);
+        String filename = multipartFile.getOriginalFilename();
+        return filename == null ? randString.concat(fileExtension) :
+                filename.replace(fileExtension, "").concat(randString).concat(fileExtension);
+    }
 }
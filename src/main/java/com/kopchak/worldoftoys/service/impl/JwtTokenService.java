@@ -1,72 +1,121 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.UserDetailsCache;
 import com.kopchak.worldoftoys.domain.token.auth.AuthTokenType;
 import com.kopchak.worldoftoys.domain.token.auth.AuthenticationToken;
 import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.domain.user.Role;
 import com.kopchak.worldoftoys.dto.token.AccessAndRefreshTokensDto;
 import com.kopchak.worldoftoys.dto.token.AuthTokenDto;
+import com.kopchak.worldoftoys.dto.token.AuthTokenIdDto;
 import com.kopchak.worldoftoys.exception.exception.token.JwtTokenException;
 import com.kopchak.worldoftoys.exception.exception.token.TokenAlreadyExistException;
 import com.kopchak.worldoftoys.repository.token.AuthTokenRepository;
 import com.kopchak.worldoftoys.repository.user.UserRepository;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import com.kopchak.worldoftoys.security.AuthTokenHasher;
+import com.kopchak.worldoftoys.security.AuthTokenRevocationList;
+import com.kopchak.worldoftoys.security.JwtKeys;
+import com.kopchak.worldoftoys.security.ParsedAuthToken;
+import io.jsonwebtoken.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenService {
-    @Value(value = "${security.jwt.secret}")
-    private String SECRET_KEY;
+    @Value(value = "${security.jwt.stateless-validation}")
+    private boolean STATELESS_VALIDATION;
     private static final int ACCESS_TOKEN_EXPIRATION_TIME_IN_MILLIS = 1000 * 60 * 60 * 24;
 
     private static final int REFRESH_TOKEN_EXPIRATION_TIME_IN_MILLIS = 1000 * 60 * 60 * 24 * 14;
     private final UserRepository userRepository;
     private final AuthTokenRepository authTokenRepository;
+    private final AuthTokenRevocationList authTokenRevocationList;
+    private final JwtKeys jwtKeys;
+    private final UserDetailsCache userDetailsCache;
 
-    public String extractUsername(String token) {
+    public boolean isAuthTokenValid(ParsedAuthToken parsedToken, AuthTokenType tokenType) {
+        Optional<AuthenticationToken> authToken = authTokenRepository.findByToken(parsedToken.token());
+        if (authToken.isPresent()) {
+            String username = parsedToken.username();
+            return username != null && userDetailsCache.get(username, userRepository::findByEmail).isPresent() &&
+                    !parsedToken.isExpired() && !authToken.get().isRevoked() &&
+                    authToken.get().getTokenType().equals(tokenType);
+        }
+        return false;
+    }
+
+    public ParsedAuthToken parseAuthToken(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            return claims.getSubject();
+            return new ParsedAuthToken(token, extractAllClaims(token));
         } catch (JwtException e) {
-            String errorMsg = String.format("Failed to extract expiration date from token: %s", e.getMessage());
+            String errorMsg = String.format("Failed to parse authentication token: %s", e.getMessage());
             log.error(errorMsg);
             throw new JwtTokenException(errorMsg);
         }
     }
 
-    public boolean isAuthTokenValid(String token, AuthTokenType tokenType) {
-        Optional<AuthenticationToken> authToken = authTokenRepository.findByToken(token);
-        if (authToken.isPresent()) {
-            String username = extractUsername(token);
-            return username != null && userRepository.findByEmail(username).isPresent() &&
-                    !isTokenExpired(token) && !authToken.get().isRevoked() &&
-                    authToken.get().getTokenType().equals(tokenType);
+    public boolean isStatelessValidationEnabled() {
+        return STATELESS_VALIDATION;
+    }
+
+    public Optional<AppUser> extractStatelessAccessTokenUser(ParsedAuthToken parsedToken) {
+        String tokenId = parsedToken.tokenId();
+        Integer userId = parsedToken.userId();
+        String role = parsedToken.role();
+        if (tokenId == null || userId == null || role == null || parsedToken.tokenType() != AuthTokenType.ACCESS ||
+                !Boolean.FALSE.equals(parsedToken.locked()) || !Boolean.TRUE.equals(parsedToken.enabled()) ||
+                authTokenRevocationList.isRevoked(tokenId)) {
+            return Optional.empty();
         }
-        return false;
+        // the account status is only as fresh as the token, so locking or disabling a user
+        // must go through revokeAllUserAuthTokens to put the issued tokens on the revocation list
+        return Optional.of(AppUser
+                .builder()
+                .id(userId)
+                .email(parsedToken.username())
+                .role(Role.valueOf(role))
+                .locked(parsedToken.locked())
+                .enabled(parsedToken.enabled())
+                .build());
     }
 
+    public void revokeAuthToken(String token) {
+        if (!STATELESS_VALIDATION) {
+            return;
+        }
+        try {
+            revokeAuthToken(new ParsedAuthToken(token, extractAllClaims(token)));
+        } catch (JwtException e) {
+            log.debug("The revoked token is not added to the revocation list: {}", e.getMessage());
+        }
+    }
+
+    public void revokeAuthToken(ParsedAuthToken parsedToken) {
+        if (STATELESS_VALIDATION && parsedToken.tokenId() != null) {
+            authTokenRevocationList.revoke(parsedToken.tokenId(), parsedToken.expiresAt());
+        }
+    }
+
+    public void loadRevokedAuthTokens() {
+        List<AuthTokenIdDto> revokedTokens = authTokenRepository.findAllRevokedTokenIds();
+        revokedTokens.forEach(this::addToRevocationList);
+        log.info("Loaded {} revoked authentication tokens into the revocation list", revokedTokens.size());
+    }
+
+    @Transactional
     public AccessAndRefreshTokensDto generateAuthTokens(AppUser user) {
         String email = user.getEmail();
-        String accessToken = generateJwtToken(email, AuthTokenType.ACCESS);
-        String refreshToken = generateJwtToken(email, AuthTokenType.REFRESH);
-        saveUserAuthToken(user, accessToken, AuthTokenType.ACCESS);
-        saveUserAuthToken(user, refreshToken, AuthTokenType.REFRESH);
+        String accessToken = issueAuthToken(user, AuthTokenType.ACCESS);
+        String refreshToken = issueAuthToken(user, AuthTokenType.REFRESH);
         log.info("Authentication tokens have been successfully generated and " +
                 "saved for the user with the username: {}", email);
         return AccessAndRefreshTokensDto.builder()
@@ -76,76 +125,77 @@ public class JwtTokenService {
     }
 
     public AuthTokenDto refreshAccessToken(AuthTokenDto refreshTokenDto) {
-        String refreshToken = refreshTokenDto.token();
-        if (!isAuthTokenValid(refreshToken, AuthTokenType.REFRESH)) {
+        ParsedAuthToken parsedRefreshToken = parseAuthToken(refreshTokenDto.token());
+        if (!isAuthTokenValid(parsedRefreshToken, AuthTokenType.REFRESH)) {
             throw new JwtTokenException("The refresh token is invalid!");
         }
-        String username = extractUsername(refreshToken);
+        String username = parsedRefreshToken.username();
         if (authTokenRepository.isActiveAuthTokenExists(username, AuthTokenType.ACCESS)) {
             log.error("There is valid access token for the user with the username: {}!", username);
             throw new TokenAlreadyExistException("There is valid access token!");
         }
         AppUser user = userRepository.findByEmail(username).get();
-        String accessToken = generateJwtToken(username, AuthTokenType.ACCESS);
-        saveUserAuthToken(user, accessToken, AuthTokenType.ACCESS);
+        String accessToken = issueAuthToken(user, AuthTokenType.ACCESS);
         log.info("The authentication token has been successfully saved for the user with the username: {}", username);
         return new AuthTokenDto(accessToken);
     }
 
     @Transactional
     public void revokeAllUserAuthTokens(AppUser user) {
+        if (STATELESS_VALIDATION) {
+            authTokenRepository.findActiveUserTokenIds(user).forEach(this::addToRevocationList);
+        }
         authTokenRepository.revokeActiveUserAuthTokens(user);
         log.info("Authentication tokens have been successfully revoked for the user with " +
                 "the username: {}", user.getEmail());
     }
 
-    private String generateJwtToken(String username, AuthTokenType tokenType) {
-        return generateJwtToken(new HashMap<>(), username, tokenType);
+    private void addToRevocationList(AuthTokenIdDto authTokenIdDto) {
+        authTokenRevocationList.revoke(authTokenIdDto.tokenId(),
+                authTokenIdDto.expiresAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private String issueAuthToken(AppUser user, AuthTokenType tokenType) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ParsedAuthToken.USER_ID_CLAIM, user.getId());
+        claims.put(ParsedAuthToken.ROLE_CLAIM, user.getRole().name());
+        claims.put(ParsedAuthToken.TOKEN_TYPE_CLAIM, tokenType.name());
+        claims.put(ParsedAuthToken.LOCKED_CLAIM, Boolean.TRUE.equals(user.getLocked()));
+        claims.put(ParsedAuthToken.ENABLED_CLAIM, Boolean.TRUE.equals(user.getEnabled()));
+        String tokenId = UUID.randomUUID().toString();
+        long issuedAtInMillis = System.currentTimeMillis();
+        Date expiration = new Date(issuedAtInMillis + (tokenType.equals(AuthTokenType.ACCESS) ?
+                ACCESS_TOKEN_EXPIRATION_TIME_IN_MILLIS : REFRESH_TOKEN_EXPIRATION_TIME_IN_MILLIS));
+        String jwtToken = generateJwtToken(claims, user.getEmail(), tokenId, new Date(issuedAtInMillis), expiration);
+        saveUserAuthToken(user, jwtToken, tokenId, tokenType, expiration);
+        return jwtToken;
     }
 
-    private String generateJwtToken(Map<String, Object> extraClaims, String username,
-                                    AuthTokenType tokenType) {
+    private String generateJwtToken(Map<String, Object> extraClaims, String username, String tokenId,
+                                    Date issuedAt, Date expiration) {
         return Jwts
                 .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeys.getSigningKeyId())
                 .setClaims(extraClaims)
                 .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() +
-                        (tokenType.equals(AuthTokenType.ACCESS) ? ACCESS_TOKEN_EXPIRATION_TIME_IN_MILLIS
-                                : REFRESH_TOKEN_EXPIRATION_TIME_IN_MILLIS)))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setId(tokenId)
+                .setIssuedAt(issuedAt)
+                .setExpiration(expiration)
+                .signWith(jwtKeys.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            return claims.getExpiration().before(new Date());
-        } catch (JwtException e) {
-            String errorMsg = String.format("Failed to extract expiration date from token: %s", e.getMessage());
-            log.error(errorMsg);
-            throw new JwtTokenException(errorMsg);
-        }
-    }
-
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return jwtKeys.getParser().parseClaimsJws(token).getBody();
     }
 
-    private void saveUserAuthToken(AppUser user, String jwtToken, AuthTokenType tokenType) {
+    private void saveUserAuthToken(AppUser user, String jwtToken, String tokenId, AuthTokenType tokenType,
+                                   Date expiration) {
         var token = AuthenticationToken
                 .builder()
-                .token(jwtToken)
+                .tokenHash(AuthTokenHasher.hash(jwtToken))
+                .tokenId(tokenId)
+                .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
                 .user(user)
                 .tokenType(tokenType)
                 .expired(false)
@@ -1,6 +1,7 @@
 package com.kopchak.worldoftoys.service.impl;
 
 import com.kopchak.worldoftoys.repository.token.AuthTokenRepository;
+import com.kopchak.worldoftoys.security.ParsedAuthToken;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -16,16 +17,28 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class LogoutService implements LogoutHandler {
     private final AuthTokenRepository authTokenRepository;
+    private final JwtTokenService jwtTokenService;
     private static final String BEARER = "Bearer ";
 
     @Override
     public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        if (authentication != null && authentication.getCredentials() instanceof ParsedAuthToken parsedToken) {
+            revokeStoredToken(parsedToken.token());
+            jwtTokenService.revokeAuthToken(parsedToken);
+            return;
+        }
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || !authHeader.startsWith(BEARER)) {
             log.info("The authorization header is null or doesn't start with 'BEARER'");
             return;
         }
         final String jwt = authHeader.substring(BEARER.length());
+        if (revokeStoredToken(jwt)) {
+            jwtTokenService.revokeAuthToken(jwt);
+        }
+    }
+
+    private boolean revokeStoredToken(String jwt) {
         var storedToken = authTokenRepository.findByToken(jwt).orElse(null);
         if (storedToken != null) {
             storedToken.setExpired(true);
@@ -33,6 +46,8 @@ public class LogoutService implements LogoutHandler {
             authTokenRepository.save(storedToken);
             SecurityContextHolder.clearContext();
             log.info("The user with the username: {} has logged out", storedToken.getUser().getUsername());
+            return true;
         }
+        return false;
     }
 }
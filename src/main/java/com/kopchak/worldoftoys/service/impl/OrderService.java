@@ -9,19 +9,25 @@ import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.user.AppUser;
 import com.kopchak.worldoftoys.dto.admin.order.FilteredOrdersPageDto;
 import com.kopchak.worldoftoys.dto.admin.order.FilteringOrderOptionsDto;
+import com.kopchak.worldoftoys.dto.admin.order.OrdersStatusUpdateDto;
 import com.kopchak.worldoftoys.dto.admin.order.StatusDto;
+import com.kopchak.worldoftoys.dto.email.StatusEmailRecipientDto;
 import com.kopchak.worldoftoys.dto.order.OrderDto;
 import com.kopchak.worldoftoys.dto.order.OrderRecipientDto;
+import com.kopchak.worldoftoys.dto.order.OrderStatusRecipientDto;
 import com.kopchak.worldoftoys.exception.exception.order.OrderNotFoundException;
+import com.kopchak.worldoftoys.exception.exception.order.OrderStatusConflictException;
 import com.kopchak.worldoftoys.exception.exception.order.InvalidOrderStatusException;
 import com.kopchak.worldoftoys.exception.exception.order.OrderCreationException;
 import com.kopchak.worldoftoys.mapper.order.OrderMapper;
 import com.kopchak.worldoftoys.mapper.order.OrderRecipientMapper;
 import com.kopchak.worldoftoys.repository.cart.CartItemRepository;
-import com.kopchak.worldoftoys.repository.order.OrderDetailsRepository;
+import com.kopchak.worldoftoys.repository.order.OrderDetailsBatchRepository;
 import com.kopchak.worldoftoys.repository.order.OrderRepository;
-import com.kopchak.worldoftoys.repository.product.ProductRepository;
+import com.kopchak.worldoftoys.repository.product.ProductStockRepository;
 import com.kopchak.worldoftoys.repository.specifications.OrderSpecifications;
+import com.kopchak.worldoftoys.search.CatalogIndex;
+import com.kopchak.worldoftoys.transaction.AfterCommitExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -29,10 +35,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -42,31 +54,41 @@ import java.util.stream.Collectors;
 public class OrderService {
     private final OrderRepository orderRepository;
     private final CartItemRepository cartItemRepository;
-    private final ProductRepository productRepository;
-    private final OrderDetailsRepository orderDetailsRepository;
+    private final ProductStockRepository productStockRepository;
+    private final OrderDetailsBatchRepository orderDetailsBatchRepository;
     private final EmailSenderService emailSenderService;
     private final OrderRecipientMapper orderRecipientMapper;
     private final OrderMapper orderMapper;
     private final OrderSpecifications orderSpecifications;
+    private final CatalogIndex catalogIndex;
+    private final AfterCommitExecutor afterCommitExecutor;
 
+    @Transactional
     public void createOrder(OrderRecipientDto orderRecipientDto, AppUser user) {
-        BigDecimal orderTotalPrice = cartItemRepository.calculateUserCartTotalPrice(user);
-        Set<CartItem> cartItems = cartItemRepository.deleteAllById_User(user);
+        Set<CartItem> cartItems = cartItemRepository.findAllUserCartItemsWithProducts(user);
         if (cartItems.isEmpty()) {
             throw new OrderCreationException("It is impossible to create an order for the user " +
                     "because there are no products in the user's cart.");
         }
-        updateProductsAvailableQuantity(cartItems);
+        if (cartItemRepository.deleteAllUserCartItems(user) != cartItems.size()) {
+            throw new OrderCreationException("It is impossible to create an order for the user " +
+                    "because the user's cart has been changed during the order creation.");
+        }
+        Set<Integer> productIds = reserveProducts(cartItems);
         OrderRecipient orderRecipient = orderRecipientMapper.toOrderRecipient(orderRecipientDto);
         Order order = Order
                 .builder()
                 .orderRecipient(orderRecipient)
-                .totalPrice(orderTotalPrice)
+                .totalPrice(calculateTotalPrice(cartItems))
                 .user(user)
                 .build();
-        order = orderRepository.save(order);
+        order = orderRepository.saveAndFlush(order);
         var orderDetails = orderMapper.toOrderDetails(cartItems, order);
-        orderDetailsRepository.saveAll(orderDetails);
+        orderDetailsBatchRepository.insertAll(orderDetails);
+        var productStocks = productStockRepository.findAllStocksById(productIds);
+        afterCommitExecutor.execute(() -> productStocks.forEach(productStock ->
+                catalogIndex.updateAvailability(productStock.id(), productStock.isAvailable(),
+                        productStock.availableQuantity())));
         log.info("The order for user with username: {} has been successfully created.", user.getUsername());
     }
 
@@ -90,6 +112,7 @@ public class OrderService {
         return orderMapper.toFilteredOrdersPageDto(orderPage);
     }
 
+    @Transactional
     public void updateOrderStatus(String orderId, StatusDto statusDto) {
         Order order = orderRepository.findById(orderId).orElseThrow(() ->
                 new OrderNotFoundException(String.format("Order with id: %s doesn't exist!", orderId)));
@@ -104,19 +127,75 @@ public class OrderService {
         emailSenderService.sendEmail(user.getEmail(), user.getFirstname(), orderId, orderStatus);
     }
 
+    @Transactional
+    public void updateOrdersStatus(OrdersStatusUpdateDto ordersStatusUpdateDto) {
+        Set<String> orderIds = new LinkedHashSet<>(ordersStatusUpdateDto.orderIds());
+        OrderStatus orderStatus = orderMapper.toOrderStatus(ordersStatusUpdateDto.status());
+        List<OrderStatusRecipientDto> orders = orderRepository.findOrderStatusRecipients(orderIds);
+        if (orders.size() != orderIds.size()) {
+            Set<String> nonExistentOrderIds = new LinkedHashSet<>(orderIds);
+            orders.forEach(order -> nonExistentOrderIds.remove(order.orderId()));
+            throw new OrderNotFoundException(String.format("Orders with ids: %s don't exist!", nonExistentOrderIds));
+        }
+        List<String> sameStatusOrderIds = orders
+                .stream()
+                .filter(order -> order.orderStatus().equals(orderStatus))
+                .map(OrderStatusRecipientDto::orderId)
+                .toList();
+        if (!sameStatusOrderIds.isEmpty()) {
+            throw new InvalidOrderStatusException(String.format("The status: %s of the orders with ids: %s " +
+                    "is the same as the current status", ordersStatusUpdateDto.status().status(), sameStatusOrderIds));
+        }
+        Map<OrderStatus, List<String>> orderIdsByCurrentStatus = orders
+                .stream()
+                .collect(Collectors.groupingBy(OrderStatusRecipientDto::orderStatus,
+                        () -> new EnumMap<>(OrderStatus.class),
+                        Collectors.mapping(OrderStatusRecipientDto::orderId, Collectors.toList())));
+        int updatedOrdersAmount = orderIdsByCurrentStatus.entrySet()
+                .stream()
+                .mapToInt(entry -> orderRepository.updateOrderStatuses(entry.getValue(), entry.getKey(), orderStatus))
+                .sum();
+        if (updatedOrdersAmount != orderIds.size()) {
+            throw new OrderStatusConflictException("The status of some orders was changed concurrently, " +
+                    "please try again");
+        }
+        List<StatusEmailRecipientDto> emailRecipients = orders
+                .stream()
+                .map(order -> new StatusEmailRecipientDto(order.userEmail(), order.userFirstname(), order.orderId()))
+                .toList();
+        emailSenderService.sendEmails(emailRecipients, orderStatus);
+        log.info("The status of {} orders has been successfully updated to: {}", orderIds.size(), orderStatus);
+    }
+
     public Set<StatusDto> getAllOrderStatuses() {
         return orderMapper.toStatusDtoSet(Arrays.asList(OrderStatus.values()));
     }
 
-    private void updateProductsAvailableQuantity(Set<CartItem> cartItems) {
-        Set<Product> products = cartItems
+    private Set<Integer> reserveProducts(Set<CartItem> cartItems) {
+        Map<Integer, Product> products = new HashMap<>();
+        Map<Integer, BigInteger> quantities = new HashMap<>();
+        cartItems.forEach(cartItem -> {
+            Product product = cartItem.getId().getProduct();
+            products.put(product.getId(), product);
+            quantities.put(product.getId(), cartItem.getQuantity());
+        });
+        Set<Integer> outOfStockProductIds = productStockRepository.decreaseAvailableQuantities(quantities);
+        if (!outOfStockProductIds.isEmpty()) {
+            String outOfStockProductNames = outOfStockProductIds
+                    .stream()
+                    .map(productId -> products.get(productId).getName())
+                    .collect(Collectors.joining(", "));
+            throw new OrderCreationException(String.format("It is impossible to create an order for the user " +
+                    "because there is not enough quantity of the products: %s", outOfStockProductNames));
+        }
+        return quantities.keySet();
+    }
+
+    private BigDecimal calculateTotalPrice(Set<CartItem> cartItems) {
+        return cartItems
                 .stream()
-                .map(cartItem -> {
-                    Product product = cartItem.getId().getProduct();
-                    product.setAvailableQuantity(product.getAvailableQuantity().subtract(cartItem.getQuantity()));
-                    return product;
-                })
-                .collect(Collectors.toSet());
-        productRepository.saveAll(products);
+                .map(cartItem -> cartItem.getId().getProduct().getPrice()
+                        .multiply(new BigDecimal(cartItem.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 }
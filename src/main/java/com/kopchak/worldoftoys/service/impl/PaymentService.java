@@ -1,36 +1,45 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.StripeCustomerCache;
 import com.kopchak.worldoftoys.dto.payment.StripeCredentialsDto;
 import com.kopchak.worldoftoys.exception.exception.order.OrderNotFoundException;
 import com.kopchak.worldoftoys.domain.order.Order;
 import com.kopchak.worldoftoys.domain.order.OrderStatus;
 import com.kopchak.worldoftoys.domain.order.details.OrderDetails;
 import com.kopchak.worldoftoys.domain.order.payment.Currency;
-import com.kopchak.worldoftoys.domain.order.payment.Payment;
-import com.kopchak.worldoftoys.domain.order.payment.PaymentStatus;
-import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.domain.order.payment.StripeCheckoutSession;
+import com.kopchak.worldoftoys.domain.order.payment.StripeCustomer;
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEvent;
 import com.kopchak.worldoftoys.repository.order.OrderRepository;
+import com.kopchak.worldoftoys.repository.order.StripeCheckoutSessionRepository;
+import com.kopchak.worldoftoys.repository.order.StripeCustomerRepository;
 import com.stripe.Stripe;
 import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.exception.InvalidRequestException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 import com.stripe.model.CustomerSearchResult;
 import com.stripe.model.Event;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
 import com.stripe.net.Webhook;
 import com.stripe.param.CustomerCreateParams;
 import com.stripe.param.CustomerSearchParams;
 import com.stripe.param.checkout.SessionCreateParams;
-import com.stripe.param.checkout.SessionRetrieveParams;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Map;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -47,19 +56,23 @@ public class PaymentService {
     @Value(value = "${stripe.webhook.secret.key}")
     private String WEBHOOK_SECRET_KEY;
 
+    @Value(value = "${stripe.checkout-session.reuse-margin}")
+    private Duration SESSION_REUSE_MARGIN;
+
     private final OrderRepository orderRepository;
-    private final EmailSenderService emailSenderService;
+    private final PaymentWebhookService paymentWebhookService;
+    private final StripeCustomerRepository stripeCustomerRepository;
+    private final StripeCustomerCache stripeCustomerCache;
+    private final StripeCheckoutSessionRepository checkoutSessionRepository;
 
     @PostConstruct
     public void init() {
         Stripe.apiKey = STRIPE_API_KEY;
     }
 
-    private static final String CHECKOUT_SESSION_COMPLETED = "checkout.session.completed";
-    private static final String SUCCESSFUL_DELAYED_PAYMENT = "checkout.session.async_payment_succeeded";
-    private static final String FAILED_DELAYED_PAYMENT = "checkout.session.async_payment_failed";
-    private static final String PAID_SESSION_PAYMENT_STATUS = "paid";
     private static final String SESSION_ORDER_ID_METADATA_KEY = "order_id";
+    private static final String CUSTOMER_PARAM = "customer";
+    private static final String INITIAL_SESSION_KEY_SUFFIX = "initial";
 
     public String stripeCheckout(StripeCredentialsDto credentialsDto, String orderId)
             throws StripeException {
@@ -69,10 +82,27 @@ public class PaymentService {
             log.error(errMsg);
             throw new OrderNotFoundException(errMsg);
         }
-        Customer customer = findOrCreateStripeCustomer(credentialsDto.customerEmail(), credentialsDto.customerName());
+        String customerId = findOrCreateStripeCustomerId(credentialsDto.customerEmail(),
+                credentialsDto.customerName());
+        Optional<StripeCheckoutSession> checkoutSession = checkoutSessionRepository.findById(orderId);
+        if (checkoutSession.isPresent() && isReusable(checkoutSession.get(), customerId)) {
+            log.info("The open checkout session with id: {} is reused for the order with id: {}",
+                    checkoutSession.get().getSessionId(), orderId);
+            return checkoutSession.get().getUrl();
+        }
+        String previousSessionId = checkoutSession.map(StripeCheckoutSession::getSessionId).orElse(null);
         Set<OrderDetails> orderDetails = orderOptional.get().getOrderDetails();
-        SessionCreateParams sessionCreateParams = createPaymentSessionParams(customer, orderId, orderDetails);
-        Session session = Session.create(sessionCreateParams);
+        Session session = createPaymentSession(credentialsDto, customerId, orderId, orderDetails, previousSessionId);
+        checkoutSessionRepository.save(StripeCheckoutSession
+                .builder()
+                .orderId(orderId)
+                .sessionId(session.getId())
+                .customerId(session.getCustomer())
+                .url(session.getUrl())
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(session.getExpiresAt()),
+                        ZoneId.systemDefault()))
+                .createdAt(LocalDateTime.now())
+                .build());
         return session.getUrl();
     }
 
@@ -81,21 +111,51 @@ public class PaymentService {
         Event event = Webhook.constructEvent(requestBody, sigHeader, WEBHOOK_SECRET_KEY);
 
         String eventType = event.getType();
-        if (eventType.equals(CHECKOUT_SESSION_COMPLETED) || eventType.equals(SUCCESSFUL_DELAYED_PAYMENT) ||
-                eventType.equals(FAILED_DELAYED_PAYMENT)) {
-
-            Session sessionEvent = (Session) event.getDataObjectDeserializer().getObject().orElseThrow(() ->
+        if (PaymentWebhookService.HANDLED_EVENT_TYPES.contains(eventType)) {
+            Session session = (Session) event.getDataObjectDeserializer().getObject().orElseThrow(() ->
                     new EventDataObjectDeserializationException("Event data object deserialization is impossible",
                             event.toJson()));
-            SessionRetrieveParams params = SessionRetrieveParams.builder()
-                    .addExpand("line_items")
+            String orderId = session.getMetadata().get(SESSION_ORDER_ID_METADATA_KEY);
+            if (orderId == null) {
+                log.warn("The checkout session with id: {} does not belong to any order", session.getId());
+                return;
+            }
+            StripeWebhookEvent webhookEvent = StripeWebhookEvent.builder()
+                    .id(event.getId())
+                    .type(eventType)
+                    .orderId(orderId)
+                    .sessionId(session.getId())
+                    .sessionPaymentStatus(session.getPaymentStatus())
+                    .amountTotal(session.getAmountTotal())
                     .build();
-            Session session = Session.retrieve(sessionEvent.getId(), params, null);
-            Map<String, String> sessionMetadata = session.getMetadata();
-            String orderId = sessionMetadata.get(SESSION_ORDER_ID_METADATA_KEY);
+            paymentWebhookService.registerEvent(webhookEvent);
+        }
+    }
 
-            buildPayment(orderId, eventType, session.getId(), sessionEvent.getPaymentStatus(), session.getAmountTotal());
+    private String findOrCreateStripeCustomerId(String email, String name) throws StripeException {
+        Optional<String> customerId = stripeCustomerCache.get(email, stripeCustomerRepository::findCustomerIdByEmail);
+        if (customerId.isPresent()) {
+            return customerId.get();
         }
+        Customer customer = findOrCreateStripeCustomer(email, name);
+        try {
+            stripeCustomerRepository.saveAndFlush(StripeCustomer
+                    .builder()
+                    .email(email)
+                    .customerId(customer.getId())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent first checkout with the same email has linked its customer first, so that one is used
+            String linkedCustomerId = stripeCustomerRepository.findCustomerIdByEmail(email).orElseThrow(() -> e);
+            stripeCustomerCache.put(email, linkedCustomerId);
+            log.info("The stripe customer with id: {} was concurrently linked to the email: {}",
+                    linkedCustomerId, email);
+            return linkedCustomerId;
+        }
+        stripeCustomerCache.put(email, customer.getId());
+        log.info("The stripe customer with id: {} was linked to the email: {}", customer.getId(), email);
+        return customer.getId();
     }
 
     private Customer findOrCreateStripeCustomer(String email, String name) throws StripeException {
@@ -112,17 +172,56 @@ public class PaymentService {
         }
     }
 
-    private SessionCreateParams createPaymentSessionParams(Customer customer, String orderId,
+    private boolean isReusable(StripeCheckoutSession checkoutSession, String customerId) {
+        return checkoutSession.getCustomerId().equals(customerId) &&
+                checkoutSession.getExpiresAt().isAfter(LocalDateTime.now().plus(SESSION_REUSE_MARGIN));
+    }
+
+    private Session createPaymentSession(StripeCredentialsDto credentialsDto, String customerId, String orderId,
+                                         Set<OrderDetails> orderDetails, String previousSessionId)
+            throws StripeException {
+        String email = credentialsDto.customerEmail();
+        try {
+            return Session.create(createPaymentSessionParams(customerId, orderId, orderDetails),
+                    createIdempotentRequestOptions(customerId, orderId, previousSessionId));
+        } catch (InvalidRequestException e) {
+            if (!CUSTOMER_PARAM.equals(e.getParam())) {
+                throw e;
+            }
+            log.warn("The stripe customer with id: {} no longer exists and will be linked again", customerId);
+            stripeCustomerRepository.deleteById(email);
+            stripeCustomerCache.evict(email);
+            String relinkedCustomerId = findOrCreateStripeCustomerId(email, credentialsDto.customerName());
+            return Session.create(createPaymentSessionParams(relinkedCustomerId, orderId, orderDetails),
+                    createIdempotentRequestOptions(relinkedCustomerId, orderId, previousSessionId));
+        }
+    }
+
+    private RequestOptions createIdempotentRequestOptions(String customerId, String orderId,
+                                                          String previousSessionId) {
+        // concurrent checkouts of the same order see the same previous session and get the same key,
+        // so stripe creates only one session for them
+        String idempotencyKey = String.format("checkout-session-%s-%s-%s", orderId, customerId,
+                previousSessionId == null ? INITIAL_SESSION_KEY_SUFFIX : previousSessionId);
+        return RequestOptions.builder().setIdempotencyKey(idempotencyKey).build();
+    }
+
+    private SessionCreateParams createPaymentSessionParams(String customerId, String orderId,
                                                            Set<OrderDetails> orderDetails) {
         SessionCreateParams.Builder paramsBuilder =
                 SessionCreateParams.builder()
                         .setMode(SessionCreateParams.Mode.PAYMENT)
-                        .setCustomer(customer.getId())
+                        .setCustomer(customerId)
                         .setCurrency(Currency.UAH.name())
                         .putMetadata(SESSION_ORDER_ID_METADATA_KEY, orderId)
                         .setSuccessUrl(STRIPE_SUCCESS_URL);
 
-        orderDetails.forEach(orderDetail ->
+        // idempotent retries must send the same parameters, so the line items always go in the same order
+        List<OrderDetails> sortedOrderDetails = orderDetails
+                .stream()
+                .sorted(Comparator.comparing(orderDetail -> orderDetail.getProduct().getName()))
+                .toList();
+        sortedOrderDetails.forEach(orderDetail ->
                 paramsBuilder.addLineItem(
                         SessionCreateParams.LineItem.builder()
                                 .setQuantity(orderDetail.getQuantity().longValue())
@@ -141,38 +240,4 @@ public class PaymentService {
         );
         return paramsBuilder.build();
     }
-
-    private void buildPayment(String orderId, String eventType, String paymentId, String sessionPaymentStatus,
-                              Long orderTotalAmount) {
-        Order order = orderRepository.findById(orderId).orElseThrow();
-
-        PaymentStatus paymentStatus;
-        OrderStatus orderStatus;
-
-        if (eventType.equals(FAILED_DELAYED_PAYMENT)) {
-            paymentStatus = PaymentStatus.FAILED;
-            orderStatus = OrderStatus.CANCELED;
-        } else {
-            if (sessionPaymentStatus.equals(PAID_SESSION_PAYMENT_STATUS)) {
-                paymentStatus = PaymentStatus.COMPLETE;
-                orderStatus = OrderStatus.AWAITING_FULFILMENT;
-            } else {
-                paymentStatus = PaymentStatus.PENDING;
-                orderStatus = OrderStatus.AWAITING_PAYMENT;
-            }
-        }
-
-        Payment payment = Payment.builder()
-                .id(paymentId)
-                .dateTime(LocalDateTime.now())
-                .status(paymentStatus)
-                .price(BigDecimal.valueOf(orderTotalAmount, 2))
-                .order(order)
-                .build();
-        order.getPayments().add(payment);
-        order.setOrderStatus(orderStatus);
-        orderRepository.save(order);
-        AppUser user = order.getUser();
-        emailSenderService.sendEmail(user.getEmail(), user.getFirstname(), orderId, paymentStatus);
-    }
 }
@@ -0,0 +1,268 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.domain.order.Order;
+import com.kopchak.worldoftoys.domain.order.OrderStatus;
+import com.kopchak.worldoftoys.domain.order.payment.Payment;
+import com.kopchak.worldoftoys.domain.order.payment.PaymentStatus;
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEvent;
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEventStatus;
+import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.exception.exception.order.OrderNotFoundException;
+import com.kopchak.worldoftoys.repository.order.OrderRepository;
+import com.kopchak.worldoftoys.repository.order.StripeWebhookEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class PaymentWebhookService {
+    static final String CHECKOUT_SESSION_COMPLETED = "checkout.session.completed";
+    static final String SUCCESSFUL_DELAYED_PAYMENT = "checkout.session.async_payment_succeeded";
+    static final String FAILED_DELAYED_PAYMENT = "checkout.session.async_payment_failed";
+    static final Set<String> HANDLED_EVENT_TYPES = Set.of(CHECKOUT_SESSION_COMPLETED, SUCCESSFUL_DELAYED_PAYMENT,
+            FAILED_DELAYED_PAYMENT);
+    private final static String PAID_SESSION_PAYMENT_STATUS = "paid";
+    private final static String EXECUTOR_NAME = "payment-webhook";
+    private final static long SHUTDOWN_TIMEOUT_IN_SECONDS = 10;
+    private final static int MAX_ERROR_LENGTH = 255;
+
+    @Value(value = "${stripe.webhook.processing.batch-size}")
+    private int BATCH_SIZE;
+
+    @Value(value = "${stripe.webhook.processing.max-attempts}")
+    private int MAX_ATTEMPTS;
+
+    @Value(value = "${stripe.webhook.processing.initial-backoff}")
+    private Duration INITIAL_BACKOFF;
+
+    @Value(value = "${stripe.webhook.processing.max-backoff}")
+    private Duration MAX_BACKOFF;
+
+    @Value(value = "${stripe.webhook.processing.processing-timeout}")
+    private Duration PROCESSING_TIMEOUT;
+
+    @Value(value = "${stripe.webhook.processing.retention}")
+    private Duration RETENTION;
+
+    private final StripeWebhookEventRepository webhookEventRepository;
+    private final OrderRepository orderRepository;
+    private final EmailSenderService emailSenderService;
+    private final TransactionTemplate transactionTemplate;
+    private final List<ThreadPoolExecutor> stripes;
+    private final AtomicLong pendingEventsAmount = new AtomicLong();
+    private final AtomicLong failedEventsAmount = new AtomicLong();
+    private final Counter processedEventsCounter;
+    private final Counter duplicateEventsCounter;
+
+    public PaymentWebhookService(StripeWebhookEventRepository webhookEventRepository, OrderRepository orderRepository,
+                                 EmailSenderService emailSenderService, TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${stripe.webhook.processing.stripes}") int stripesAmount,
+                                 @Value("${stripe.webhook.processing.queue-capacity}") int queueCapacity) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.orderRepository = orderRepository;
+        this.emailSenderService = emailSenderService;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = new ArrayList<>(stripesAmount);
+        for (int i = 0; i < stripesAmount; i++) {
+            ThreadPoolExecutor stripe = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory(EXECUTOR_NAME + "-" + i + "-"));
+            new ExecutorServiceMetrics(stripe, EXECUTOR_NAME, Tags.of("stripe", String.valueOf(i)))
+                    .bindTo(meterRegistry);
+            stripes.add(stripe);
+        }
+        Gauge.builder("payment.webhook.pending", pendingEventsAmount, AtomicLong::get)
+                .description("The number of payment webhook events waiting to be processed")
+                .register(meterRegistry);
+        Gauge.builder("payment.webhook.failed", failedEventsAmount, AtomicLong::get)
+                .description("The number of payment webhook events that were not processed after all attempts")
+                .register(meterRegistry);
+        this.processedEventsCounter = Counter.builder("payment.webhook.processed")
+                .description("The number of processed payment webhook events")
+                .register(meterRegistry);
+        this.duplicateEventsCounter = Counter.builder("payment.webhook.duplicates")
+                .description("The number of payment webhook events that were delivered more than once")
+                .register(meterRegistry);
+    }
+
+    public void registerEvent(StripeWebhookEvent event) {
+        if (webhookEventRepository.existsById(event.getId())) {
+            registerDuplicateEvent(event);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        event.setReceivedAt(now);
+        event.setAttempts(1);
+        event.setNextAttemptAt(now.plus(PROCESSING_TIMEOUT));
+        try {
+            webhookEventRepository.saveAndFlush(event);
+        } catch (DataIntegrityViolationException e) {
+            registerDuplicateEvent(event);
+            return;
+        }
+        if (!submitEvent(event)) {
+            webhookEventRepository.deferEvent(event.getId(), now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stripe.webhook.processing.poll-interval}")
+    public void dispatchPendingEvents() {
+        pendingEventsAmount.set(webhookEventRepository.countByStatus(StripeWebhookEventStatus.PENDING));
+        failedEventsAmount.set(webhookEventRepository.countByStatus(StripeWebhookEventStatus.FAILED));
+        if (pendingEventsAmount.get() == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<StripeWebhookEvent> dueEvents = webhookEventRepository.findDueEvents(now, PageRequest.of(0, BATCH_SIZE));
+        for (StripeWebhookEvent event : dueEvents) {
+            if (webhookEventRepository.claimEvent(event.getId(), event.getAttempts(),
+                    now.plus(PROCESSING_TIMEOUT)) == 0) {
+                continue;
+            }
+            event.setAttempts(event.getAttempts() + 1);
+            if (!submitEvent(event)) {
+                webhookEventRepository.deferEvent(event.getId(), now);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stripe.webhook.processing.cleanup-interval}",
+            initialDelayString = "${stripe.webhook.processing.cleanup-interval}")
+    public void deleteProcessedEvents() {
+        int deletedEventsAmount = webhookEventRepository.deleteProcessedEvents(LocalDateTime.now().minus(RETENTION));
+        log.info("Deleted {} processed payment webhook events", deletedEventsAmount);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stripes.forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor stripe : stripes) {
+            if (!stripe.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("The payment webhook executor did not finish processing events before the shutdown");
+            }
+        }
+    }
+
+    private void registerDuplicateEvent(StripeWebhookEvent event) {
+        duplicateEventsCounter.increment();
+        log.info("The payment webhook event with id: {} has already been received", event.getId());
+    }
+
+    private boolean submitEvent(StripeWebhookEvent event) {
+        // all events of one order go to the same single-threaded stripe, so they are processed in the receiving order
+        ThreadPoolExecutor stripe = stripes.get(Math.floorMod(event.getOrderId().hashCode(), stripes.size()));
+        try {
+            stripe.execute(() -> process(event));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("The payment webhook executor is full, the event with id: {} will be processed later",
+                    event.getId());
+            return false;
+        }
+    }
+
+    private void process(StripeWebhookEvent event) {
+        try {
+            if (webhookEventRepository.existsByOrderIdAndStatusAndReceivedAtBefore(event.getOrderId(),
+                    StripeWebhookEventStatus.PENDING, event.getReceivedAt())) {
+                webhookEventRepository.deferEvent(event.getId(), LocalDateTime.now().plus(INITIAL_BACKOFF));
+                log.info("The payment webhook event with id: {} waits for the earlier events of the order with id: {}",
+                        event.getId(), event.getOrderId());
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                buildPayment(event);
+                webhookEventRepository.markProcessed(event.getId());
+            });
+            processedEventsCounter.increment();
+        } catch (RuntimeException e) {
+            handleFailedAttempt(event, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private void buildPayment(StripeWebhookEvent event) {
+        String orderId = event.getOrderId();
+        Order order = orderRepository.findById(orderId).orElseThrow(() ->
+                new OrderNotFoundException(String.format("The order with id: %s does not exist!", orderId)));
+
+        PaymentStatus paymentStatus;
+        OrderStatus orderStatus;
+
+        if (event.getType().equals(FAILED_DELAYED_PAYMENT)) {
+            paymentStatus = PaymentStatus.FAILED;
+            orderStatus = OrderStatus.CANCELED;
+        } else {
+            if (PAID_SESSION_PAYMENT_STATUS.equals(event.getSessionPaymentStatus())) {
+                paymentStatus = PaymentStatus.COMPLETE;
+                orderStatus = OrderStatus.AWAITING_FULFILMENT;
+            } else {
+                paymentStatus = PaymentStatus.PENDING;
+                orderStatus = OrderStatus.AWAITING_PAYMENT;
+            }
+        }
+
+        Payment payment = order.getPayments()
+                .stream()
+                .filter(orderPayment -> orderPayment.getId().equals(event.getSessionId()))
+                .findFirst()
+                .orElseGet(() -> {
+                    Payment newPayment = Payment.builder().id(event.getSessionId()).order(order).build();
+                    order.getPayments().add(newPayment);
+                    return newPayment;
+                });
+        payment.setDateTime(LocalDateTime.now());
+        payment.setStatus(paymentStatus);
+        payment.setPrice(BigDecimal.valueOf(event.getAmountTotal(), 2));
+        order.setOrderStatus(orderStatus);
+        orderRepository.save(order);
+        AppUser user = order.getUser();
+        emailSenderService.sendEmail(user.getEmail(), user.getFirstname(), orderId, paymentStatus);
+    }
+
+    private void handleFailedAttempt(StripeWebhookEvent event, String processingError) {
+        String error = StringUtils.abbreviate(processingError, MAX_ERROR_LENGTH);
+        int attempts = event.getAttempts();
+        if (attempts >= MAX_ATTEMPTS) {
+            webhookEventRepository.markFailed(event.getId(), error);
+            log.error("The payment webhook event with id: {} was not processed after {} attempts", event.getId(),
+                    attempts);
+        } else {
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(calculateBackoff(attempts));
+            webhookEventRepository.scheduleRetry(event.getId(), nextAttemptAt, error);
+            log.warn("The payment webhook event with id: {} will be processed again at: {}", event.getId(),
+                    nextAttemptAt);
+        }
+    }
+
+    private Duration calculateBackoff(int attempts) {
+        Duration backoff = INITIAL_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+}
@@ -1,6 +1,9 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.ProductCountCache;
+import com.kopchak.worldoftoys.cache.ProductCountCacheKey;
 import com.kopchak.worldoftoys.domain.image.Image;
+import com.kopchak.worldoftoys.domain.image.ImageSize;
 import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.product.category.AgeCategory;
 import com.kopchak.worldoftoys.domain.product.category.BrandCategory;
@@ -11,94 +14,150 @@ import com.kopchak.worldoftoys.dto.admin.product.AdminFilteredProductDto;
 import com.kopchak.worldoftoys.dto.admin.product.AdminProductDto;
 import com.kopchak.worldoftoys.dto.admin.product.AdminProductsPageDto;
 import com.kopchak.worldoftoys.dto.image.ImageDto;
+import com.kopchak.worldoftoys.dto.product.CursorPageDto;
 import com.kopchak.worldoftoys.dto.product.FilteredProductDto;
 import com.kopchak.worldoftoys.dto.product.FilteredProductsPageDto;
+import com.kopchak.worldoftoys.dto.product.ProductCursorDto;
 import com.kopchak.worldoftoys.dto.product.ProductDto;
+import com.kopchak.worldoftoys.dto.product.ProductListingDto;
+import com.kopchak.worldoftoys.dto.product.ProductSuggestionDto;
 import com.kopchak.worldoftoys.exception.exception.category.CategoryNotFoundException;
 import com.kopchak.worldoftoys.exception.exception.product.DuplicateProductNameException;
+import com.kopchak.worldoftoys.exception.exception.product.InvalidPageSizeException;
+import com.kopchak.worldoftoys.exception.exception.product.InvalidProductCursorException;
 import com.kopchak.worldoftoys.exception.exception.product.ProductNotFoundException;
 import com.kopchak.worldoftoys.mapper.product.ProductMapper;
+import com.kopchak.worldoftoys.repository.product.ProductListingRepository;
 import com.kopchak.worldoftoys.repository.product.ProductRepository;
 import com.kopchak.worldoftoys.repository.specifications.impl.ProductSpecificationsImpl;
+import com.kopchak.worldoftoys.search.CatalogIndex;
+import com.kopchak.worldoftoys.search.ProductSearchIndex;
+import com.kopchak.worldoftoys.transaction.AfterCommitExecutor;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductService {
+    private final static String CURSOR_DELIMITER = ":";
+
+    @Value(value = "${product.count-estimate-limit}")
+    private int COUNT_ESTIMATE_LIMIT;
+    @Value(value = "${product.suggestions-max-limit}")
+    private int SUGGESTIONS_MAX_LIMIT;
+    @Value(value = "${product.max-page-size}")
+    private int MAX_PAGE_SIZE;
+
     private final ProductRepository productRepository;
+    private final ProductListingRepository productListingRepository;
     private final CategoryService categoryService;
     private final ProductSpecificationsImpl productSpecifications;
     private final ProductMapper productMapper;
     private final ImageService imageService;
+    private final ProductCountCache productCountCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogIndex catalogIndex;
+    private final AfterCommitExecutor afterCommitExecutor;
 
     public FilteredProductsPageDto getFilteredProductsPage(int page, int size, String productName, BigDecimal minPrice,
                                                            BigDecimal maxPrice, List<String> originCategories,
                                                            List<String> brandCategories, List<String> ageCategories,
-                                                           String priceSortOrder) {
-        Page<Product> productPage = getFilteredProductPage(page, size, productName, minPrice, maxPrice,
-                originCategories, brandCategories, ageCategories, priceSortOrder, null);
+                                                           String priceSortOrder, String countMode) {
+        Page<ProductListingDto> productPage = getFilteredProductPage(page, size, productName, minPrice, maxPrice,
+                originCategories, brandCategories, ageCategories, priceSortOrder, null, countMode);
         List<FilteredProductDto> filteredProductDtoList = productPage.getContent().stream()
-                .map(product -> {
-                    ImageDto mainImageDto = imageService.decompressImage(product.getMainImage()).orElse(null);
-                    return productMapper.toFilteredProductDto(product, mainImageDto);
-                })
+                .map(product -> productMapper.toFilteredProductDto(product, getMainImageThumbnailDto(product)))
                 .toList();
         return new FilteredProductsPageDto(filteredProductDtoList, productPage.getTotalElements(),
                 productPage.getTotalPages());
     }
 
+    public CursorPageDto<FilteredProductDto> getFilteredProductsCursorPage(String cursor, int size, String productName,
+                                                                          BigDecimal minPrice, BigDecimal maxPrice,
+                                                                          List<String> originCategories,
+                                                                          List<String> brandCategories,
+                                                                          List<String> ageCategories,
+                                                                          String priceSortOrder, boolean withTotal) {
+        return getFilteredProductCursorPage(cursor, size, productName, minPrice, maxPrice, originCategories,
+                brandCategories, ageCategories, priceSortOrder, null, withTotal,
+                product -> productMapper.toFilteredProductDto(product, getMainImageThumbnailDto(product)));
+    }
+
     public ProductDto getProductBySlug(String productSlug) {
         Product product = productRepository.findBySlug(productSlug).orElseThrow(() ->
                 new ProductNotFoundException(String.format("The product with slug: %s is not found.", productSlug)));
         Image mainImage = product.getMainImage();
-        ImageDto mainImageDto = imageService.decompressImage(mainImage).orElse(null);
+        ImageDto mainImageDto = imageService.toImageDto(mainImage, ImageSize.MEDIUM);
         List<ImageDto> imageDtoList = product.getImages().stream()
                 .filter(image -> !image.equals(mainImage))
-                .map(image -> imageService.decompressImage(image).orElse(null))
+                .map(image -> imageService.toImageDto(image, ImageSize.MEDIUM))
                 .toList();
         log.info("Fetched product by slug: '{}'", productSlug);
         return productMapper.toProductDto(product, mainImageDto, imageDtoList);
     }
 
+    public List<ProductSuggestionDto> getProductSuggestions(String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, SUGGESTIONS_MAX_LIMIT));
+        List<ProductSuggestionDto> productSuggestions = productSearchIndex.search(query, boundedLimit).stream()
+                .map(document -> new ProductSuggestionDto(document.name(), document.slug()))
+                .toList();
+        log.info("Fetched {} product suggestions for query: '{}'", productSuggestions.size(), query);
+        return productSuggestions;
+    }
+
     public AdminProductsPageDto getAdminProductsPage(int page, int size, String productName, BigDecimal minPrice,
                                                      BigDecimal maxPrice, List<String> originCategories,
                                                      List<String> brandCategories, List<String> ageCategories,
-                                                     String priceSortOrder, String availability) {
-        Page<Product> productPage = getFilteredProductPage(page, size, productName, minPrice, maxPrice,
-                originCategories, brandCategories, ageCategories, priceSortOrder, availability);
+                                                     String priceSortOrder, String availability,
+                                                     String countMode) {
+        Page<ProductListingDto> productPage = getFilteredProductPage(page, size, productName, minPrice, maxPrice,
+                originCategories, brandCategories, ageCategories, priceSortOrder, availability, countMode);
         List<AdminFilteredProductDto> adminProductsPageDtoList = productPage.getContent().stream()
-                .map(product -> {
-                    ImageDto mainImageDto = imageService.decompressImage(product.getMainImage()).orElse(null);
-                    return productMapper.toAdminFilteredProductDto(product, mainImageDto);
-                })
+                .map(product -> productMapper.toAdminFilteredProductDto(product, getMainImageThumbnailDto(product)))
                 .toList();
         return new AdminProductsPageDto(adminProductsPageDtoList, productPage.getTotalElements(),
                 productPage.getTotalPages());
     }
 
+    public CursorPageDto<AdminFilteredProductDto> getAdminProductsCursorPage(String cursor, int size,
+                                                                            String productName, BigDecimal minPrice,
+                                                                            BigDecimal maxPrice,
+                                                                            List<String> originCategories,
+                                                                            List<String> brandCategories,
+                                                                            List<String> ageCategories,
+                                                                            String priceSortOrder, String availability,
+                                                                            boolean withTotal) {
+        return getFilteredProductCursorPage(cursor, size, productName, minPrice, maxPrice, originCategories,
+                brandCategories, ageCategories, priceSortOrder, availability, withTotal,
+                product -> productMapper.toAdminFilteredProductDto(product, getMainImageThumbnailDto(product)));
+    }
+
     public AdminProductDto getProductById(Integer productId) {
         Product product = productRepository.findById(productId).orElseThrow(
                 () -> new ProductNotFoundException(String.format("The product with id: %d is not found.", productId)));
         Image mainImage = product.getMainImage();
-        ImageDto mainImageDto = imageService.decompressImage(mainImage).orElse(null);
+        ImageDto mainImageDto = imageService.toImageDto(mainImage, ImageSize.FULL);
         List<ImageDto> imageDtoList = product.getImages().stream()
                 .filter(image -> !image.equals(mainImage))
-                .map(image -> imageService.decompressImage(image).orElse(null))
+                .map(image -> imageService.toImageDto(image, ImageSize.FULL))
                 .toList();
         log.info("Fetched product by id: '{}'", productId);
         return productMapper.toAdminProductDto(product, mainImageDto, imageDtoList);
@@ -118,6 +177,11 @@ public class ProductService {
         Product product = buildProductFromDtoAndImages(addUpdateProductDto, mainImageFile, imageFilesList);
         product.setId(productId);
         productRepository.save(product);
+        afterCommitExecutor.execute(() -> {
+            productCountCache.evictAll();
+            productSearchIndex.index(product.getId(), product.getName(), product.getDescription());
+            catalogIndex.index(product);
+        });
         log.info("The product with id: {} was successfully updated", productId);
     }
 
@@ -130,24 +194,148 @@ public class ProductService {
         }
         Product product = buildProductFromDtoAndImages(addUpdateProductDto, mainImageFile, imageFileList);
         productRepository.save(product);
+        afterCommitExecutor.execute(() -> {
+            productCountCache.evictAll();
+            productSearchIndex.index(product.getId(), product.getName(), product.getDescription());
+            catalogIndex.index(product);
+        });
         log.info("The product with name: {} was successfully saved", product.getName());
     }
 
-    private Page<Product> getFilteredProductPage(int page, int size, String productName, BigDecimal minPrice,
-                                                 BigDecimal maxPrice, List<String> originCategories,
-                                                 List<String> brandCategories, List<String> ageCategories,
-                                                 String priceSortOrder, String availability) {
+    private Page<ProductListingDto> getFilteredProductPage(int page, int size, String productName, BigDecimal minPrice,
+                                                           BigDecimal maxPrice, List<String> originCategories,
+                                                           List<String> brandCategories, List<String> ageCategories,
+                                                           String priceSortOrder, String availability,
+                                                           String countMode) {
+        size = boundPageSize(size);
         Pageable pageable = PageRequest.of(page, size);
+        if (catalogIndex.isEnabled()) {
+            List<Integer> productIds = catalogIndex.findProductIds(productName, minPrice, maxPrice, originCategories,
+                    brandCategories, ageCategories, availability, normalizePriceSortOrder(priceSortOrder), null,
+                    pageable.getOffset(), size);
+            long totalElementsAmount = catalogIndex.count(productName, minPrice, maxPrice, originCategories,
+                    brandCategories, ageCategories, availability);
+            log.info("Fetched filtered products from the catalog index - Page: {}, Size: {}, Product Name: '{}', " +
+                            "Min Price: {}, Max Price: {}, Origin Categories: {}, Brand Categories: {}, " +
+                            "Age Categories: {}, Availability: {}, Price Sort Order: '{}'", page, size, productName,
+                    minPrice, maxPrice, originCategories, brandCategories, ageCategories, availability,
+                    priceSortOrder);
+            return new PageImpl<>(productListingRepository.findAllById(productIds), pageable, totalElementsAmount);
+        }
         Specification<Product> spec = productSpecifications.filterByAllCriteria(productName, minPrice,
                 maxPrice, originCategories, brandCategories, ageCategories, priceSortOrder, availability);
-        Page<Product> productPage = productRepository.findAll(spec, pageable);
+        var countCacheKey = ProductCountCacheKey.of(productName, minPrice, maxPrice, originCategories,
+                brandCategories, ageCategories, availability);
+        LongSupplier totalSupplier = "estimated".equalsIgnoreCase(countMode) ?
+                () -> getEstimatedProductsCount(spec, countCacheKey, pageable) :
+                () -> getProductsCount(spec, countCacheKey);
+        Page<ProductListingDto> productPage = productListingRepository.findAll(spec, pageable, totalSupplier);
         log.info("Fetched filtered products - Page: {}, Size: {}, Product Name: '{}', Min Price: {}, Max Price: {}, " +
                         "Origin Categories: {}, Brand Categories: {}, Age Categories: {}, Availability: {}, " +
-                        "Price Sort Order: '{}'", page, size, productName, minPrice, maxPrice, originCategories,
-                brandCategories, ageCategories, availability, priceSortOrder);
+                        "Price Sort Order: '{}', Count Mode: '{}'", page, size, productName, minPrice, maxPrice,
+                originCategories, brandCategories, ageCategories, availability, priceSortOrder, countMode);
         return productPage;
     }
 
+    private <T> CursorPageDto<T> getFilteredProductCursorPage(String cursor, int size, String productName,
+                                                              BigDecimal minPrice, BigDecimal maxPrice,
+                                                              List<String> originCategories,
+                                                              List<String> brandCategories,
+                                                              List<String> ageCategories, String priceSortOrder,
+                                                              String availability, boolean withTotal,
+                                                              Function<ProductListingDto, T> productMapperFunction) {
+        size = boundPageSize(size);
+        String sortOrder = normalizePriceSortOrder(priceSortOrder);
+        ProductCursorDto productCursor = decodeCursor(cursor, sortOrder);
+        Slice<ProductListingDto> productSlice;
+        Long totalElementsAmount = null;
+        if (catalogIndex.isEnabled()) {
+            List<Integer> productIds = catalogIndex.findProductIds(productName, minPrice, maxPrice, originCategories,
+                    brandCategories, ageCategories, availability, sortOrder, productCursor, 0, size + 1);
+            boolean hasNext = productIds.size() > size;
+            List<Integer> pageProductIds = hasNext ? productIds.subList(0, size) : productIds;
+            productSlice = new SliceImpl<>(productListingRepository.findAllById(pageProductIds),
+                    PageRequest.of(0, size), hasNext);
+            if (withTotal) {
+                totalElementsAmount = catalogIndex.count(productName, minPrice, maxPrice, originCategories,
+                        brandCategories, ageCategories, availability);
+            }
+        } else {
+            Specification<Product> spec = productSpecifications.filterByAllCriteria(productName, minPrice,
+                    maxPrice, originCategories, brandCategories, ageCategories, sortOrder, availability);
+            productSlice = productListingRepository.findSlice(spec.and(productSpecifications.isAfterCursor(productCursor)),
+                    size);
+            if (withTotal) {
+                totalElementsAmount = getProductsCount(spec, ProductCountCacheKey.of(productName, minPrice, maxPrice,
+                        originCategories, brandCategories, ageCategories, availability));
+            }
+        }
+        List<ProductListingDto> products = productSlice.getContent();
+        String nextCursor = productSlice.hasNext() ? encodeCursor(products.get(products.size() - 1), sortOrder) : null;
+        log.info("Fetched filtered products - Cursor: '{}', Size: {}, Product Name: '{}', Min Price: {}, " +
+                        "Max Price: {}, Origin Categories: {}, Brand Categories: {}, Age Categories: {}, " +
+                        "Availability: {}, Price Sort Order: '{}'", cursor, size, productName, minPrice, maxPrice,
+                originCategories, brandCategories, ageCategories, availability, sortOrder);
+        return new CursorPageDto<>(products.stream().map(productMapperFunction).toList(), nextCursor,
+                totalElementsAmount);
+    }
+
+    private long getProductsCount(Specification<Product> spec, ProductCountCacheKey countCacheKey) {
+        return productCountCache.get(countCacheKey, key -> productListingRepository.count(spec));
+    }
+
+    private long getEstimatedProductsCount(Specification<Product> spec, ProductCountCacheKey countCacheKey,
+                                           Pageable pageable) {
+        Long cachedCount = productCountCache.getIfPresent(countCacheKey);
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+        int limit = (int) Math.max(COUNT_ESTIMATE_LIMIT, pageable.getOffset() + pageable.getPageSize() + 1);
+        return productListingRepository.countUpTo(spec, limit);
+    }
+
+    private int boundPageSize(int size) {
+        if (size < 1) {
+            throw new InvalidPageSizeException(String.format("The page size: %d must be greater than zero", size));
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private String normalizePriceSortOrder(String priceSortOrder) {
+        if ("asc".equalsIgnoreCase(priceSortOrder) || "desc".equalsIgnoreCase(priceSortOrder)) {
+            return priceSortOrder.toLowerCase();
+        }
+        return "";
+    }
+
+    private String encodeCursor(ProductListingDto lastProduct, String sortOrder) {
+        String price = sortOrder.isEmpty() ? "" : lastProduct.price().toPlainString();
+        String cursor = String.join(CURSOR_DELIMITER, sortOrder, price, String.valueOf(lastProduct.id()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ProductCursorDto decodeCursor(String cursor, String sortOrder) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decodedCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] cursorParts = decodedCursor.split(CURSOR_DELIMITER, -1);
+            if (cursorParts.length != 3 || !cursorParts[0].equals(sortOrder)) {
+                throw new IllegalArgumentException("The cursor does not match the price sort order");
+            }
+            BigDecimal price = sortOrder.isEmpty() ? null : new BigDecimal(cursorParts[1]);
+            return new ProductCursorDto(sortOrder, price, Integer.valueOf(cursorParts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidProductCursorException(String.format("The product cursor: %s is invalid", cursor));
+        }
+    }
+
+    private ImageDto getMainImageThumbnailDto(ProductListingDto product) {
+        return imageService.toImageDto(product.mainImageId(), product.mainImageName(), product.mainImageType(),
+                ImageSize.THUMBNAIL);
+    }
+
     private Product buildProductFromDtoAndImages(AddUpdateProductDto addUpdateProductDto, MultipartFile mainImageFile,
                                                  List<MultipartFile> imageFilesList) {
         Product product = productMapper.toProduct(addUpdateProductDto);
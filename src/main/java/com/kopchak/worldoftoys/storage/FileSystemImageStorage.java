@@ -0,0 +1,134 @@
+package com.kopchak.worldoftoys.storage;
+
+import com.kopchak.worldoftoys.exception.exception.image.ImageNotFoundException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageStorageException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class FileSystemImageStorage implements ImageStorage {
+    private final static String HASH_ALGORITHM = "SHA-256";
+    private final static String TEMP_FILE_SUFFIX = ".tmp";
+    private final Path rootLocation;
+
+    public FileSystemImageStorage(@Value("${image.storage.location}") String location) {
+        this.rootLocation = Paths.get(location).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(byte[] content) {
+        String hash = calculateHash(content);
+        Path imagePath = resolve(hash);
+        try {
+            // a reused blob gets a fresh timestamp so the orphan cleanup grace period protects it again
+            if (Files.exists(imagePath) && refreshStoredAt(imagePath)) {
+                log.info("The image with hash: {} is already stored", hash);
+                return hash;
+            }
+            Files.createDirectories(imagePath.getParent());
+            Path tempPath = Files.createTempFile(imagePath.getParent(), hash, TEMP_FILE_SUFFIX);
+            try {
+                Files.write(tempPath, content);
+                Files.move(tempPath, imagePath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                log.info("The image with hash: {} was concurrently stored", hash);
+            } finally {
+                Files.deleteIfExists(tempPath);
+            }
+            log.info("The image with hash: {} was successfully stored", hash);
+            return hash;
+        } catch (IOException e) {
+            String errorMsg = String.format("The image with hash: %s cannot be stored", hash);
+            log.error(errorMsg, e);
+            throw new ImageStorageException(errorMsg);
+        }
+    }
+
+    @Override
+    public Resource load(String hash) {
+        Path imagePath = resolve(hash);
+        if (!Files.isReadable(imagePath)) {
+            throw new ImageNotFoundException(String.format("The image with hash: %s is not found.", hash));
+        }
+        return new FileSystemResource(imagePath);
+    }
+
+    @Override
+    public Stream<String> findHashesStoredBefore(Instant storedBefore) {
+        if (!Files.isDirectory(rootLocation)) {
+            return Stream.empty();
+        }
+        try {
+            return Files.walk(rootLocation)
+                    .filter(Files::isRegularFile)
+                    .filter(imagePath -> !imagePath.getFileName().toString().endsWith(TEMP_FILE_SUFFIX))
+                    .filter(imagePath -> isStoredBefore(imagePath, storedBefore))
+                    .map(imagePath -> imagePath.getFileName().toString());
+        } catch (IOException e) {
+            String errorMsg = "The stored images cannot be listed";
+            log.error(errorMsg, e);
+            throw new ImageStorageException(errorMsg);
+        }
+    }
+
+    @Override
+    public boolean deleteIfStoredBefore(String hash, Instant storedBefore) {
+        Path imagePath = resolve(hash);
+        if (!isStoredBefore(imagePath, storedBefore)) {
+            return false;
+        }
+        try {
+            boolean isDeleted = Files.deleteIfExists(imagePath);
+            if (isDeleted) {
+                log.info("The image with hash: {} was successfully deleted", hash);
+            }
+            return isDeleted;
+        } catch (IOException e) {
+            String errorMsg = String.format("The image with hash: %s cannot be deleted", hash);
+            log.error(errorMsg, e);
+            throw new ImageStorageException(errorMsg);
+        }
+    }
+
+    private boolean refreshStoredAt(Path imagePath) throws IOException {
+        try {
+            Files.setLastModifiedTime(imagePath, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private boolean isStoredBefore(Path imagePath, Instant storedBefore) {
+        try {
+            return Files.getLastModifiedTime(imagePath).toInstant().isBefore(storedBefore);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path resolve(String hash) {
+        return rootLocation.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private String calculateHash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(HASH_ALGORITHM).digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.kopchak.worldoftoys.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+public interface ImageStorage {
+    String store(byte[] content);
+
+    Resource load(String hash);
+
+    Stream<String> findHashesStoredBefore(Instant storedBefore);
+
+    boolean deleteIfStoredBefore(String hash, Instant storedBefore);
+}
@@ -0,0 +1,31 @@
+package com.kopchak.worldoftoys.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeedImageImporter implements ApplicationRunner {
+    private final static String SEED_IMAGES_LOCATION = "classpath:images/*";
+    private final ImageStorage imageStorage;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Resource[] seedImages = new PathMatchingResourcePatternResolver().getResources(SEED_IMAGES_LOCATION);
+        for (Resource seedImage : seedImages) {
+            try (InputStream inputStream = seedImage.getInputStream()) {
+                imageStorage.store(inputStream.readAllBytes());
+            }
+        }
+        log.info("Imported {} seed images into the image storage", seedImages.length);
+    }
+}
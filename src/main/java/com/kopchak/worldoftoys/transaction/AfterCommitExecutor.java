@@ -0,0 +1,26 @@
+package com.kopchak.worldoftoys.transaction;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class AfterCommitExecutor {
+
+    /**
+     * Runs the action once the current transaction has committed, so in-memory caches and indexes never see
+     * changes that are later rolled back. Without an active transaction the action is run immediately.
+     */
+    public void execute(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -158,32 +158,109 @@ VALUES (1, 3),
        (30, 2),
        (30, 3);
 
-INSERT INTO image(id, name, type, image, product_id)
-VALUES (1, 'lyalka-klaymber1.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 1),
-       (2, 'lyalka-klaymber2.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 1),
-       (3, 'lyalka-klaymber3.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 1),
-       (4, 'lyalka-olenytsya.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 2),
-       (5, 'lyalka-rusalochka.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 3),
-       (6, 'lyalka-barbie1.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 4),
-       (7, 'lyalka-barbie2.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 4),
-       (8, 'konstruktor-battat.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 7),
-       (9, 'konstruktor-mega.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 8),
-       (10, 'konstruktor-animal.png', 'image/png',0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 9),
-       (11, 'konstruktor-animal1.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 9),
-       (12, 'masynka-pre-cool.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 12),
-       (13, 'masynka-pre-cool1.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 12),
-       (14, 'tovarnij-poizd.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 14),
-       (15, 'monopolia-nepereversenij.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 15),
-       (16, 'noris-morskij.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 16),
-       (17, 'noris-morskij1.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 16),
-       (18, 'pazl-u-dorozi.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 19),
-       (19, 'blaster-igraskovij.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 21),
-       (20, 'bsvydkostrilnij-blaster.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 23),
-       (21, 'vedmid-bilij.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 26),
-       (22, 'vedmid-bilij1.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 26),
-       (23, 'vedmid-bilij2.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 26),
-       (24, 'pingvin.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 28),
-       (25, 'edynorig.png', 'image/png', 0x78DAEB0CF073E7E592E2626060E0F5F4700902D2FC20CCC1022427DE8F3D08A414923D827C1918AAD418181A5A18187E01851A5E3030941A3030BC4A6060B09AC1C0205E306757A00D508229C9DBDD85E17F7BFF99FD401E67814764310303DF2C10666C9F2EEE0614642FF1F475657FCEC5232CC032C5E6ED23A0D05D4F17C71089CBA517367A39254A1CFB78DF72998B028BA0688873F3DA58476F5EDE38A7EF17524B642F3DBA74E3DA251117A7806E9376D5656D01F32EBDCFB690F5D8F4FF57BDFCBCF6E973627D95B7BFF2FAB7E1C1910093C2B4B7DB3D1C8F6ED3F2DA16925EDC7E2DF44D4742646CFCF9AD8E7517BE653D7016709D7F8FC7D642EBD2D699A2A9A92CDAADF3DC3DCF36EE3BFE6479F1B495E933D73DAB992B6CB3F49FFAC6901277174E2116E5C0F3950B8FE7DDB9B9255FF4BD54D4AE28978B575A6DBBCDE64875FEEAFB5CBF4CED44CC4EF36B852F591D058AEE7E539598DD74862576EE9ECFD21DFBBC03F558AFAB003DAA5AE21A51929258926A955C940AA4188C0C8C8C750D0D740D8D420C2DAD0CCDAC0C4CB40D0CAC0C0C8A0ED4DD43D1909B9F929956895B03F3DC6349400D1A700D2599B9A9C52589B905B8F584743CDF0BD42309D2139C9F56529E5894CA505E5EAE9799975D9C9C5890AA975F943EFB9D8D14501183A7AB9FCB3AA7842600F5F5C6F8, 30);
+INSERT INTO image(id, name, type, product_id)
+VALUES (1, 'lyalka-klaymber1.png', 'image/png', 1),
+       (2, 'lyalka-klaymber2.png', 'image/png', 1),
+       (3, 'lyalka-klaymber3.png', 'image/png', 1),
+       (4, 'lyalka-olenytsya.png', 'image/png', 2),
+       (5, 'lyalka-rusalochka.png', 'image/png', 3),
+       (6, 'lyalka-barbie1.png', 'image/png', 4),
+       (7, 'lyalka-barbie2.png', 'image/png', 4),
+       (8, 'konstruktor-battat.png', 'image/png', 7),
+       (9, 'konstruktor-mega.png', 'image/png', 8),
+       (10, 'konstruktor-animal.png', 'image/png', 9),
+       (11, 'konstruktor-animal1.png', 'image/png', 9),
+       (12, 'masynka-pre-cool.png', 'image/png', 12),
+       (13, 'masynka-pre-cool1.png', 'image/png', 12),
+       (14, 'tovarnij-poizd.png', 'image/png', 14),
+       (15, 'monopolia-nepereversenij.png', 'image/png', 15),
+       (16, 'noris-morskij.png', 'image/png', 16),
+       (17, 'noris-morskij1.png', 'image/png', 16),
+       (18, 'pazl-u-dorozi.png', 'image/png', 19),
+       (19, 'blaster-igraskovij.png', 'image/png', 21),
+       (20, 'bsvydkostrilnij-blaster.png', 'image/png', 23),
+       (21, 'vedmid-bilij.png', 'image/png', 26),
+       (22, 'vedmid-bilij1.png', 'image/png', 26),
+       (23, 'vedmid-bilij2.png', 'image/png', 26),
+       (24, 'pingvin.png', 'image/png', 28),
+       (25, 'edynorig.png', 'image/png', 30);
+
+INSERT INTO image_variant(id, image_id, size, type, hash, content_length)
+VALUES (1, 1, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (2, 1, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (3, 1, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (4, 2, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (5, 2, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (6, 2, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (7, 3, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (8, 3, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (9, 3, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (10, 4, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (11, 4, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (12, 4, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (13, 5, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (14, 5, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (15, 5, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (16, 6, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (17, 6, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (18, 6, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (19, 7, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (20, 7, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (21, 7, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (22, 8, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (23, 8, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (24, 8, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (25, 9, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (26, 9, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (27, 9, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (28, 10, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (29, 10, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (30, 10, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (31, 11, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (32, 11, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (33, 11, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (34, 12, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (35, 12, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (36, 12, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (37, 13, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (38, 13, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (39, 13, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (40, 14, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (41, 14, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (42, 14, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (43, 15, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (44, 15, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (45, 15, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (46, 16, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (47, 16, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (48, 16, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (49, 17, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (50, 17, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (51, 17, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (52, 18, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (53, 18, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (54, 18, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (55, 19, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (56, 19, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (57, 19, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (58, 20, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (59, 20, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (60, 20, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (61, 21, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (62, 21, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (63, 21, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (64, 22, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (65, 22, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (66, 22, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (67, 23, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (68, 23, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (69, 23, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (70, 24, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (71, 24, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (72, 24, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (73, 25, 'THUMBNAIL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (74, 25, 'MEDIUM', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563),
+       (75, 25, 'FULL', 'image/png', '68e209e37f0c7deeebe77a9631395e984861c815852fb73a37439298763e6dd1', 563);
 
 UPDATE product
 SET image_id =
@@ -0,0 +1,73 @@
+package com.kopchak.worldoftoys.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageContentCacheTest {
+    private final static long MAX_SIZE_BYTES = 1_000;
+    private final static long MAX_ENTRY_SIZE_BYTES = 200;
+    private final static String IMAGE_HASH = "hash";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageContentCache imageContentCache;
+    private AtomicInteger loadsAmount;
+    private Function<String, byte[]> imageContentLoader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        imageContentCache = new ImageContentCache(MAX_SIZE_BYTES, MAX_ENTRY_SIZE_BYTES, meterRegistry);
+        loadsAmount = new AtomicInteger();
+        imageContentLoader = hash -> {
+            loadsAmount.incrementAndGet();
+            return new byte[100];
+        };
+    }
+
+    @Test
+    public void get_RepeatedImageHash_LoadsImageContentOnce() {
+        byte[] firstImageContent = imageContentCache.get(IMAGE_HASH, imageContentLoader);
+        byte[] secondImageContent = imageContentCache.get(IMAGE_HASH, imageContentLoader);
+
+        assertThat(secondImageContent).isSameAs(firstImageContent);
+        assertThat(loadsAmount.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_DifferentImageHashes_LoadsEachImageContent() {
+        imageContentCache.get(IMAGE_HASH, imageContentLoader);
+        imageContentCache.get("another-hash", imageContentLoader);
+
+        assertThat(loadsAmount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void evictAll_CachedImageHash_ReloadsImageContent() {
+        imageContentCache.get(IMAGE_HASH, imageContentLoader);
+
+        imageContentCache.evictAll(List.of(IMAGE_HASH));
+        imageContentCache.get(IMAGE_HASH, imageContentLoader);
+
+        assertThat(loadsAmount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void isCacheable_ContentLengthUpToMaxEntrySize_ReturnsTrue() {
+        assertThat(imageContentCache.isCacheable(MAX_ENTRY_SIZE_BYTES)).isTrue();
+    }
+
+    @Test
+    public void isCacheable_ContentLengthAboveMaxEntrySizeOrUnknown_ReturnsFalse() {
+        assertThat(imageContentCache.isCacheable(MAX_ENTRY_SIZE_BYTES + 1)).isFalse();
+        assertThat(imageContentCache.isCacheable(null)).isFalse();
+    }
+}
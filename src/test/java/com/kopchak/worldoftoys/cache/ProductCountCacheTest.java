@@ -0,0 +1,64 @@
+package com.kopchak.worldoftoys.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCountCacheTest {
+    private final static Duration TTL = Duration.ofMinutes(1);
+    private final static long MAX_SIZE = 100;
+    private final static long PRODUCTS_AMOUNT = 4;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCountCache productCountCache;
+    private AtomicInteger loadsAmount;
+    private Function<ProductCountCacheKey, Long> countLoader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCountCache = new ProductCountCache(TTL, MAX_SIZE, meterRegistry);
+        loadsAmount = new AtomicInteger();
+        countLoader = key -> {
+            loadsAmount.incrementAndGet();
+            return PRODUCTS_AMOUNT;
+        };
+    }
+
+    @Test
+    public void get_EquivalentFilters_LoadsCountOnce() {
+        var firstKey = ProductCountCacheKey.of("Лялька", BigDecimal.valueOf(350), BigDecimal.ZERO,
+                List.of("ukraine", "china"), null, List.of(), "AVAILABLE");
+        var secondKey = ProductCountCacheKey.of("лялька", new BigDecimal("350.00"), null,
+                List.of("china", "ukraine"), List.of(), null, "available");
+
+        long firstCount = productCountCache.get(firstKey, countLoader);
+        long secondCount = productCountCache.get(secondKey, countLoader);
+
+        assertThat(secondKey).isEqualTo(firstKey);
+        assertThat(firstCount).isEqualTo(PRODUCTS_AMOUNT);
+        assertThat(secondCount).isEqualTo(PRODUCTS_AMOUNT);
+        assertThat(loadsAmount.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void evictAll_CachedCount_ReloadsCount() {
+        var key = ProductCountCacheKey.of(null, null, null, null, null, null, null);
+        productCountCache.get(key, countLoader);
+
+        productCountCache.evictAll();
+
+        assertThat(productCountCache.getIfPresent(key)).isNull();
+        productCountCache.get(key, countLoader);
+        assertThat(loadsAmount.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,70 @@
+package com.kopchak.worldoftoys.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripeCustomerCacheTest {
+    private final static String EMAIL = "user@example.com";
+    private final static String CUSTOMER_ID = "cus_1";
+
+    private StripeCustomerCache stripeCustomerCache;
+    private AtomicInteger loadsAmount;
+    private Function<String, Optional<String>> customerIdLoader;
+
+    @BeforeEach
+    void setUp() {
+        stripeCustomerCache = new StripeCustomerCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+        loadsAmount = new AtomicInteger();
+        customerIdLoader = email -> {
+            loadsAmount.incrementAndGet();
+            return Optional.of(CUSTOMER_ID);
+        };
+    }
+
+    @Test
+    public void get_RepeatedEmail_LoadsCustomerIdOnce() {
+        stripeCustomerCache.get(EMAIL, customerIdLoader);
+        Optional<String> cachedCustomerId = stripeCustomerCache.get(EMAIL, customerIdLoader);
+
+        assertThat(cachedCustomerId).contains(CUSTOMER_ID);
+        assertThat(loadsAmount).hasValue(1);
+    }
+
+    @Test
+    public void get_UnlinkedEmail_ReturnsEmptyOptionalWithoutCaching() {
+        Function<String, Optional<String>> emptyCustomerIdLoader = email -> {
+            loadsAmount.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(stripeCustomerCache.get(EMAIL, emptyCustomerIdLoader)).isEmpty();
+        assertThat(stripeCustomerCache.get(EMAIL, emptyCustomerIdLoader)).isEmpty();
+        assertThat(loadsAmount).hasValue(2);
+    }
+
+    @Test
+    public void put_NewCustomerId_ReturnsItWithoutLoading() {
+        stripeCustomerCache.put(EMAIL, CUSTOMER_ID);
+
+        assertThat(stripeCustomerCache.get(EMAIL, customerIdLoader)).contains(CUSTOMER_ID);
+        assertThat(loadsAmount).hasValue(0);
+    }
+
+    @Test
+    public void evict_CachedCustomerId_ReloadsCustomerIdOnNextGet() {
+        stripeCustomerCache.get(EMAIL, customerIdLoader);
+
+        stripeCustomerCache.evict(EMAIL);
+        stripeCustomerCache.get(EMAIL, customerIdLoader);
+
+        assertThat(loadsAmount).hasValue(2);
+    }
+}
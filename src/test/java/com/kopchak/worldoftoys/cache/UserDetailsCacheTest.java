@@ -0,0 +1,102 @@
+package com.kopchak.worldoftoys.cache;
+
+import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.domain.user.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+    private final static String USERNAME = "user@example.com";
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsCache userDetailsCache;
+    private AtomicInteger loadsAmount;
+    private Function<String, Optional<AppUser>> userLoader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(Duration.ofMinutes(1), 100, meterRegistry);
+        loadsAmount = new AtomicInteger();
+        userLoader = email -> {
+            loadsAmount.incrementAndGet();
+            return Optional.of(AppUser
+                    .builder()
+                    .id(1)
+                    .firstname("John")
+                    .email(email)
+                    .password("$2a$10$encodedPassword")
+                    .role(Role.ROLE_USER)
+                    .locked(false)
+                    .enabled(true)
+                    .build());
+        };
+    }
+
+    @Test
+    public void get_RepeatedUsername_LoadsUserOnce() {
+        userDetailsCache.get(USERNAME, userLoader);
+        Optional<AppUser> cachedUser = userDetailsCache.get(USERNAME, userLoader);
+
+        assertThat(cachedUser).map(AppUser::getEmail).contains(USERNAME);
+        assertThat(loadsAmount).hasValue(1);
+    }
+
+    @Test
+    public void get_CachedUserModifiedByCaller_ReturnsUnmodifiedCopy() {
+        AppUser firstUser = userDetailsCache.get(USERNAME, userLoader).orElseThrow();
+        firstUser.setPassword("$2a$10$changedPassword");
+        firstUser.setLocked(true);
+
+        AppUser secondUser = userDetailsCache.get(USERNAME, userLoader).orElseThrow();
+
+        assertThat(secondUser).isNotSameAs(firstUser);
+        assertThat(secondUser.getId()).isEqualTo(1);
+        assertThat(secondUser.getPassword()).isEqualTo("$2a$10$encodedPassword");
+        assertThat(secondUser.getRole()).isEqualTo(Role.ROLE_USER);
+        assertThat(secondUser.isAccountNonLocked()).isTrue();
+        assertThat(secondUser.isEnabled()).isTrue();
+        assertThat(loadsAmount).hasValue(1);
+    }
+
+    @Test
+    public void get_NonExistentUser_ReturnsEmptyOptionalWithoutCaching() {
+        Function<String, Optional<AppUser>> emptyUserLoader = email -> {
+            loadsAmount.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(userDetailsCache.get(USERNAME, emptyUserLoader)).isEmpty();
+        assertThat(userDetailsCache.get(USERNAME, emptyUserLoader)).isEmpty();
+        assertThat(loadsAmount).hasValue(2);
+    }
+
+    @Test
+    public void evict_CachedUser_ReloadsUserOnNextGet() {
+        userDetailsCache.get(USERNAME, userLoader);
+
+        userDetailsCache.evict(USERNAME);
+        userDetailsCache.get(USERNAME, userLoader);
+
+        assertThat(loadsAmount).hasValue(2);
+    }
+
+    @Test
+    public void get_CacheHitsAndMisses_AreExposedAsMetrics() {
+        userDetailsCache.get(USERNAME, userLoader);
+        userDetailsCache.get(USERNAME, userLoader);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "user-details").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "user-details").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+}
@@ -10,6 +10,7 @@ import com.kopchak.worldoftoys.dto.admin.category.CategoryIdDto;
 import com.kopchak.worldoftoys.dto.admin.category.CategoryNameDto;
 import com.kopchak.worldoftoys.dto.admin.order.FilteredOrdersPageDto;
 import com.kopchak.worldoftoys.dto.admin.order.FilteringOrderOptionsDto;
+import com.kopchak.worldoftoys.dto.admin.order.OrdersStatusUpdateDto;
 import com.kopchak.worldoftoys.dto.admin.order.StatusDto;
 import com.kopchak.worldoftoys.dto.admin.product.AddUpdateProductDto;
 import com.kopchak.worldoftoys.dto.admin.product.AdminProductDto;
@@ -484,6 +485,33 @@ class AdminPanelControllerTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    public void updateOrdersStatus_ReturnsNoContentStatus() throws Exception {
+        var ordersStatusUpdateDto = new OrdersStatusUpdateDto(List.of(ORDER_ID), statusDto);
+
+        doNothing().when(orderService).updateOrdersStatus(eq(ordersStatusUpdateDto));
+
+        ResultActions response = mockMvc.perform(patch("/api/v1/admin/orders")
+                .content(objectMapper.writeValueAsString(ordersStatusUpdateDto))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        response.andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void updateOrdersStatus_EmptyOrderIds_ReturnsBadRequestStatus() throws Exception {
+        var ordersStatusUpdateDto = new OrdersStatusUpdateDto(List.of(), statusDto);
+
+        ResultActions response = mockMvc.perform(patch("/api/v1/admin/orders")
+                .content(objectMapper.writeValueAsString(ordersStatusUpdateDto))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print());
+        verify(orderService, never()).updateOrdersStatus(any());
+    }
+
     private ExceptionDto getResponseStatusExceptionDto(HttpStatus httpStatus, String msg) {
         return ExceptionDto
                 .builder()
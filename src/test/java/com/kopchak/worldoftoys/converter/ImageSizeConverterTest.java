@@ -0,0 +1,23 @@
+package com.kopchak.worldoftoys.converter;
+
+import com.kopchak.worldoftoys.domain.image.ImageSize;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageSizeConverterTest {
+    private final ImageSizeConverter imageSizeConverter = new ImageSizeConverter();
+
+    @Test
+    public void convert_TurkishDefaultLocale_ReturnsImageSize() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertThat(imageSizeConverter.convert("thumbnail")).isEqualTo(ImageSize.THUMBNAIL);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
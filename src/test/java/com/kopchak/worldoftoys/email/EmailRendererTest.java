@@ -0,0 +1,106 @@
+package com.kopchak.worldoftoys.email;
+
+import com.kopchak.worldoftoys.domain.email.EmailType;
+import com.kopchak.worldoftoys.domain.email.confirm.factory.ConfirmEmailFactory;
+import com.kopchak.worldoftoys.domain.email.status.factory.StatusEmailFactory;
+import com.kopchak.worldoftoys.domain.order.OrderStatus;
+import com.kopchak.worldoftoys.domain.order.payment.PaymentStatus;
+import com.kopchak.worldoftoys.domain.token.confirm.ConfirmationTokenType;
+import com.kopchak.worldoftoys.dto.email.EmailContentDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class EmailRendererTest {
+    private final static String FIRSTNAME = "<John> & \"Jane\" O'Neil";
+    private final static String ORDER_ID = "a1b2c3";
+    private final static String CONFIRM_TOKEN = "confirm-token";
+
+    private ITemplateEngine templateEngine;
+    private EmailRenderer emailRenderer;
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(templateResolver);
+        templateEngine = mock(ITemplateEngine.class, delegatesTo(engine));
+        emailRenderer = new EmailRenderer(templateEngine);
+    }
+
+    @Test
+    public void renderStatusEmail_OrderStatus_RendersSameContentAsTemplateEngine() {
+        OrderStatus orderStatus = OrderStatus.AWAITING_FULFILMENT;
+        String expectedContent = processTemplate(new StatusEmailFactory().createStatusEmail(orderStatus, ORDER_ID));
+
+        EmailContentDto emailContent = emailRenderer.renderStatusEmail(FIRSTNAME, ORDER_ID, orderStatus);
+
+        assertThat(emailContent.subject()).isEqualTo("Order status");
+        assertThat(emailContent.content()).isEqualTo(expectedContent);
+    }
+
+    @Test
+    public void renderStatusEmail_PaymentStatus_RendersSameContentAsTemplateEngine() {
+        PaymentStatus paymentStatus = PaymentStatus.COMPLETE;
+        String expectedContent = processTemplate(new StatusEmailFactory().createStatusEmail(paymentStatus, ORDER_ID));
+
+        EmailContentDto emailContent = emailRenderer.renderStatusEmail(FIRSTNAME, ORDER_ID, paymentStatus);
+
+        assertThat(emailContent.subject()).isEqualTo("Order payment status");
+        assertThat(emailContent.content()).isEqualTo(expectedContent);
+    }
+
+    @Test
+    public void renderConfirmEmail_ActivationTokenType_RendersSameContentAsTemplateEngine() {
+        ConfirmationTokenType tokenType = ConfirmationTokenType.ACTIVATION;
+        String expectedContent = processTemplate(new ConfirmEmailFactory().createConfirmEmail(tokenType,
+                CONFIRM_TOKEN));
+
+        EmailContentDto emailContent = emailRenderer.renderConfirmEmail(FIRSTNAME, CONFIRM_TOKEN, tokenType);
+
+        assertThat(emailContent.subject()).isEqualTo("Confirm your email");
+        assertThat(emailContent.content()).isEqualTo(expectedContent);
+    }
+
+    @Test
+    public void renderStatusEmail_SameStatus_ProcessesTemplateOnce() {
+        OrderStatus orderStatus = OrderStatus.CANCELED;
+
+        EmailContentDto firstEmailContent = emailRenderer.renderStatusEmail(FIRSTNAME, ORDER_ID, orderStatus);
+        EmailContentDto secondEmailContent = emailRenderer.renderStatusEmail("Jane", "d4e5f6", orderStatus);
+
+        verify(templateEngine, times(1)).process(eq("email"), any(Context.class));
+        assertThat(firstEmailContent.content()).contains(ORDER_ID);
+        assertThat(secondEmailContent.content()).contains("Hi Jane,").contains("d4e5f6");
+    }
+
+    private String processTemplate(EmailType emailType) {
+        Context context = new Context();
+        context.setVariable("title", emailType.getTitle());
+        context.setVariable("name", FIRSTNAME);
+        context.setVariable("message", emailType.getMsg());
+        context.setVariable("link", emailType.getLink());
+        context.setVariable("linkName", emailType.getLinkName());
+        return templateEngine.process("email", context);
+    }
+}
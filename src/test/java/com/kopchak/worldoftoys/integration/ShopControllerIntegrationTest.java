@@ -6,6 +6,7 @@ import com.kopchak.worldoftoys.dto.product.FilteredProductDto;
 import com.kopchak.worldoftoys.dto.product.FilteredProductsPageDto;
 import com.kopchak.worldoftoys.dto.product.ProductDto;
 import com.kopchak.worldoftoys.dto.product.category.CategoryDto;
+import com.kopchak.worldoftoys.dto.product.category.CategoryFacetDto;
 import com.kopchak.worldoftoys.dto.product.category.FilteringCategoriesDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,17 +80,17 @@ public class ShopControllerIntegrationTest {
 
     @Test
     public void getFilteringProductCategories_RequestFilteringParams_ReturnsOkStatusAndFilteringProductCategoriesDto() throws Exception {
-        List<CategoryDto> expectedBrandCategories = new ArrayList<>() {{
-            add(new CategoryDto("Devilon", "devilon"));
-            add(new CategoryDto("Сurlimals", "сurlimals"));
+        List<CategoryFacetDto> expectedBrandCategories = new ArrayList<>() {{
+            add(new CategoryFacetDto("Devilon", "devilon", 1));
+            add(new CategoryFacetDto("Сurlimals", "сurlimals", 1));
         }};
-        List<CategoryDto> expectedOriginCategories = new ArrayList<>() {{
-            add(new CategoryDto("Китай", "china"));
-            add(new CategoryDto("Україна", "ukraine"));
+        List<CategoryFacetDto> expectedOriginCategories = new ArrayList<>() {{
+            add(new CategoryFacetDto("Китай", "china", 1));
+            add(new CategoryFacetDto("Україна", "ukraine", 1));
         }};
-        List<CategoryDto> expectedAgeCategories = new ArrayList<>() {{
-            add(new CategoryDto("від 1 до 3 років", "vid-1-do-3-rokiv"));
-            add(new CategoryDto("від 6 до 9 років", "vid-6-do-9-rokiv"));
+        List<CategoryFacetDto> expectedAgeCategories = new ArrayList<>() {{
+            add(new CategoryFacetDto("від 1 до 3 років", "vid-1-do-3-rokiv", 2));
+            add(new CategoryFacetDto("від 6 до 9 років", "vid-6-do-9-rokiv", 1));
         }};
         var expectedFilteringProductCategoriesDto = FilteringCategoriesDto
                 .builder()
@@ -109,19 +110,19 @@ public class ShopControllerIntegrationTest {
 
     @Test
     public void getFilteringProductCategories_ReturnsOkStatusAndFilteringProductCategoriesDto() throws Exception {
-        List<CategoryDto> expectedBrandCategories = new ArrayList<>() {{
-            add(new CategoryDto("Devilon", "devilon"));
-            add(new CategoryDto("Disney", "disney"));
-            add(new CategoryDto("CoComelon", "сoсomelon"));
-            add(new CategoryDto("Сurlimals", "сurlimals"));
+        List<CategoryFacetDto> expectedBrandCategories = new ArrayList<>() {{
+            add(new CategoryFacetDto("Devilon", "devilon", 1));
+            add(new CategoryFacetDto("Disney", "disney", 1));
+            add(new CategoryFacetDto("CoComelon", "сoсomelon", 1));
+            add(new CategoryFacetDto("Сurlimals", "сurlimals", 1));
         }};
-        List<CategoryDto> expectedOriginCategories = new ArrayList<>() {{
-            add(new CategoryDto("Китай", "china"));
-            add(new CategoryDto("Україна", "ukraine"));
+        List<CategoryFacetDto> expectedOriginCategories = new ArrayList<>() {{
+            add(new CategoryFacetDto("Китай", "china", 3));
+            add(new CategoryFacetDto("Україна", "ukraine", 1));
         }};
-        List<CategoryDto> expectedAgeCategories = new ArrayList<>() {{
-            add(new CategoryDto("від 1 до 3 років", "vid-1-do-3-rokiv"));
-            add(new CategoryDto("від 6 до 9 років", "vid-6-do-9-rokiv"));
+        List<CategoryFacetDto> expectedAgeCategories = new ArrayList<>() {{
+            add(new CategoryFacetDto("від 1 до 3 років", "vid-1-do-3-rokiv", 3));
+            add(new CategoryFacetDto("від 6 до 9 років", "vid-6-do-9-rokiv", 2));
         }};
         var expectedFilteringProductCategoriesDto = FilteringCategoriesDto
                 .builder()
@@ -0,0 +1,162 @@
+package com.kopchak.worldoftoys.repository;
+
+import com.kopchak.worldoftoys.domain.image.Image;
+import com.kopchak.worldoftoys.domain.image.ImageSize;
+import com.kopchak.worldoftoys.domain.image.ImageVariant;
+import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.domain.product.category.AgeCategory;
+import com.kopchak.worldoftoys.domain.product.category.BrandCategory;
+import com.kopchak.worldoftoys.domain.product.category.OriginCategory;
+import com.kopchak.worldoftoys.domain.token.auth.AuthTokenType;
+import com.kopchak.worldoftoys.domain.token.auth.AuthenticationToken;
+import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.repository.product.ProductRepository;
+import com.kopchak.worldoftoys.repository.token.AuthTokenRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.kopchak.worldoftoys.repository.JdbcBatchingTest$InsertStatementCounter"
+})
+@ActiveProfiles("integrationtest")
+class JdbcBatchingTest {
+    private final static int IMAGES_AMOUNT = 5;
+    private final static int AUTH_TOKENS_AMOUNT = 10;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    AuthTokenRepository authTokenRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        InsertStatementCounter.clear();
+    }
+
+    @Test
+    public void saveAndFlush_ProductWithImages_BatchesImageInserts() {
+        Product product = buildProduct();
+
+        productRepository.saveAndFlush(product);
+
+        int imageVariantsAmount = (IMAGES_AMOUNT + 1) * ImageSize.values().length;
+        assertThat(product.getId()).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + (IMAGES_AMOUNT + 1) + imageVariantsAmount);
+        assertThat(InsertStatementCounter.count("product")).isEqualTo(1);
+        assertThat(InsertStatementCounter.count("image")).isEqualTo(1);
+        assertThat(InsertStatementCounter.count("image_variant")).isEqualTo(1);
+    }
+
+    @Test
+    public void saveAllAndFlush_AuthTokens_BatchesAuthTokenInserts() {
+        AppUser user = entityManager.getReference(AppUser.class, 1000);
+        List<AuthenticationToken> authTokens = new ArrayList<>();
+        for (int i = 0; i < AUTH_TOKENS_AMOUNT; i++) {
+            authTokens.add(AuthenticationToken
+                    .builder()
+                    .tokenHash(String.format("%064d", i))
+                    .tokenType(i % 2 == 0 ? AuthTokenType.ACCESS : AuthTokenType.REFRESH)
+                    .expiresAt(LocalDateTime.now().plusHours(1))
+                    .user(user)
+                    .build());
+        }
+
+        authTokenRepository.saveAllAndFlush(authTokens);
+
+        assertThat(authTokens).allSatisfy(authToken -> assertThat(authToken.getId()).isNotNull());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(AUTH_TOKENS_AMOUNT);
+        assertThat(InsertStatementCounter.count("authentication_token")).isEqualTo(1);
+    }
+
+    private Product buildProduct() {
+        Product product = Product
+                .builder()
+                .name("Конструктор Пожежна станція")
+                .slug("konstruktor-pozhezhna-stantsiya")
+                .description("Конструктор для дітей")
+                .price(BigDecimal.valueOf(1200))
+                .availableQuantity(BigInteger.TEN)
+                .isAvailable(true)
+                .originCategory(entityManager.getReference(OriginCategory.class, 1000))
+                .brandCategory(entityManager.getReference(BrandCategory.class, 1000))
+                .ageCategories(Set.of(entityManager.getReference(AgeCategory.class, 1000)))
+                .build();
+        Set<Image> images = new LinkedHashSet<>();
+        for (int i = 0; i < IMAGES_AMOUNT; i++) {
+            images.add(buildImage(product, "konstruktor" + i + ".png"));
+        }
+        product.setMainImage(buildImage(product, "konstruktor.png"));
+        product.setImages(images);
+        return product;
+    }
+
+    private Image buildImage(Product product, String name) {
+        Image image = Image.builder().name(name).type("image/png").product(product).build();
+        for (ImageSize size : ImageSize.values()) {
+            image.getVariants().add(ImageVariant
+                    .builder()
+                    .size(size)
+                    .type("image/png")
+                    .hash("0".repeat(64))
+                    .contentLength(2L)
+                    .image(image)
+                    .build());
+        }
+        return image;
+    }
+
+    public static class InsertStatementCounter implements StatementInspector {
+        private final static ConcurrentHashMap<String, AtomicInteger> INSERT_STATEMENTS = new ConcurrentHashMap<>();
+
+        static int count(String table) {
+            AtomicInteger counter = INSERT_STATEMENTS.get(table);
+            return counter == null ? 0 : counter.get();
+        }
+
+        static void clear() {
+            INSERT_STATEMENTS.clear();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            String normalizedSql = sql.trim().toLowerCase(Locale.ROOT);
+            if (normalizedSql.startsWith("insert into ")) {
+                String table = normalizedSql.substring("insert into ".length()).split("[\\s(]", 2)[0];
+                INSERT_STATEMENTS.computeIfAbsent(table, key -> new AtomicInteger()).incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
@@ -44,13 +44,21 @@ class CartItemRepositoryTest {
     }
 
     @Test
-    public void deleteAllById_ReturnsCartItemSet() {
-        Set<CartItem> cartItems = cartItemRepository.deleteAllById_User(user);
-        Set<CartItemDto> cartItemDtos = cartItemRepository.findAllUserCartItems(user);
+    public void findAllUserCartItemsWithProducts_ReturnsCartItemSet() {
+        Set<CartItem> cartItems = cartItemRepository.findAllUserCartItemsWithProducts(user);
 
         assertThat(cartItems).isNotNull();
-        assertThat(cartItems).isNotEmpty();
         assertThat(cartItems.size()).isEqualTo(2);
+        assertThat(cartItems).extracting(cartItem -> cartItem.getId().getProduct().getId())
+                .containsExactlyInAnyOrder(1002, 1004);
+    }
+
+    @Test
+    public void deleteAllUserCartItems_ReturnsDeletedCartItemsAmount() {
+        int deletedCartItemsAmount = cartItemRepository.deleteAllUserCartItems(user);
+        Set<CartItemDto> cartItemDtos = cartItemRepository.findAllUserCartItems(user);
+
+        assertThat(deletedCartItemsAmount).isEqualTo(2);
         assertThat(cartItemDtos).isNotNull();
         assertThat(cartItemDtos).isEmpty();
     }
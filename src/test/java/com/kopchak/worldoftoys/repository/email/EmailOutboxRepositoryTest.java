@@ -0,0 +1,79 @@
+package com.kopchak.worldoftoys.repository.email;
+
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxMessage;
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("integrationtest")
+class EmailOutboxRepositoryTest {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    private LocalDateTime now;
+    private EmailOutboxMessage dueMessage;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        dueMessage = emailOutboxRepository.save(buildMessage(now.minusMinutes(1), EmailOutboxStatus.PENDING));
+        emailOutboxRepository.save(buildMessage(now.plusMinutes(5), EmailOutboxStatus.PENDING));
+        emailOutboxRepository.save(buildMessage(now.minusMinutes(1), EmailOutboxStatus.FAILED));
+    }
+
+    @Test
+    public void findDueMessages_PendingAndFutureMessages_ReturnsOnlyDuePendingMessages() {
+        //Act
+        List<EmailOutboxMessage> dueMessages = emailOutboxRepository.findDueMessages(now, PageRequest.of(0, 10));
+
+        //Assert
+        assertThat(dueMessages).extracting(EmailOutboxMessage::getId).containsExactly(dueMessage.getId());
+    }
+
+    @Test
+    public void countByStatus_PendingStatus_ReturnsAmountOfPendingMessages() {
+        //Act
+        long pendingMessagesAmount = emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+
+        //Assert
+        assertThat(pendingMessagesAmount).isEqualTo(2);
+    }
+
+    @Test
+    public void claimMessage_SameAttempts_ClaimsMessageOnlyOnce() {
+        //Arrange
+        LocalDateTime leaseExpiresAt = now.plusMinutes(5);
+
+        //Act
+        int firstClaimedAmount = emailOutboxRepository.claimMessage(dueMessage.getId(), 0, leaseExpiresAt);
+        int secondClaimedAmount = emailOutboxRepository.claimMessage(dueMessage.getId(), 0, leaseExpiresAt);
+
+        //Assert
+        assertThat(firstClaimedAmount).isEqualTo(1);
+        assertThat(secondClaimedAmount).isEqualTo(0);
+        assertThat(emailOutboxRepository.findDueMessages(now, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    private EmailOutboxMessage buildMessage(LocalDateTime nextAttemptAt, EmailOutboxStatus status) {
+        return EmailOutboxMessage
+                .builder()
+                .recipient("john.doe@example.com")
+                .subject("Subject")
+                .content("Content")
+                .status(status)
+                .nextAttemptAt(nextAttemptAt)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.kopchak.worldoftoys.repository.order;
+
+import com.kopchak.worldoftoys.domain.order.Order;
+import com.kopchak.worldoftoys.domain.order.details.OrderDetails;
+import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.repository.order.impl.OrderDetailsBatchRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("integrationtest")
+@Import(OrderDetailsBatchRepositoryImpl.class)
+class OrderDetailsBatchRepositoryTest {
+    private final static String ORDER_ID = "4c980930-16eb-41cd-b998-29d03118d67c";
+
+    @Autowired
+    OrderDetailsBatchRepository orderDetailsBatchRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void insertAll_InsertsOrderDetails() {
+        Order order = Order.builder().id(ORDER_ID).build();
+        List<OrderDetails> orderDetails = List.of(buildOrderDetails(order, 1002, BigInteger.ONE),
+                buildOrderDetails(order, 1004, BigInteger.valueOf(4)));
+
+        orderDetailsBatchRepository.insertAll(orderDetails);
+
+        List<Map<String, Object>> insertedOrderDetails = jdbcTemplate.queryForList("SELECT product_id, quantity " +
+                "FROM order_details WHERE order_id = ? AND product_id IN (1002, 1004) ORDER BY product_id", ORDER_ID);
+        assertThat(insertedOrderDetails).extracting(row -> ((Number) row.get("PRODUCT_ID")).intValue())
+                .containsExactly(1002, 1004);
+        assertThat(insertedOrderDetails).extracting(row -> ((Number) row.get("QUANTITY")).intValue())
+                .containsExactly(1, 4);
+    }
+
+    private OrderDetails buildOrderDetails(Order order, Integer productId, BigInteger quantity) {
+        return OrderDetails.builder().order(order).product(Product.builder().id(productId).build())
+                .quantity(quantity).build();
+    }
+}
@@ -4,6 +4,7 @@ import com.kopchak.worldoftoys.domain.order.Order;
 import com.kopchak.worldoftoys.domain.order.OrderStatus;
 import com.kopchak.worldoftoys.domain.order.payment.PaymentStatus;
 import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.dto.order.OrderStatusRecipientDto;
 import com.kopchak.worldoftoys.repository.specifications.OrderSpecifications;
 import com.kopchak.worldoftoys.repository.specifications.impl.OrderSpecificationsImpl;
 import jakarta.transaction.Transactional;
@@ -19,6 +20,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -119,4 +121,33 @@ class OrderRepositoryTest {
         assertThat(returnedPaymentStatusSet).isNotNull();
         assertThat(returnedPaymentStatusSet).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findOrderStatusRecipients_ExistentAndNonExistentOrderIds_ReturnsExistentOrders() {
+        var expectedOrders = List.of(new OrderStatusRecipientDto(EXISTENT_ORDER_ID, OrderStatus.AWAITING_PAYMENT,
+                "john.doe@example.com", "John"));
+
+        var returnedOrders = orderRepository.findOrderStatusRecipients(List.of(EXISTENT_ORDER_ID,
+                "non-existent-order-id"));
+
+        assertThat(returnedOrders).isEqualTo(expectedOrders);
+    }
+
+    @Test
+    public void updateOrderStatuses_OrderWithExpectedStatus_UpdatesOrderStatus() {
+        int updatedOrdersAmount = orderRepository.updateOrderStatuses(List.of(EXISTENT_ORDER_ID),
+                OrderStatus.AWAITING_PAYMENT, OrderStatus.AWAITING_FULFILMENT);
+
+        assertThat(updatedOrdersAmount).isEqualTo(1);
+        assertThat(orderRepository.findAllOrderStatuses()).isEqualTo(Set.of(OrderStatus.AWAITING_FULFILMENT));
+    }
+
+    @Test
+    public void updateOrderStatuses_OrderWithUnexpectedStatus_DoesNotUpdateOrder() {
+        int updatedOrdersAmount = orderRepository.updateOrderStatuses(List.of(EXISTENT_ORDER_ID),
+                OrderStatus.SHIPPED, OrderStatus.AWAITING_FULFILMENT);
+
+        assertThat(updatedOrdersAmount).isEqualTo(0);
+        assertThat(orderRepository.findAllOrderStatuses()).isEqualTo(Set.of(OrderStatus.AWAITING_PAYMENT));
+    }
+}
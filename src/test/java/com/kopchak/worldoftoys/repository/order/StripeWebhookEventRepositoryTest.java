@@ -0,0 +1,114 @@
+package com.kopchak.worldoftoys.repository.order;
+
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEvent;
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEventStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("integrationtest")
+class StripeWebhookEventRepositoryTest {
+    private final static String ORDER_ID = "order-id";
+
+    @Autowired
+    private StripeWebhookEventRepository webhookEventRepository;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        webhookEventRepository.save(buildEvent("evt_2", now.minusMinutes(1), now.minusMinutes(1),
+                StripeWebhookEventStatus.PENDING));
+        webhookEventRepository.save(buildEvent("evt_1", now.minusMinutes(2), now.minusMinutes(1),
+                StripeWebhookEventStatus.PENDING));
+        webhookEventRepository.save(buildEvent("evt_3", now.minusMinutes(3), now.plusMinutes(5),
+                StripeWebhookEventStatus.PENDING));
+        webhookEventRepository.save(buildEvent("evt_4", now.minusDays(10), now.minusDays(10),
+                StripeWebhookEventStatus.PROCESSED));
+    }
+
+    @Test
+    public void findDueEvents_PendingAndFutureEvents_ReturnsDueEventsInReceivingOrder() {
+        //Act
+        List<StripeWebhookEvent> dueEvents = webhookEventRepository.findDueEvents(now, PageRequest.of(0, 10));
+
+        //Assert
+        assertThat(dueEvents).extracting(StripeWebhookEvent::getId).containsExactly("evt_1", "evt_2");
+    }
+
+    @Test
+    public void claimEvent_SameAttempts_ClaimsEventOnlyOnce() {
+        //Arrange
+        LocalDateTime leaseExpiresAt = now.plusMinutes(5);
+
+        //Act
+        int firstClaimedAmount = webhookEventRepository.claimEvent("evt_1", 0, leaseExpiresAt);
+        int secondClaimedAmount = webhookEventRepository.claimEvent("evt_1", 0, leaseExpiresAt);
+
+        //Assert
+        assertThat(firstClaimedAmount).isEqualTo(1);
+        assertThat(secondClaimedAmount).isEqualTo(0);
+    }
+
+    @Test
+    public void existsByOrderIdAndStatusAndReceivedAtBefore_EarlierPendingEvent_ReturnsTrue() {
+        //Act
+        boolean hasEarlierEvent = webhookEventRepository.existsByOrderIdAndStatusAndReceivedAtBefore(ORDER_ID,
+                StripeWebhookEventStatus.PENDING, now.minusMinutes(1));
+        boolean hasEarlierThanFirstEvent = webhookEventRepository.existsByOrderIdAndStatusAndReceivedAtBefore(
+                ORDER_ID, StripeWebhookEventStatus.PENDING, now.minusMinutes(3));
+
+        //Assert
+        assertThat(hasEarlierEvent).isTrue();
+        assertThat(hasEarlierThanFirstEvent).isFalse();
+    }
+
+    @Test
+    public void saveAndFlush_DuplicateEventId_ThrowsDataIntegrityViolationException() {
+        //Arrange
+        StripeWebhookEvent duplicateEvent = buildEvent("evt_4", now, now, StripeWebhookEventStatus.PENDING);
+
+        //Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> webhookEventRepository.saveAndFlush(duplicateEvent));
+    }
+
+    @Test
+    public void deleteProcessedEvents_OldProcessedEvent_DeletesOnlyProcessedEvents() {
+        //Act
+        int deletedEventsAmount = webhookEventRepository.deleteProcessedEvents(now.minusDays(7));
+
+        //Assert
+        assertThat(deletedEventsAmount).isEqualTo(1);
+        assertThat(webhookEventRepository.existsById("evt_4")).isFalse();
+        assertThat(webhookEventRepository.countByStatus(StripeWebhookEventStatus.PENDING)).isEqualTo(3);
+    }
+
+    private StripeWebhookEvent buildEvent(String id, LocalDateTime receivedAt, LocalDateTime nextAttemptAt,
+                                          StripeWebhookEventStatus status) {
+        return StripeWebhookEvent
+                .builder()
+                .id(id)
+                .type("checkout.session.completed")
+                .orderId(ORDER_ID)
+                .sessionId("cs_" + id)
+                .sessionPaymentStatus("paid")
+                .amountTotal(100000L)
+                .status(status)
+                .receivedAt(receivedAt)
+                .nextAttemptAt(nextAttemptAt)
+                .build();
+    }
+}
@@ -4,10 +4,14 @@ import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.product.category.BrandCategory;
 import com.kopchak.worldoftoys.domain.product.category.OriginCategory;
 import com.kopchak.worldoftoys.domain.product.category.ProductCategory;
+import com.kopchak.worldoftoys.dto.product.category.CategoryFacetDto;
+import com.kopchak.worldoftoys.dto.product.category.FilteringCategoriesDto;
 import com.kopchak.worldoftoys.mapper.product.CategoryMapperImpl;
 import com.kopchak.worldoftoys.repository.product.impl.CategoryRepositoryImpl;
 import com.kopchak.worldoftoys.repository.specifications.ProductSpecifications;
 import com.kopchak.worldoftoys.repository.specifications.impl.ProductSpecificationsImpl;
+import com.kopchak.worldoftoys.search.ProductSearchIndex;
+import com.kopchak.worldoftoys.search.ProductSearchIndexInitializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,7 +30,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @ActiveProfiles("integrationtest")
-@Import({ProductSpecificationsImpl.class, CategoryRepositoryImpl.class, CategoryMapperImpl.class})
+@Import({ProductSpecificationsImpl.class, ProductSearchIndex.class, ProductSearchIndexInitializer.class,
+        CategoryRepositoryImpl.class, CategoryMapperImpl.class})
 class CategoryRepositoryTest {
     @Autowired
     CategoryRepository categoryRepository;
@@ -123,34 +128,33 @@ class CategoryRepositoryTest {
     }
 
     @Test
-    public void findUniqueBrandCategoryList_ReturnsListOfProductsCategory() {
-        var brandCategoryList = categoryRepository.findUniqueBrandCategoryList(productSpecification);
-
-        assertThat(brandCategoryList).isNotNull();
-        assertThat(brandCategoryList).isNotEmpty();
-        assertThat(brandCategoryList.size()).isEqualTo(1);
-        assertThat(brandCategoryList.get(0).getId()).isEqualTo(1000);
-    }
-
-    @Test
-    public void findUniqueOriginCategoryList_ReturnsListOfProductsCategory() {
-        var originCategoryList = categoryRepository.findUniqueOriginCategoryList(productSpecification);
-
-        assertThat(originCategoryList).isNotNull();
-        assertThat(originCategoryList).isNotEmpty();
-        assertThat(originCategoryList.size()).isEqualTo(1);
-        assertThat(originCategoryList.get(0).getId()).isEqualTo(1000);
+    public void findCategoryFacets_AllCriteriaSpecification_ReturnsFilteringCategoriesDto() {
+        var expectedFilteringCategoriesDto = FilteringCategoriesDto
+                .builder()
+                .brandCategories(List.of(new CategoryFacetDto("CoComelon", "сoсomelon", 1)))
+                .originCategories(List.of(new CategoryFacetDto("Китай", "china", 1)))
+                .ageCategories(List.of(new CategoryFacetDto("від 1 до 3 років", "vid-1-do-3-rokiv", 1),
+                        new CategoryFacetDto("від 6 до 9 років", "vid-6-do-9-rokiv", 1)))
+                .build();
+
+        var actualFilteringCategoriesDto = categoryRepository.findCategoryFacets(productSpecification);
+
+        assertThat(actualFilteringCategoriesDto).isEqualTo(expectedFilteringCategoriesDto);
     }
 
     @Test
-    public void findUniqueAgeCategoryList_ReturnsListOfProductsCategory() {
-        var ageCategoryList = categoryRepository.findUniqueAgeCategoryList(productSpecification);
-
-        assertThat(ageCategoryList).isNotNull();
-        assertThat(ageCategoryList).isNotEmpty();
-        assertThat(ageCategoryList.size()).isEqualTo(2);
-        assertThat(ageCategoryList.get(0).getId()).isEqualTo(1001);
-        assertThat(ageCategoryList.get(1).getId()).isEqualTo(1002);
+    public void findCategoryFacets_AgeCategorySpecification_ReturnsDistinctProductsAmountPerCategory() {
+        Specification<Product> ageCategorySpecification = productSpecifications.filterByProductNamePriceAndCategories(
+                null, null, null, null, null, List.of("vid-1-do-3-rokiv", "vid-6-do-9-rokiv"), null);
+
+        var actualFilteringCategoriesDto = categoryRepository.findCategoryFacets(ageCategorySpecification);
+
+        assertThat(actualFilteringCategoriesDto.originCategories()).containsExactly(
+                new CategoryFacetDto("Китай", "china", 2), new CategoryFacetDto("Україна", "ukraine", 1));
+        assertThat(actualFilteringCategoriesDto.ageCategories()).containsExactly(
+                new CategoryFacetDto("від 1 до 3 років", "vid-1-do-3-rokiv", 3),
+                new CategoryFacetDto("від 6 до 9 років", "vid-6-do-9-rokiv", 2));
+        assertThat(actualFilteringCategoriesDto.brandCategories()).hasSize(3);
     }
 
     @Test
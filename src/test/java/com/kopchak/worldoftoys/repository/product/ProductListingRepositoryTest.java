@@ -0,0 +1,158 @@
+package com.kopchak.worldoftoys.repository.product;
+
+import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.dto.product.ProductCursorDto;
+import com.kopchak.worldoftoys.dto.product.ProductListingDto;
+import com.kopchak.worldoftoys.repository.product.impl.ProductListingRepositoryImpl;
+import com.kopchak.worldoftoys.repository.specifications.ProductSpecifications;
+import com.kopchak.worldoftoys.repository.specifications.impl.ProductSpecificationsImpl;
+import com.kopchak.worldoftoys.search.ProductSearchIndex;
+import com.kopchak.worldoftoys.search.ProductSearchIndexInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("integrationtest")
+@Import({ProductSpecificationsImpl.class, ProductSearchIndex.class, ProductSearchIndexInitializer.class,
+        ProductListingRepositoryImpl.class})
+class ProductListingRepositoryTest {
+    @Autowired
+    ProductListingRepository productListingRepository;
+
+    @Autowired
+    ProductSpecifications productSpecifications;
+
+    @Test
+    public void findAll_AllCriteriaSpecification_ReturnsPageOfProductListingDto() {
+        String productName = "Лялька";
+        BigDecimal minPrice = BigDecimal.valueOf(350);
+        BigDecimal maxPrice = BigDecimal.valueOf(1000);
+        List<String> originCategories = List.of("china", "ukraine");
+        List<String> brandCategories = List.of("сurlimals", "devilon");
+        List<String> ageCategories = List.of("vid-1-do-3-rokiv");
+        String priceAscSortOrder = "asc";
+        String availability = "available";
+
+        Specification<Product> productSpecification = productSpecifications.filterByAllCriteria(productName,
+                minPrice, maxPrice, originCategories, brandCategories, ageCategories, priceAscSortOrder, availability);
+        Pageable pageable = PageRequest.of(0, 5);
+
+        Page<ProductListingDto> returnedProductPage = productListingRepository.findAll(productSpecification, pageable);
+
+        var expectedProductListingDto = new ProductListingDto(1002, "Лялька Даринка", "lyalka-darynka",
+                BigDecimal.valueOf(900), BigInteger.valueOf(200), true, null, null, null);
+
+        assertThat(returnedProductPage.getTotalElements()).isEqualTo(1);
+        assertThat(returnedProductPage.getTotalPages()).isEqualTo(1);
+        assertThat(returnedProductPage.getContent()).hasSize(1);
+        assertThat(returnedProductPage.getContent().get(0))
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(expectedProductListingDto);
+    }
+
+    @Test
+    public void findAll_CriteriaSpecificationWithDescPriceSortOrder_ReturnsPageOfProductListingDto() {
+        String priceDescSortOrder = "desc";
+
+        Specification<Product> productSpecification = productSpecifications.filterByAllCriteria(null,
+                null, null, null, null, null,
+                priceDescSortOrder, null);
+        Pageable pageable = PageRequest.of(0, 3);
+
+        Page<ProductListingDto> returnedProductPage = productListingRepository.findAll(productSpecification, pageable);
+
+        assertThat(returnedProductPage.getTotalElements()).isEqualTo(4);
+        assertThat(returnedProductPage.getTotalPages()).isEqualTo(2);
+        assertThat(returnedProductPage.getContent()).extracting(ProductListingDto::name)
+                .containsExactly("Лялька Даринка", "Лялька Клаймбер", "Лялька Русалочка");
+    }
+
+    @Test
+    public void findAll_ProductWithMainImage_ReturnsMainImageColumns() {
+        Specification<Product> productSpecification = productSpecifications.filterByAllCriteria("Клаймбер",
+                null, null, null, null, null, null, null);
+
+        Page<ProductListingDto> returnedProductPage =
+                productListingRepository.findAll(productSpecification, PageRequest.of(0, 5));
+
+        assertThat(returnedProductPage.getContent()).hasSize(1);
+        assertThat(returnedProductPage.getContent().get(0).mainImageId()).isEqualTo(1);
+        assertThat(returnedProductPage.getContent().get(0).mainImageName()).isEqualTo("lyalka-klaymber1.png");
+        assertThat(returnedProductPage.getContent().get(0).mainImageType()).isEqualTo("image/png");
+    }
+
+    @Test
+    public void findAll_ProductsMatchingSeveralAgeCategories_ReturnsDistinctProducts() {
+        List<String> ageCategories = List.of("vid-1-do-3-rokiv", "vid-6-do-9-rokiv");
+
+        Specification<Product> productSpecification = productSpecifications.filterByAllCriteria(null,
+                null, null, null, null, ageCategories, null, null);
+
+        Page<ProductListingDto> returnedProductPage =
+                productListingRepository.findAll(productSpecification, PageRequest.of(0, 5));
+
+        assertThat(returnedProductPage.getTotalElements()).isEqualTo(3);
+        assertThat(returnedProductPage.getContent()).extracting(ProductListingDto::id)
+                .containsExactly(1001, 1002, 1003);
+    }
+
+    @Test
+    public void findSlice_AscPriceSortOrderAfterCursor_ReturnsNextProductsSlice() {
+        Specification<Product> filterSpecification = productSpecifications.filterByAllCriteria(null,
+                null, null, null, null, null, "asc", null);
+        ProductCursorDto cursor = new ProductCursorDto("asc", BigDecimal.valueOf(550), 1003);
+
+        Slice<ProductListingDto> returnedProductSlice = productListingRepository.findSlice(
+                filterSpecification.and(productSpecifications.isAfterCursor(cursor)), 1);
+
+        assertThat(returnedProductSlice.hasNext()).isTrue();
+        assertThat(returnedProductSlice.getContent()).extracting(ProductListingDto::id).containsExactly(1001);
+    }
+
+    @Test
+    public void findSlice_LastProductsWithoutPriceSortOrder_ReturnsSliceWithoutNext() {
+        Specification<Product> filterSpecification = productSpecifications.filterByAllCriteria(null,
+                null, null, null, null, null, null, null);
+        ProductCursorDto cursor = new ProductCursorDto("", null, 1002);
+
+        Slice<ProductListingDto> returnedProductSlice = productListingRepository.findSlice(
+                filterSpecification.and(productSpecifications.isAfterCursor(cursor)), 5);
+
+        assertThat(returnedProductSlice.hasNext()).isFalse();
+        assertThat(returnedProductSlice.getContent()).extracting(ProductListingDto::id).containsExactly(1003, 1004);
+    }
+
+    @Test
+    public void count_ProductsMatchingSeveralAgeCategories_ReturnsDistinctProductsAmount() {
+        List<String> ageCategories = List.of("vid-1-do-3-rokiv", "vid-6-do-9-rokiv");
+
+        Specification<Product> productSpecification = productSpecifications.filterByAllCriteria(null,
+                null, null, null, null, ageCategories, "desc", null);
+
+        assertThat(productListingRepository.count(productSpecification)).isEqualTo(3);
+    }
+
+    @Test
+    public void countUpTo_LimitLessThanMatchingProductsAmount_ReturnsLimit() {
+        Specification<Product> productSpecification = productSpecifications.filterByAllCriteria(null,
+                null, null, null, null, null, "asc", null);
+
+        assertThat(productListingRepository.countUpTo(productSpecification, 2)).isEqualTo(2);
+        assertThat(productListingRepository.countUpTo(productSpecification, 10)).isEqualTo(4);
+    }
+}
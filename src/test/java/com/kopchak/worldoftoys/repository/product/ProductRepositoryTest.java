@@ -3,6 +3,8 @@ package com.kopchak.worldoftoys.repository.product;
 import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.repository.specifications.ProductSpecifications;
 import com.kopchak.worldoftoys.repository.specifications.impl.ProductSpecificationsImpl;
+import com.kopchak.worldoftoys.search.ProductSearchIndex;
+import com.kopchak.worldoftoys.search.ProductSearchIndexInitializer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -22,7 +24,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @ActiveProfiles("integrationtest")
-@Import(ProductSpecificationsImpl.class)
+@Import({ProductSpecificationsImpl.class, ProductSearchIndex.class, ProductSearchIndexInitializer.class})
 class ProductRepositoryTest {
     @Autowired
     ProductRepository productRepository;
@@ -0,0 +1,135 @@
+package com.kopchak.worldoftoys.repository.product;
+
+import com.kopchak.worldoftoys.dto.product.ProductStockDto;
+import com.kopchak.worldoftoys.repository.product.impl.ProductStockRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("integrationtest")
+@Import(ProductStockRepositoryImpl.class)
+class ProductStockRepositoryTest {
+    private final static int THREADS_AMOUNT = 16;
+    private final static int ATTEMPTS_PER_THREAD = 25;
+    private final static String RESTORE_QUANTITY_SQL = "UPDATE product SET available_quantity = ? WHERE id = ?";
+
+    @Autowired
+    ProductStockRepository productStockRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void decreaseAvailableQuantities_EnoughQuantity_ReturnsEmptySet() {
+        Map<Integer, BigInteger> quantities = Map.of(1002, BigInteger.TEN, 1004, BigInteger.ONE);
+
+        Set<Integer> outOfStockProductIds = productStockRepository.decreaseAvailableQuantities(quantities);
+
+        assertThat(outOfStockProductIds).isEmpty();
+        assertThat(findAvailableQuantity(1002)).isEqualTo(190);
+        assertThat(findAvailableQuantity(1004)).isEqualTo(149);
+    }
+
+    @Test
+    public void decreaseAvailableQuantities_NotEnoughQuantity_ReturnsOutOfStockProductIds() {
+        Map<Integer, BigInteger> quantities = Map.of(1001, BigInteger.TWO, 1002, BigInteger.ONE,
+                1003, BigInteger.ONE);
+
+        Set<Integer> outOfStockProductIds = productStockRepository.decreaseAvailableQuantities(quantities);
+
+        assertThat(outOfStockProductIds).containsExactly(1001, 1003);
+        assertThat(findAvailableQuantity(1001)).isEqualTo(1);
+        assertThat(findAvailableQuantity(1003)).isEqualTo(0);
+    }
+
+    @Test
+    public void findAllStocksById_ReturnsListOfProductStockDto() {
+        List<ProductStockDto> expectedProductStocks = List.of(new ProductStockDto(1002, true, BigInteger.valueOf(200)),
+                new ProductStockDto(1003, true, BigInteger.ZERO));
+
+        List<ProductStockDto> actualProductStocks = productStockRepository.findAllStocksById(Set.of(1002, 1003));
+
+        assertThat(actualProductStocks).containsExactlyInAnyOrderElementsOf(expectedProductStocks);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void decreaseAvailableQuantities_ConcurrentOrders_DoesNotOversell() throws Exception {
+        int firstProductQuantity = findAvailableQuantity(1002);
+        int secondProductQuantity = findAvailableQuantity(1004);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger reservationsAmount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_AMOUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS_AMOUNT; i++) {
+                Map<Integer, BigInteger> quantities = new LinkedHashMap<>();
+                if (i % 2 == 0) {
+                    quantities.put(1002, BigInteger.ONE);
+                    quantities.put(1004, BigInteger.ONE);
+                } else {
+                    quantities.put(1004, BigInteger.ONE);
+                    quantities.put(1002, BigInteger.ONE);
+                }
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    for (int j = 0; j < ATTEMPTS_PER_THREAD; j++) {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            if (productStockRepository.decreaseAvailableQuantities(quantities).isEmpty()) {
+                                reservationsAmount.incrementAndGet();
+                            } else {
+                                status.setRollbackOnly();
+                            }
+                        });
+                    }
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+
+            assertThat(THREADS_AMOUNT * ATTEMPTS_PER_THREAD).isGreaterThan(firstProductQuantity);
+            assertThat(reservationsAmount.get()).isEqualTo(Math.min(firstProductQuantity, secondProductQuantity));
+            assertThat(findAvailableQuantity(1002)).isEqualTo(firstProductQuantity - reservationsAmount.get());
+            assertThat(findAvailableQuantity(1004)).isEqualTo(secondProductQuantity - reservationsAmount.get());
+        } finally {
+            executor.shutdownNow();
+            jdbcTemplate.update(RESTORE_QUANTITY_SQL, firstProductQuantity, 1002);
+            jdbcTemplate.update(RESTORE_QUANTITY_SQL, secondProductQuantity, 1004);
+        }
+    }
+
+    private int findAvailableQuantity(Integer productId) {
+        return jdbcTemplate.queryForObject("SELECT available_quantity FROM product WHERE id = ?", Integer.class,
+                productId);
+    }
+}
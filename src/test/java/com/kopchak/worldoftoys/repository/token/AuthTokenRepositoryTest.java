@@ -4,11 +4,15 @@ import com.kopchak.worldoftoys.domain.token.auth.AuthTokenType;
 import com.kopchak.worldoftoys.domain.token.auth.AuthenticationToken;
 import com.kopchak.worldoftoys.domain.user.AppUser;
 import com.kopchak.worldoftoys.repository.user.UserRepository;
+import com.kopchak.worldoftoys.security.AuthTokenHasher;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -34,7 +38,7 @@ class AuthTokenRepositoryTest {
         //Assert
         assertThat(returnedToken).isNotNull();
         assertThat(returnedToken).isNotEmpty();
-        assertThat(returnedToken.get().getToken()).isEqualTo(jwtToken);
+        assertThat(returnedToken.get().getTokenHash()).isEqualTo(AuthTokenHasher.hash(jwtToken));
     }
 
     @Test
@@ -89,4 +93,14 @@ class AuthTokenRepositoryTest {
         //Assert
         assertThat(isActiveAuthTokenExists).isEqualTo( false);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findExpiredTokenIds_ExpiredAuthToken_ReturnsExpiredTokenIds(){
+        //Act
+        List<Integer> expiredTokenIds = authTokenRepository.findExpiredTokenIds(LocalDateTime.now(),
+                PageRequest.of(0, 10));
+
+        //Assert
+        assertThat(expiredTokenIds).isEqualTo(List.of(1003));
+    }
+}
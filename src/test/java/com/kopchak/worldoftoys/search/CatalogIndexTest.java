@@ -0,0 +1,151 @@
+package com.kopchak.worldoftoys.search;
+
+import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.domain.product.category.AgeCategory;
+import com.kopchak.worldoftoys.domain.product.category.BrandCategory;
+import com.kopchak.worldoftoys.domain.product.category.OriginCategory;
+import com.kopchak.worldoftoys.domain.product.category.ProductCategory;
+import com.kopchak.worldoftoys.dto.product.ProductCursorDto;
+import com.kopchak.worldoftoys.dto.product.category.CategoryFacetDto;
+import com.kopchak.worldoftoys.dto.product.category.FilteringCategoriesDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogIndexTest {
+    private final static String DESCRIPTION = "Іграшка для дітей";
+
+    private CatalogIndex catalogIndex;
+    private OriginCategory china;
+    private OriginCategory ukraine;
+    private BrandCategory devilon;
+    private BrandCategory disney;
+    private AgeCategory toddlers;
+
+    @BeforeEach
+    void setUp() {
+        china = setCategoryFields(new OriginCategory(), 1000, "Китай", "china");
+        ukraine = setCategoryFields(new OriginCategory(), 1001, "Україна", "ukraine");
+        devilon = setCategoryFields(new BrandCategory(), 1002, "Devilon", "devilon");
+        disney = setCategoryFields(new BrandCategory(), 1003, "Disney", "disney");
+        toddlers = setCategoryFields(new AgeCategory(), 1001, "Від 1 до 3 років", "vid-1-do-3-rokiv");
+        ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+        catalogIndex = new CatalogIndex(true, productSearchIndex);
+        List<Product> products = List.of(
+                buildProduct(1001, "Лялька Клаймбер", 850, 1, china, devilon, Set.of(toddlers)),
+                buildProduct(1002, "Лялька Даринка", 900, 200, ukraine, disney, Set.of(toddlers)),
+                buildProduct(1003, "Лялька Русалочка", 550, 0, china, devilon, Set.of(toddlers)),
+                buildProduct(1004, "Пупсик Оксанка", 500, 150, china, disney, Set.of()));
+        products.forEach(product -> productSearchIndex.index(product.getId(), product.getName(), DESCRIPTION));
+        catalogIndex.indexAll(products);
+    }
+
+    @Test
+    public void findProductIds_CategoriesAndPriceRange_ReturnsIdsSortedByPrice() {
+        List<Integer> productIds = catalogIndex.findProductIds(null, BigDecimal.valueOf(550), BigDecimal.valueOf(900),
+                List.of("china"), null, List.of("vid-1-do-3-rokiv"), null, "desc", null, 0, 10);
+
+        assertThat(productIds).containsExactly(1001, 1003);
+    }
+
+    @Test
+    public void findProductIds_ProductNameAndAvailability_ReturnsAvailableMatchingIds() {
+        List<Integer> productIds = catalogIndex.findProductIds("лялька", null, null, null, null, null,
+                "available", "", null, 0, 10);
+
+        assertThat(productIds).containsExactly(1001, 1002);
+    }
+
+    @Test
+    public void findProductIds_PriceCursor_ReturnsIdsAfterCursor() {
+        ProductCursorDto cursor = new ProductCursorDto("asc", BigDecimal.valueOf(550), 1003);
+
+        List<Integer> productIds = catalogIndex.findProductIds(null, null, null, null, null, null, null, "asc",
+                cursor, 0, 2);
+
+        assertThat(productIds).containsExactly(1001, 1002);
+    }
+
+    @Test
+    public void findProductIds_MaxLimit_ReturnsAllMatchingIds() {
+        List<Integer> productIds = catalogIndex.findProductIds(null, null, null, List.of("china"), null, null, null,
+                "asc", null, 0, Integer.MAX_VALUE);
+
+        assertThat(productIds).hasSize(3);
+    }
+
+    @Test
+    public void count_BrandCategoryAndUnavailableProducts_ReturnsMatchingProductsAmount() {
+        long productsAmount = catalogIndex.count(null, null, null, null, List.of("devilon"), null, "unavailable");
+
+        assertThat(productsAmount).isEqualTo(1);
+    }
+
+    @Test
+    public void findCategoryFacets_OriginCategory_ReturnsCategoriesWithProductsAmount() {
+        FilteringCategoriesDto expectedFilteringCategoriesDto = FilteringCategoriesDto
+                .builder()
+                .originCategories(List.of(new CategoryFacetDto("Китай", "china", 3)))
+                .brandCategories(List.of(new CategoryFacetDto("Devilon", "devilon", 2),
+                        new CategoryFacetDto("Disney", "disney", 1)))
+                .ageCategories(List.of(new CategoryFacetDto("Від 1 до 3 років", "vid-1-do-3-rokiv", 2)))
+                .build();
+
+        FilteringCategoriesDto actualFilteringCategoriesDto = catalogIndex.findCategoryFacets(null, null, null,
+                List.of("china"), null, null);
+
+        assertThat(actualFilteringCategoriesDto).isEqualTo(expectedFilteringCategoriesDto);
+    }
+
+    @Test
+    public void updateAvailability_SoldOutProduct_RemovesProductFromAvailableProducts() {
+        catalogIndex.updateAvailability(1001, true, BigInteger.ZERO);
+
+        assertThat(catalogIndex.count(null, null, null, null, null, null, "available")).isEqualTo(2);
+    }
+
+    @Test
+    public void index_UpdatedProductCategory_MovesProductBetweenCategories() {
+        catalogIndex.index(buildProduct(1004, "Пупсик Оксанка", 500, 150, ukraine, disney, Set.of()));
+
+        assertThat(catalogIndex.count(null, null, null, List.of("ukraine"), null, null, null)).isEqualTo(2);
+        assertThat(catalogIndex.count(null, null, null, List.of("china"), null, null, null)).isEqualTo(2);
+    }
+
+    @Test
+    public void indexCategory_RenamedCategory_FiltersByNewSlug() {
+        catalogIndex.indexCategory(setCategoryFields(new BrandCategory(), 1002, "Devilon Toys", "devilon-toys"));
+
+        assertThat(catalogIndex.count(null, null, null, null, List.of("devilon"), null, null)).isZero();
+        assertThat(catalogIndex.count(null, null, null, null, List.of("devilon-toys"), null, null)).isEqualTo(2);
+    }
+
+    private Product buildProduct(Integer id, String name, int price, int availableQuantity,
+                                 OriginCategory originCategory, BrandCategory brandCategory,
+                                 Set<AgeCategory> ageCategories) {
+        return Product
+                .builder()
+                .id(id)
+                .name(name)
+                .price(BigDecimal.valueOf(price))
+                .isAvailable(true)
+                .availableQuantity(BigInteger.valueOf(availableQuantity))
+                .originCategory(originCategory)
+                .brandCategory(brandCategory)
+                .ageCategories(ageCategories)
+                .build();
+    }
+
+    private <T extends ProductCategory> T setCategoryFields(T category, Integer id, String name, String slug) {
+        category.setId(id);
+        category.setName(name);
+        category.setSlug(slug);
+        return category;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kopchak.worldoftoys.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+    private final static String DESCRIPTION = "Іграшка для дітей";
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex();
+        productSearchIndex.indexAll(List.of(
+                new ProductSearchDocument(1, "Лялька Клаймбер", "lalka-klajmber", DESCRIPTION),
+                new ProductSearchDocument(2, "Лялька Даринка", "lalka-darinka", "Лялька з довгим волоссям"),
+                new ProductSearchDocument(3, "Пупсик Оксанка", "pupsik-oksanka", "Пупсик, схожий на ляльку")));
+    }
+
+    @Test
+    public void findProductIds_CyrillicWordPrefix_ReturnsMatchingProductIds() {
+        assertThat(productSearchIndex.findProductIds("Ляль")).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    public void findProductIds_TransliteratedQuery_ReturnsMatchingProductIds() {
+        assertThat(productSearchIndex.findProductIds("lalka klaj")).containsExactly(1);
+    }
+
+    @Test
+    public void findProductIds_NoMatchingToken_ReturnsEmptySet() {
+        assertThat(productSearchIndex.findProductIds("Ведмедик")).isEmpty();
+    }
+
+    @Test
+    public void search_WordInNameAndDescription_RanksNameAndRepeatedMatchesFirst() {
+        List<ProductSearchDocument> searchResults = productSearchIndex.search("ляль", 10);
+
+        assertThat(searchResults).extracting(ProductSearchDocument::id).containsExactly(2, 1, 3);
+    }
+
+    @Test
+    public void index_UpdatedProductName_ReplacesPreviousTokens() {
+        productSearchIndex.index(1, "Машинка Блискавка", DESCRIPTION);
+
+        assertThat(productSearchIndex.findProductIds("клаймбер")).isEmpty();
+        assertThat(productSearchIndex.search("машинка", 10))
+                .containsExactly(new ProductSearchDocument(1, "Машинка Блискавка", "masinka-bliskavka", DESCRIPTION));
+    }
+}
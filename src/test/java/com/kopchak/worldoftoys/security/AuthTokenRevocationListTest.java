@@ -0,0 +1,72 @@
+package com.kopchak.worldoftoys.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthTokenRevocationListTest {
+    private final static int EXPECTED_INSERTIONS = 100;
+
+    private AuthTokenRevocationList authTokenRevocationList;
+
+    @BeforeEach
+    void setUp() {
+        authTokenRevocationList = new AuthTokenRevocationList(EXPECTED_INSERTIONS, 0.01);
+    }
+
+    @Test
+    public void isRevoked_RevokedTokenId_ReturnsTrue() {
+        String tokenId = UUID.randomUUID().toString();
+
+        authTokenRevocationList.revoke(tokenId, Instant.now().plus(Duration.ofHours(1)));
+
+        assertThat(authTokenRevocationList.isRevoked(tokenId)).isTrue();
+    }
+
+    @Test
+    public void isRevoked_NonRevokedTokenIds_ReturnsFalse() {
+        IntStream.range(0, EXPECTED_INSERTIONS).forEach(i ->
+                authTokenRevocationList.revoke(UUID.randomUUID().toString(), Instant.now().plus(Duration.ofHours(1))));
+
+        assertThat(IntStream.range(0, 1000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .noneMatch(authTokenRevocationList::isRevoked)).isTrue();
+    }
+
+    @Test
+    public void revoke_ExpiredToken_IsNotAddedToRevocationList() {
+        String tokenId = UUID.randomUUID().toString();
+
+        authTokenRevocationList.revoke(tokenId, Instant.now().minusSeconds(1));
+
+        assertThat(authTokenRevocationList.isRevoked(tokenId)).isFalse();
+    }
+
+    @Test
+    public void revoke_MoreTokensThanExpectedInsertions_KeepsAllRevokedTokens() {
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        String firstTokenId = UUID.randomUUID().toString();
+        authTokenRevocationList.revoke(firstTokenId, expiresAt);
+
+        IntStream.range(0, EXPECTED_INSERTIONS * 3).forEach(i ->
+                authTokenRevocationList.revoke(UUID.randomUUID().toString(), expiresAt));
+
+        assertThat(authTokenRevocationList.isRevoked(firstTokenId)).isTrue();
+    }
+
+    @Test
+    public void revoke_LiveTokensExceedExpectedInsertions_RebuildsOnlyWhenFilterIsFull() {
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+
+        IntStream.range(0, EXPECTED_INSERTIONS * 3).forEach(i ->
+                authTokenRevocationList.revoke(UUID.randomUUID().toString(), expiresAt));
+
+        assertThat(authTokenRevocationList.getRebuildsAmount()).isEqualTo(2);
+    }
+}
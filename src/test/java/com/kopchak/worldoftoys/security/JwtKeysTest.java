@@ -0,0 +1,47 @@
+package com.kopchak.worldoftoys.security;
+
+import com.kopchak.worldoftoys.config.JwtProperties;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeysTest {
+    private final static String PREVIOUS_SECRET = "previoussecretkey".repeat(4);
+    private final static String CURRENT_SECRET = "currentsecretkey".repeat(4);
+    private final static String USERNAME = "user@example.com";
+
+    @Test
+    public void getParser_TokenSignedWithPreviousKey_ReturnsClaims() {
+        JwtKeys previousJwtKeys = new JwtKeys(new JwtProperties(PREVIOUS_SECRET, "2024-01", Map.of()));
+        JwtKeys rotatedJwtKeys = new JwtKeys(new JwtProperties(CURRENT_SECRET, "2024-02",
+                Map.of("2024-01", PREVIOUS_SECRET)));
+        String token = signToken(previousJwtKeys);
+
+        assertThat(rotatedJwtKeys.getParser().parseClaimsJws(token).getBody().getSubject()).isEqualTo(USERNAME);
+    }
+
+    @Test
+    public void getParser_TokenWithUnknownKeyId_ThrowsUnsupportedJwtException() {
+        JwtKeys unknownJwtKeys = new JwtKeys(new JwtProperties(PREVIOUS_SECRET, "2024-01", Map.of()));
+        JwtKeys jwtKeys = new JwtKeys(new JwtProperties(CURRENT_SECRET, "2024-02", Map.of()));
+        String token = signToken(unknownJwtKeys);
+
+        assertThrows(UnsupportedJwtException.class, () -> jwtKeys.getParser().parseClaimsJws(token));
+    }
+
+    private String signToken(JwtKeys jwtKeys) {
+        return Jwts
+                .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeys.getSigningKeyId())
+                .setSubject(USERNAME)
+                .signWith(jwtKeys.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,53 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.repository.token.AuthTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthTokenCleanupServiceTest {
+    private final static int CHUNK_SIZE = 2;
+
+    @Mock
+    private AuthTokenRepository authTokenRepository;
+
+    @InjectMocks
+    private AuthTokenCleanupService authTokenCleanupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authTokenCleanupService, "CHUNK_SIZE", CHUNK_SIZE);
+    }
+
+    @Test
+    public void deleteExpiredAuthTokens_SeveralChunks_DeletesEachChunkSeparately() {
+        when(authTokenRepository.findExpiredTokenIds(any(), eq(PageRequest.of(0, CHUNK_SIZE))))
+                .thenReturn(List.of(1, 2), List.of(3));
+
+        authTokenCleanupService.deleteExpiredAuthTokens();
+
+        verify(authTokenRepository).deleteAllByIdInBatch(eq(List.of(1, 2)));
+        verify(authTokenRepository).deleteAllByIdInBatch(eq(List.of(3)));
+    }
+
+    @Test
+    public void deleteExpiredAuthTokens_NoExpiredTokens_DeletesNothing() {
+        when(authTokenRepository.findExpiredTokenIds(any(), any())).thenReturn(List.of());
+
+        authTokenCleanupService.deleteExpiredAuthTokens();
+
+        verify(authTokenRepository, never()).deleteAllByIdInBatch(any());
+    }
+}
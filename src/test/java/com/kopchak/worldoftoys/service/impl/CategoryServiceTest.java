@@ -1,8 +1,8 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.ProductCountCache;
 import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.product.category.OriginCategory;
-import com.kopchak.worldoftoys.domain.product.category.ProductCategory;
 import com.kopchak.worldoftoys.domain.product.category.type.CategoryType;
 import com.kopchak.worldoftoys.dto.admin.category.AdminCategoryDto;
 import com.kopchak.worldoftoys.dto.admin.category.CategoryNameDto;
@@ -14,12 +14,15 @@ import com.kopchak.worldoftoys.exception.exception.category.DuplicateCategoryNam
 import com.kopchak.worldoftoys.mapper.product.CategoryMapper;
 import com.kopchak.worldoftoys.repository.product.CategoryRepository;
 import com.kopchak.worldoftoys.repository.specifications.impl.ProductSpecificationsImpl;
+import com.kopchak.worldoftoys.search.CatalogIndex;
+import com.kopchak.worldoftoys.transaction.AfterCommitExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -40,6 +43,12 @@ class CategoryServiceTest {
     private ProductSpecificationsImpl productSpecifications;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private ProductCountCache productCountCache;
+    @Mock
+    private CatalogIndex catalogIndex;
+    @Spy
+    private AfterCommitExecutor afterCommitExecutor;
 
     @InjectMocks
     private CategoryService categoryService;
@@ -71,17 +80,12 @@ class CategoryServiceTest {
 
     @Test
     public void getFilteringProductCategories_ReturnsFilteringProductCategoriesDto() {
-        var productCategories = new ArrayList<ProductCategory>();
         var expectedFilteringProductCategoriesDto = FilteringCategoriesDto.builder().build();
 
         when(productSpecifications.filterByProductNamePriceAndCategories(eq(productName), eq(minProductPrice),
                 eq(maxProductPrice), eq(originCategories), eq(brandCategories), eq(ageCategories), any()))
                 .thenReturn(spec);
-        when(categoryRepository.findUniqueBrandCategoryList(spec)).thenReturn(productCategories);
-        when(categoryRepository.findUniqueOriginCategoryList(spec)).thenReturn(productCategories);
-        when(categoryRepository.findUniqueAgeCategoryList(spec)).thenReturn(productCategories);
-        when(categoryMapper.toFilteringCategoriesDto(eq(productCategories), eq(productCategories),
-                eq(productCategories))).thenReturn(expectedFilteringProductCategoriesDto);
+        when(categoryRepository.findCategoryFacets(spec)).thenReturn(expectedFilteringProductCategoriesDto);
 
         var actualFilteringProductCategoriesDto = categoryService.getFilteringCategories(productName,
                 minProductPrice, maxProductPrice, originCategories, brandCategories, ageCategories);
@@ -140,6 +144,7 @@ class CategoryServiceTest {
 
         verify(categoryRepository).updateNameByIdAndType(eq(CATEGORY_ID), eq(CATEGORY_NAME),
                 eq(CATEGORY_TYPE.getCategory()));
+        verify(productCountCache).evictAll();
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.UserDetailsCache;
 import com.kopchak.worldoftoys.domain.token.confirm.ConfirmationToken;
 import com.kopchak.worldoftoys.domain.token.confirm.ConfirmationTokenType;
 import com.kopchak.worldoftoys.domain.user.AppUser;
@@ -40,6 +41,8 @@ class ConfirmationTokenServiceTest {
     private UserRepository userRepository;
     @Mock
     private UserService userService;
+    @Mock
+    private UserDetailsCache userDetailsCache;
 
     @InjectMocks
     private ConfirmationTokenService confirmationTokenService;
@@ -122,6 +125,7 @@ class ConfirmationTokenServiceTest {
 
         assertThat(confirmToken.getConfirmedAt()).isNotNull();
         verify(userRepository).save(eq(user));
+        verify(userDetailsCache).evict(eq(user.getEmail()));
         verify(confirmTokenRepository).save(eq(confirmToken));
     }
 
@@ -0,0 +1,170 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxMessage;
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxStatus;
+import com.kopchak.worldoftoys.repository.email.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+    private final static long MESSAGE_ID = 1L;
+    private final static long SECOND_MESSAGE_ID = 2L;
+    private final static String SENDING_ERROR = "Failed to send the email";
+    private final static long TIMEOUT_IN_MILLIS = 1000;
+    private final static String RECIPIENT = "john.doe@example.com";
+    private final static String SUBJECT = "Subject";
+    private final static String CONTENT = "Content";
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private EmailSenderService emailSenderService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxService emailOutboxService;
+    private EmailOutboxMessage message;
+    private EmailOutboxMessage secondMessage;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emailOutboxService = new EmailOutboxService(emailOutboxRepository, emailSenderService, meterRegistry, 1, 10);
+        ReflectionTestUtils.setField(emailOutboxService, "BATCH_SIZE", 10);
+        ReflectionTestUtils.setField(emailOutboxService, "SEND_BATCH_SIZE", 10);
+        ReflectionTestUtils.setField(emailOutboxService, "MAX_ATTEMPTS", 2);
+        ReflectionTestUtils.setField(emailOutboxService, "INITIAL_BACKOFF", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(emailOutboxService, "MAX_BACKOFF", Duration.ofHours(1));
+        ReflectionTestUtils.setField(emailOutboxService, "SENDING_TIMEOUT", Duration.ofMinutes(5));
+        message = buildMessage(MESSAGE_ID);
+        secondMessage = buildMessage(SECOND_MESSAGE_ID);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        emailOutboxService.shutdown();
+    }
+
+    @Test
+    public void dispatchPendingEmails_SuccessfulSend_DeletesMessagesFromOutbox() {
+        mockDueMessages(List.of(message, secondMessage));
+        when(emailSenderService.sendAll(eq(List.of(message, secondMessage)))).thenReturn(Map.of());
+
+        emailOutboxService.dispatchPendingEmails();
+
+        verify(emailOutboxRepository, timeout(TIMEOUT_IN_MILLIS))
+                .deleteAllByIdInBatch(eq(List.of(MESSAGE_ID, SECOND_MESSAGE_ID)));
+        assertThat(meterRegistry.get("email.outbox.pending").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void dispatchPendingEmails_MoreMessagesThanSendBatchSize_SendsMessagesInSeveralBatches() {
+        ReflectionTestUtils.setField(emailOutboxService, "SEND_BATCH_SIZE", 1);
+        mockDueMessages(List.of(message, secondMessage));
+        when(emailSenderService.sendAll(any())).thenReturn(Map.of());
+
+        emailOutboxService.dispatchPendingEmails();
+
+        verify(emailSenderService, timeout(TIMEOUT_IN_MILLIS)).sendAll(eq(List.of(message)));
+        verify(emailSenderService, timeout(TIMEOUT_IN_MILLIS)).sendAll(eq(List.of(secondMessage)));
+    }
+
+    @Test
+    public void dispatchPendingEmails_PartiallyFailedBatch_DeletesSentAndRetriesFailedMessages() {
+        mockDueMessages(List.of(message, secondMessage));
+        when(emailSenderService.sendAll(any())).thenReturn(Map.of(SECOND_MESSAGE_ID, SENDING_ERROR));
+
+        emailOutboxService.dispatchPendingEmails();
+
+        verify(emailOutboxRepository, timeout(TIMEOUT_IN_MILLIS)).deleteAllByIdInBatch(eq(List.of(MESSAGE_ID)));
+        verify(emailOutboxRepository, timeout(TIMEOUT_IN_MILLIS))
+                .scheduleRetry(eq(SECOND_MESSAGE_ID), any(), eq(SENDING_ERROR));
+    }
+
+    @Test
+    public void dispatchPendingEmails_FailedSend_SchedulesRetryWithBackoff() {
+        mockDueMessages(List.of(message));
+        when(emailSenderService.sendAll(any())).thenThrow(new MailSendException(SENDING_ERROR));
+        LocalDateTime dispatchedAt = LocalDateTime.now();
+
+        emailOutboxService.dispatchPendingEmails();
+
+        ArgumentCaptor<LocalDateTime> nextAttemptAtCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository, timeout(TIMEOUT_IN_MILLIS))
+                .scheduleRetry(eq(MESSAGE_ID), nextAttemptAtCaptor.capture(), eq(SENDING_ERROR));
+        verify(emailOutboxRepository, never()).deleteAllByIdInBatch(any());
+        assertThat(nextAttemptAtCaptor.getValue()).isAfterOrEqualTo(dispatchedAt.plusSeconds(30));
+    }
+
+    @Test
+    public void dispatchPendingEmails_LastAttemptFailed_MarksMessageAsFailed() {
+        message.setAttempts(1);
+        mockDueMessages(List.of(message));
+        when(emailSenderService.sendAll(any())).thenReturn(Map.of(MESSAGE_ID, SENDING_ERROR));
+
+        emailOutboxService.dispatchPendingEmails();
+
+        verify(emailOutboxRepository, timeout(TIMEOUT_IN_MILLIS)).markFailed(eq(MESSAGE_ID), eq(SENDING_ERROR));
+        verify(emailOutboxRepository, never()).scheduleRetry(any(), any(), any());
+    }
+
+    @Test
+    public void dispatchPendingEmails_MessageClaimedByAnotherDispatcher_DoesNotSendMessage() {
+        when(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING)).thenReturn(1L);
+        when(emailOutboxRepository.countByStatus(EmailOutboxStatus.FAILED)).thenReturn(0L);
+        when(emailOutboxRepository.findDueMessages(any(), any())).thenReturn(List.of(message));
+        when(emailOutboxRepository.claimMessage(eq(MESSAGE_ID), eq(0), any())).thenReturn(0);
+
+        emailOutboxService.dispatchPendingEmails();
+
+        verifyNoInteractions(emailSenderService);
+    }
+
+    @Test
+    public void dispatchPendingEmails_EmptyOutbox_DoesNotQueryDueMessages() {
+        when(emailOutboxRepository.countByStatus(any())).thenReturn(0L);
+
+        emailOutboxService.dispatchPendingEmails();
+
+        verify(emailOutboxRepository, never()).findDueMessages(any(), any());
+        verifyNoInteractions(emailSenderService);
+    }
+
+    private void mockDueMessages(List<EmailOutboxMessage> dueMessages) {
+        when(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING)).thenReturn((long) dueMessages.size());
+        when(emailOutboxRepository.countByStatus(EmailOutboxStatus.FAILED)).thenReturn(0L);
+        when(emailOutboxRepository.findDueMessages(any(), any())).thenReturn(dueMessages);
+        when(emailOutboxRepository.claimMessage(any(), anyInt(), any())).thenReturn(1);
+    }
+
+    private EmailOutboxMessage buildMessage(Long messageId) {
+        return EmailOutboxMessage
+                .builder()
+                .id(messageId)
+                .recipient(RECIPIENT)
+                .subject(SUBJECT)
+                .content(CONTENT)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxMessage;
+import com.kopchak.worldoftoys.email.EmailRenderer;
+import com.kopchak.worldoftoys.repository.email.EmailOutboxRepository;
+import com.kopchak.worldoftoys.repository.user.UserRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class EmailSenderServiceSmtpTest {
+    private final static String SUBJECT = "Order status";
+    private final static String CONTENT = "<p>Order status is Canceled</p>";
+
+    @RegisterExtension
+    public static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("test", "password"))
+            .withPerMethodLifecycle(true);
+
+    private EmailSenderService emailSenderService;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setUsername("test");
+        mailSender.setPassword("password");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+        emailSenderService = new EmailSenderService(mailSender, mock(UserRepository.class),
+                mock(EmailOutboxRepository.class), mock(EmailRenderer.class));
+    }
+
+    @Test
+    public void sendAll_ValidMessages_DeliversAllMessages() throws MessagingException {
+        List<EmailOutboxMessage> messages = List.of(
+                buildMessage(1L, "john.doe@example.com"),
+                buildMessage(2L, "jane.doe@example.com"),
+                buildMessage(3L, "jack.doe@example.com"));
+
+        Map<Long, String> failedMessages = emailSenderService.sendAll(messages);
+
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(failedMessages).isEmpty();
+        assertThat(receivedMessages).hasSize(3);
+        assertThat(receivedMessages[0].getSubject()).isEqualTo(SUBJECT);
+    }
+
+    @Test
+    public void sendAll_MessageWithInvalidRecipient_DeliversOtherMessages() {
+        List<EmailOutboxMessage> messages = List.of(
+                buildMessage(1L, "john.doe@example.com"),
+                buildMessage(2L, "jane..doe@@example.com"),
+                buildMessage(3L, "jack.doe@example.com"));
+
+        Map<Long, String> failedMessages = emailSenderService.sendAll(messages);
+
+        assertThat(failedMessages).containsOnlyKeys(2L);
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+    }
+
+    private EmailOutboxMessage buildMessage(Long messageId, String recipient) {
+        return EmailOutboxMessage
+                .builder()
+                .id(messageId)
+                .recipient(recipient)
+                .subject(SUBJECT)
+                .content(CONTENT)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,11 +1,17 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.domain.email.outbox.EmailOutboxMessage;
 import com.kopchak.worldoftoys.domain.order.OrderStatus;
+import com.kopchak.worldoftoys.domain.order.StatusProvider;
 import com.kopchak.worldoftoys.domain.order.payment.PaymentStatus;
 import com.kopchak.worldoftoys.domain.token.confirm.ConfirmationTokenType;
 import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.dto.email.EmailContentDto;
+import com.kopchak.worldoftoys.dto.email.StatusEmailRecipientDto;
+import com.kopchak.worldoftoys.email.EmailRenderer;
 import com.kopchak.worldoftoys.exception.exception.email.MessageSendingException;
 import com.kopchak.worldoftoys.exception.exception.user.UserNotFoundException;
+import com.kopchak.worldoftoys.repository.email.EmailOutboxRepository;
 import com.kopchak.worldoftoys.repository.user.UserRepository;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
@@ -15,18 +21,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import org.thymeleaf.ITemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,7 +49,9 @@ class EmailSenderServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private ITemplateEngine templateEngine;
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private EmailRenderer emailRenderer;
 
     @InjectMocks
     private EmailSenderService emailSenderService;
@@ -75,55 +86,94 @@ class EmailSenderServiceTest {
     }
 
     @Test
-    public void send_ValidEmail_SuccessfulSend() throws MessageSendingException, MessagingException, IOException {
+    public void sendAll_ValidMessage_SendsMimeMessageWithRecipientSubjectAndContent()
+            throws MessagingException, IOException {
         when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
 
-        emailSenderService.send(emailRecipient, emailContent, msgSubject);
+        Map<Long, String> failedMessages = emailSenderService.sendAll(List.of(buildOutboxMessage(1L)));
         String actualRecipient = mimeMessage.getRecipients(Message.RecipientType.TO)[0].toString();
         String actualSubject = mimeMessage.getSubject();
         String actualEmailContent = mimeMessage.getContent().toString();
 
+        assertThat(failedMessages).isEmpty();
+        verify(mailSender).send(new MimeMessage[]{mimeMessage});
         assertEquals(emailRecipient, actualRecipient);
         assertEquals(emailContent, actualEmailContent);
         assertEquals(msgSubject, actualSubject);
     }
 
     @Test
-    public void send_InvalidEmail_ThrowsMessageSendingException() {
-        String messagingExceptionMsg = "Simulated email sending failure";
+    public void sendAll_OneMessageRejected_ReturnsOnlyRejectedMessageId() {
+        MimeMessage rejectedMimeMessage = new MimeMessage((Session) null);
+        EmailOutboxMessage message = buildOutboxMessage(1L);
+        EmailOutboxMessage rejectedMessage = buildOutboxMessage(2L);
+        String rejectionMsg = "Rejected recipient";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doAnswer(invocation -> {
-            throw new MessagingException(messagingExceptionMsg);
-        }).when(mailSender).send(mimeMessage);
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage, rejectedMimeMessage);
+        doThrow(new MailSendException(Map.<Object, Exception>of(rejectedMimeMessage,
+                new MessagingException(rejectionMsg)))).when(mailSender).send(mimeMessage, rejectedMimeMessage);
 
-        String expectedMessage = String.format("Failed to send the email: %s", messagingExceptionMsg);
+        Map<Long, String> failedMessages = emailSenderService.sendAll(List.of(message, rejectedMessage));
 
-        assertException(MessageSendingException.class, expectedMessage,
-                () -> emailSenderService.send(emailRecipient, emailContent, msgSubject));
+        assertEquals(Map.of(2L, rejectionMsg), failedMessages);
+    }
+
+    @Test
+    public void sendAll_MailServerUnavailable_ReturnsAllMessageIds() {
+        MimeMessage secondMimeMessage = new MimeMessage((Session) null);
+        String connectionErrorMsg = "Mail server connection failed";
 
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage, secondMimeMessage);
+        doThrow(new MailSendException(connectionErrorMsg)).when(mailSender).send(mimeMessage, secondMimeMessage);
+
+        Map<Long, String> failedMessages = emailSenderService.sendAll(List.of(buildOutboxMessage(1L),
+                buildOutboxMessage(2L)));
+
+        assertEquals(Map.of(1L, connectionErrorMsg, 2L, connectionErrorMsg), failedMessages);
+    }
+
+    @Test
+    public void sendEmails_OrderStatus_AddsEmailForEachRecipientToOutbox() {
+        OrderStatus orderStatus = OrderStatus.SHIPPED;
+        var recipients = List.of(new StatusEmailRecipientDto(userEmail, FIRSTNAME, ORDER_ID),
+                new StatusEmailRecipientDto(emailRecipient, FIRSTNAME, "2"));
+
+        when(emailRenderer.renderStatusEmail(eq(FIRSTNAME), any(), eq(orderStatus)))
+                .thenReturn(new EmailContentDto(msgSubject, emailContent));
+
+        emailSenderService.sendEmails(recipients, orderStatus);
+
+        ArgumentCaptor<List<EmailOutboxMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(emailOutboxRepository).saveAll(messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue())
+                .extracting(EmailOutboxMessage::getRecipient)
+                .containsExactly(userEmail, emailRecipient);
+        verify(mailSender, never()).send(any(MimeMessage.class));
     }
 
     @Test
     public void sendEmail_ActivationTokenType() throws UserNotFoundException, MessageSendingException {
         when(userRepository.findByEmail(eq(userEmail))).thenReturn(java.util.Optional.of(user));
-        mockEmailProcessing();
+        mockConfirmEmailRendering(ConfirmationTokenType.ACTIVATION);
 
         emailSenderService.sendEmail(userEmail, confirmToken, ConfirmationTokenType.ACTIVATION);
 
-        verify(templateEngine).process(eq("email"), any(Context.class));
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(emailRenderer).renderConfirmEmail(eq(FIRSTNAME), eq(confirmToken), eq(ConfirmationTokenType.ACTIVATION));
+        verify(emailOutboxRepository).save(any(EmailOutboxMessage.class));
+        verify(mailSender, never()).send(any(MimeMessage.class));
     }
 
     @Test
     public void sendEmail_ResetPasswordTokenType() throws UserNotFoundException, MessageSendingException {
         when(userRepository.findByEmail(eq(userEmail))).thenReturn(java.util.Optional.of(user));
-        mockEmailProcessing();
+        mockConfirmEmailRendering(ConfirmationTokenType.RESET_PASSWORD);
 
         emailSenderService.sendEmail(userEmail, confirmToken, ConfirmationTokenType.RESET_PASSWORD);
 
-        verify(templateEngine).process(eq("email"), any(Context.class));
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(emailRenderer).renderConfirmEmail(eq(FIRSTNAME), eq(confirmToken),
+                eq(ConfirmationTokenType.RESET_PASSWORD));
+        verify(emailOutboxRepository).save(any(EmailOutboxMessage.class));
+        verify(mailSender, never()).send(any(MimeMessage.class));
     }
 
     @Test
@@ -136,23 +186,25 @@ class EmailSenderServiceTest {
     @Test
     public void sendEmail_PaymentStatus() throws MessageSendingException {
         PaymentStatus paymentStatus = PaymentStatus.COMPLETE;
-        mockEmailProcessing();
+        mockStatusEmailRendering(paymentStatus);
 
         emailSenderService.sendEmail(userEmail, FIRSTNAME, ORDER_ID, paymentStatus);
 
-        verify(templateEngine).process(eq("email"), any(Context.class));
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(emailRenderer).renderStatusEmail(eq(FIRSTNAME), eq(ORDER_ID), eq(paymentStatus));
+        verify(emailOutboxRepository).save(any(EmailOutboxMessage.class));
+        verify(mailSender, never()).send(any(MimeMessage.class));
     }
 
     @Test
     public void sendEmail_OrderStatus() throws MessageSendingException {
         OrderStatus orderStatus = OrderStatus.CANCELED;
-        mockEmailProcessing();
+        mockStatusEmailRendering(orderStatus);
 
         emailSenderService.sendEmail(userEmail, FIRSTNAME, ORDER_ID, orderStatus);
 
-        verify(templateEngine).process(eq("email"), any(Context.class));
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(emailRenderer).renderStatusEmail(eq(FIRSTNAME), eq(ORDER_ID), eq(orderStatus));
+        verify(emailOutboxRepository).save(any(EmailOutboxMessage.class));
+        verify(mailSender, never()).send(any(MimeMessage.class));
     }
 
     private void assertException(Class<? extends Exception> expectedExceptionType,
@@ -162,9 +214,23 @@ class EmailSenderServiceTest {
         assertEquals(expectedMessage, actualMessage);
     }
 
-    private void mockEmailProcessing() {
-        String expectedEmailContent = "Expected Email Content";
-        when(templateEngine.process(eq("email"), any(Context.class))).thenReturn(expectedEmailContent);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+    private EmailOutboxMessage buildOutboxMessage(Long messageId) {
+        return EmailOutboxMessage
+                .builder()
+                .id(messageId)
+                .recipient(emailRecipient)
+                .subject(msgSubject)
+                .content(emailContent)
+                .build();
+    }
+
+    private void mockConfirmEmailRendering(ConfirmationTokenType tokenType) {
+        when(emailRenderer.renderConfirmEmail(eq(FIRSTNAME), eq(confirmToken), eq(tokenType)))
+                .thenReturn(new EmailContentDto(msgSubject, emailContent));
+    }
+
+    private <T extends Enum<T> & StatusProvider> void mockStatusEmailRendering(T status) {
+        when(emailRenderer.renderStatusEmail(eq(FIRSTNAME), eq(ORDER_ID), eq(status)))
+                .thenReturn(new EmailContentDto(msgSubject, emailContent));
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.cache.ImageContentCache;
+import com.kopchak.worldoftoys.repository.image.ImageVariantRepository;
+import com.kopchak.worldoftoys.storage.ImageStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageCleanupServiceTest {
+    private final static int CHUNK_SIZE = 2;
+
+    @Mock
+    private ImageVariantRepository imageVariantRepository;
+    @Mock
+    private ImageStorage imageStorage;
+    @Mock
+    private ImageContentCache imageContentCache;
+
+    @InjectMocks
+    private ImageCleanupService imageCleanupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(imageCleanupService, "CHUNK_SIZE", CHUNK_SIZE);
+        ReflectionTestUtils.setField(imageCleanupService, "GRACE_PERIOD", Duration.ofDays(1));
+    }
+
+    @Test
+    public void deleteOrphanImages_SeveralChunks_DeletesOnlyUnreferencedImages() {
+        when(imageStorage.findHashesStoredBefore(any())).thenReturn(Stream.of("hash1", "hash2", "hash3"));
+        when(imageVariantRepository.findReferencedHashes(eq(List.of("hash1", "hash2")))).thenReturn(Set.of("hash1"));
+        when(imageVariantRepository.findReferencedHashes(eq(List.of("hash3")))).thenReturn(Set.of());
+        when(imageStorage.deleteIfStoredBefore(any(), any())).thenReturn(true);
+        Instant cleanedUpAt = Instant.now();
+
+        imageCleanupService.deleteOrphanImages();
+
+        verify(imageStorage).deleteIfStoredBefore(eq("hash2"), any());
+        verify(imageStorage).deleteIfStoredBefore(eq("hash3"), any());
+        verify(imageStorage, never()).deleteIfStoredBefore(eq("hash1"), any());
+        verify(imageContentCache).evictAll(eq(List.of("hash2")));
+        verify(imageContentCache).evictAll(eq(List.of("hash3")));
+        verify(imageStorage).findHashesStoredBefore(argThat(storedBefore ->
+                !storedBefore.isAfter(cleanedUpAt.minus(Duration.ofDays(1)).plusSeconds(1))));
+    }
+
+    @Test
+    public void deleteOrphanImages_ImageReusedDuringCleanup_DoesNotEvictImage() {
+        when(imageStorage.findHashesStoredBefore(any())).thenReturn(Stream.of("hash1"));
+        when(imageVariantRepository.findReferencedHashes(eq(List.of("hash1")))).thenReturn(Set.of());
+        when(imageStorage.deleteIfStoredBefore(eq("hash1"), any())).thenReturn(false);
+
+        imageCleanupService.deleteOrphanImages();
+
+        verifyNoInteractions(imageContentCache);
+    }
+
+    @Test
+    public void deleteOrphanImages_NoStoredImages_DeletesNothing() {
+        when(imageStorage.findHashesStoredBefore(any())).thenReturn(Stream.empty());
+
+        imageCleanupService.deleteOrphanImages();
+
+        verifyNoInteractions(imageVariantRepository, imageContentCache);
+        assertThat(mockingDetails(imageStorage).getInvocations()).hasSize(1);
+    }
+}
@@ -1,52 +1,81 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.ImageContentCache;
 import com.kopchak.worldoftoys.domain.image.Image;
+import com.kopchak.worldoftoys.domain.image.ImageSize;
+import com.kopchak.worldoftoys.domain.image.ImageVariant;
 import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.dto.image.ImageContentDto;
 import com.kopchak.worldoftoys.dto.image.ImageDto;
-import com.kopchak.worldoftoys.exception.exception.image.ImageCompressionException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageProcessingException;
 import com.kopchak.worldoftoys.exception.exception.image.ImageExceedsMaxSizeException;
+import com.kopchak.worldoftoys.exception.exception.image.ImageNotFoundException;
 import com.kopchak.worldoftoys.exception.exception.image.InvalidImageFileFormatException;
+import com.kopchak.worldoftoys.repository.image.ImageVariantRepository;
+import com.kopchak.worldoftoys.storage.ImageStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Base64;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @Transactional
 @ExtendWith(MockitoExtension.class)
 class ImageServiceTest {
     @InjectMocks
     private ImageService imageService;
+    @Mock
+    private ImageVariantRepository imageVariantRepository;
+    @Mock
+    private ImageStorage imageStorage;
+    @Spy
+    private ImageContentCache imageContentCache = new ImageContentCache(1_000, 100, new SimpleMeterRegistry());
 
     private final static String FILENAME = "filename";
     private final static String IMAGE_CONTENT_TYPE = "image/jpg";
+    private final static Integer IMAGE_ID = 1;
+    private final static String IMAGE_HASH = "hash";
     private final static MultipartFile MULTIPART_FILE = mock(MultipartFile.class);
 
     private Product product;
     private byte[] imageBytes;
     private Image image;
+    private Map<String, byte[]> storedImages;
 
     @BeforeEach
     void setUp() {
         product = new Product();
+        storedImages = new HashMap<>();
         imageBytes = "image".getBytes();
         image = Image.builder()
                 .name(FILENAME)
-                .image(imageBytes)
                 .type(IMAGE_CONTENT_TYPE)
                 .build();
     }
@@ -56,19 +85,38 @@ class ImageServiceTest {
         String imageExtension = ".jpg";
         String namePattern = FILENAME.concat("[a-zA-Z0-9]{4}").concat(imageExtension);
         Pattern pattern = Pattern.compile(namePattern, Pattern.CASE_INSENSITIVE);
+        byte[] jpegImageBytes = createJpegImageBytes(1000, 500);
 
         when(MULTIPART_FILE.getOriginalFilename()).thenReturn(FILENAME);
         when(MULTIPART_FILE.getContentType()).thenReturn(IMAGE_CONTENT_TYPE);
-        when(MULTIPART_FILE.getBytes()).thenReturn(imageBytes);
+        when(MULTIPART_FILE.getBytes()).thenReturn(jpegImageBytes);
+        mockImageStorage();
 
         Optional<Image> returnedImage = imageService.convertMultipartFileToImage(MULTIPART_FILE, product);
 
         assertThat(returnedImage).isPresent();
-        assertThat(returnedImage.get().getImage()).isNotNull();
-        assertThat(returnedImage.get().getImage()).isNotEmpty();
         assertThat(returnedImage.get().getProduct()).isEqualTo(product);
         assertThat(returnedImage.get().getType()).isEqualTo(IMAGE_CONTENT_TYPE);
         assertThat(pattern.matcher(returnedImage.get().getName()).find()).isTrue();
+        assertThat(returnedImage.get().getVariants()).hasSize(ImageSize.values().length);
+        assertImageVariant(returnedImage.get(), ImageSize.THUMBNAIL, 240, 120);
+        assertImageVariant(returnedImage.get(), ImageSize.MEDIUM, 720, 360);
+        assertThat(storedImages.get(getImageVariant(returnedImage.get(), ImageSize.FULL).getHash()))
+                .isEqualTo(jpegImageBytes);
+    }
+
+    @Test
+    public void convertMultipartFileToImage_NonDecodableImage_ThrowsInvalidImageFileFormatException()
+            throws IOException {
+        String invalidImageFileFormatExceptionMsg =
+                String.format("The file with name: %s must have an image type", FILENAME);
+
+        when(MULTIPART_FILE.getOriginalFilename()).thenReturn(FILENAME);
+        when(MULTIPART_FILE.getContentType()).thenReturn(IMAGE_CONTENT_TYPE);
+        when(MULTIPART_FILE.getBytes()).thenReturn(imageBytes);
+
+        assertException(InvalidImageFileFormatException.class, invalidImageFileFormatExceptionMsg,
+                () -> imageService.convertMultipartFileToImage(MULTIPART_FILE, product));
     }
 
     @Test
@@ -99,33 +147,142 @@ class ImageServiceTest {
     }
 
     @Test
-    public void convertMultipartFileToImage_ThrowIOException_ThrowsImageCompressionException() throws IOException {
-        String imageCompressionExceptionMsg = String.format("The image with name: %s cannot be compressed", FILENAME);
+    public void convertMultipartFileToImage_ThrowIOException_ThrowsImageProcessingException() throws IOException {
+        String imageProcessingExceptionMsg = String.format("The image with name: %s cannot be read", FILENAME);
 
         when(MULTIPART_FILE.getOriginalFilename()).thenReturn(FILENAME);
         when(MULTIPART_FILE.getContentType()).thenReturn(IMAGE_CONTENT_TYPE);
         when(MULTIPART_FILE.getBytes()).thenThrow(new IOException());
 
-        assertException(ImageCompressionException.class, imageCompressionExceptionMsg,
+        assertException(ImageProcessingException.class, imageProcessingExceptionMsg,
                 () -> imageService.convertMultipartFileToImage(MULTIPART_FILE, product));
     }
 
     @Test
-    public void decompressImage_Image_ReturnsOptionalOfImageDto() {
-        String base64CompressedImageData = "eNrrDPBz5+WS4mJgYOD19HAJAtKsIMzBAiTV097lASmFZI8gXwaGKjUGhoYWBoZfQKGGF" +
-                "wwMpQYMDK8SGBisZjAwiBfM2RVoA5RgSvJ2d2H4395/Zj+Qx1ngEVnMwMA3C4QZ26eLuwEF2Us8fV3Zn3PxCIsLR6z79wgoZOHp" +
-                "4hjCcZ314EbeBgUGhg1SncyFD/X1kr4wnhf8eexky9ECxm0qZzNbb3+wyunm3CXl06/RUbPp0ab/Fn+5e9evWXcHaIZqiWtESUp" +
-                "iSapVclEqkGIwMjAy1jU00DU0CjG0tDIytjK01DYwsDIwWFC26SiKhtz8lMy0StwaLmpzVQI1aMA1lGTmphaXJOYW4NbTZqe9DKh" +
-                "HEqQnOD+tpDyxKJWhvLxcLzMvuzg5sSBVL78offY7GymgIgZPVz+XdU4JTQAvPnSb";
-        byte[] compressedImageData = Base64.getDecoder().decode(base64CompressedImageData);
-        image.setImage(compressedImageData);
-
-        Optional<ImageDto> imageDto = imageService.decompressImage(image);
-
-        assertThat(imageDto).isPresent();
-        assertThat(imageDto.get().name()).isEqualTo(FILENAME);
-        assertThat(imageDto.get().type()).isEqualTo(IMAGE_CONTENT_TYPE);
-        assertThat(imageDto.get().image()).isNotEmpty();
+    public void getImageContent_ExistentImageVariant_ReturnsImageContentDto() throws IOException {
+        Resource imageResource = new ByteArrayResource(imageBytes);
+        image.setUploadedAt(LocalDateTime.now());
+        ImageVariant imageVariant = ImageVariant
+                .builder()
+                .image(image)
+                .size(ImageSize.THUMBNAIL)
+                .type(IMAGE_CONTENT_TYPE)
+                .hash(IMAGE_HASH)
+                .contentLength((long) imageBytes.length)
+                .build();
+
+        when(imageVariantRepository.findByImage_IdAndSize(eq(IMAGE_ID), eq(ImageSize.THUMBNAIL)))
+                .thenReturn(Optional.of(imageVariant));
+        when(imageStorage.load(eq(IMAGE_HASH))).thenReturn(imageResource);
+
+        ImageContentDto imageContentDto = imageService.getImageContent(IMAGE_ID, ImageSize.THUMBNAIL);
+
+        assertThat(imageContentDto.name()).isEqualTo(FILENAME);
+        assertThat(imageContentDto.type()).isEqualTo(IMAGE_CONTENT_TYPE);
+        assertThat(imageContentDto.content().getContentAsByteArray()).isEqualTo(imageBytes);
+        assertThat(imageContentDto.contentLength()).isEqualTo(imageBytes.length);
+        assertThat(imageContentDto.eTag()).isEqualTo(IMAGE_HASH);
+        assertThat(imageContentDto.lastModified()).isNotNull();
+    }
+
+    @Test
+    public void getImageContent_RepeatedSmallImageVariant_ReadsImageStorageOnce() {
+        ImageVariant imageVariant = buildImageVariant(ImageSize.THUMBNAIL, imageBytes.length);
+
+        when(imageVariantRepository.findByImage_IdAndSize(eq(IMAGE_ID), eq(ImageSize.THUMBNAIL)))
+                .thenReturn(Optional.of(imageVariant));
+        when(imageStorage.load(eq(IMAGE_HASH))).thenReturn(new ByteArrayResource(imageBytes));
+
+        imageService.getImageContent(IMAGE_ID, ImageSize.THUMBNAIL);
+        imageService.getImageContent(IMAGE_ID, ImageSize.THUMBNAIL);
+
+        verify(imageStorage, times(1)).load(eq(IMAGE_HASH));
+    }
+
+    @Test
+    public void getImageContent_LargeImageVariant_StreamsStoredResourceWithoutCaching() {
+        Resource imageResource = new ByteArrayResource(new byte[101]);
+        ImageVariant imageVariant = buildImageVariant(ImageSize.FULL, 101);
+
+        when(imageVariantRepository.findByImage_IdAndSize(eq(IMAGE_ID), eq(ImageSize.FULL)))
+                .thenReturn(Optional.of(imageVariant));
+        when(imageStorage.load(eq(IMAGE_HASH))).thenReturn(imageResource);
+
+        ImageContentDto firstImageContentDto = imageService.getImageContent(IMAGE_ID, ImageSize.FULL);
+        imageService.getImageContent(IMAGE_ID, ImageSize.FULL);
+
+        assertThat(firstImageContentDto.content()).isSameAs(imageResource);
+        verify(imageStorage, times(2)).load(eq(IMAGE_HASH));
+        verify(imageContentCache, never()).get(any(), any());
+    }
+
+    @Test
+    public void getImageContent_NonExistentImageVariant_ThrowsImageNotFoundException() {
+        String imageNotFoundExceptionMsg = String.format("The image with id: %d is not found.", IMAGE_ID);
+
+        when(imageVariantRepository.findByImage_IdAndSize(eq(IMAGE_ID), eq(ImageSize.FULL)))
+                .thenReturn(Optional.empty());
+
+        assertException(ImageNotFoundException.class, imageNotFoundExceptionMsg,
+                () -> imageService.getImageContent(IMAGE_ID, ImageSize.FULL));
+        verify(imageStorage, never()).load(any());
+    }
+
+    @Test
+    public void toImageDto_Image_ReturnsImageDtoWithUrl() {
+        image.setId(IMAGE_ID);
+
+        ImageDto imageDto = imageService.toImageDto(image, ImageSize.THUMBNAIL);
+
+        assertThat(imageDto.name()).isEqualTo(FILENAME);
+        assertThat(imageDto.type()).isEqualTo(IMAGE_CONTENT_TYPE);
+        assertThat(imageDto.url()).isEqualTo("/api/v1/images/" + IMAGE_ID + "?size=thumbnail");
+    }
+
+    private void mockImageStorage() {
+        when(imageStorage.store(any())).thenAnswer(invocation -> {
+            byte[] content = invocation.getArgument(0);
+            String hash = DigestUtils.md5DigestAsHex(content);
+            storedImages.put(hash, content);
+            return hash;
+        });
+    }
+
+    private byte[] createJpegImageBytes(int width, int height) throws IOException {
+        BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(bufferedImage, "jpeg", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private ImageVariant getImageVariant(Image image, ImageSize size) {
+        return image.getVariants().stream()
+                .filter(imageVariant -> imageVariant.getSize() == size)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void assertImageVariant(Image image, ImageSize size, int expectedWidth, int expectedHeight)
+            throws IOException {
+        ImageVariant imageVariant = getImageVariant(image, size);
+        byte[] variantContent = storedImages.get(imageVariant.getHash());
+        BufferedImage variantImage = ImageIO.read(new ByteArrayInputStream(variantContent));
+        assertThat(imageVariant.getContentLength()).isEqualTo(variantContent.length);
+        assertThat(imageVariant.getType()).isEqualTo("image/jpeg");
+        assertThat(imageVariant.getImage()).isEqualTo(image);
+        assertThat(variantImage.getWidth()).isEqualTo(expectedWidth);
+        assertThat(variantImage.getHeight()).isEqualTo(expectedHeight);
+    }
+
+    private ImageVariant buildImageVariant(ImageSize size, long contentLength) {
+        return ImageVariant
+                .builder()
+                .image(image)
+                .size(size)
+                .type(IMAGE_CONTENT_TYPE)
+                .hash(IMAGE_HASH)
+                .contentLength(contentLength)
+                .build();
     }
 
     private void assertException(Class<? extends Exception> expectedExceptionType, String expectedMessage,
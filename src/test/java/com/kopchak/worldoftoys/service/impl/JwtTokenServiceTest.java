@@ -1,28 +1,41 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.UserDetailsCache;
+import com.kopchak.worldoftoys.config.JwtProperties;
 import com.kopchak.worldoftoys.domain.token.auth.AuthTokenType;
 import com.kopchak.worldoftoys.domain.token.auth.AuthenticationToken;
 import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.domain.user.Role;
 import com.kopchak.worldoftoys.dto.token.AccessAndRefreshTokensDto;
 import com.kopchak.worldoftoys.dto.token.AuthTokenDto;
+import com.kopchak.worldoftoys.dto.token.AuthTokenIdDto;
 import com.kopchak.worldoftoys.exception.exception.token.JwtTokenException;
 import com.kopchak.worldoftoys.exception.exception.token.TokenAlreadyExistException;
 import com.kopchak.worldoftoys.repository.token.AuthTokenRepository;
 import com.kopchak.worldoftoys.repository.user.UserRepository;
+import com.kopchak.worldoftoys.security.AuthTokenHasher;
+import com.kopchak.worldoftoys.security.AuthTokenRevocationList;
+import com.kopchak.worldoftoys.security.JwtKeys;
+import com.kopchak.worldoftoys.security.ParsedAuthToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -39,6 +52,16 @@ class JwtTokenServiceTest {
     @Mock
     private AuthTokenRepository authTokenRepository;
 
+    @Mock
+    private AuthTokenRevocationList authTokenRevocationList;
+
+    @Spy
+    private JwtKeys jwtKeys = new JwtKeys(new JwtProperties("testsecretkey".repeat(20), "primary", Map.of()));
+
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache(Duration.ofMinutes(5), 100,
+            new SimpleMeterRegistry());
+
     @InjectMocks
     @Spy
     private JwtTokenService jwtTokenService;
@@ -53,80 +76,57 @@ class JwtTokenServiceTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(jwtTokenService, "SECRET_KEY", "testsecretkey".repeat(20));
         username = "user@example.com";
         invalidToken = "invalid-token";
         accessTokenType = AuthTokenType.ACCESS;
-        user = AppUser.builder().email(username).build();
+        user = AppUser.builder().id(1).email(username).role(Role.ROLE_USER).locked(false).enabled(true).build();
         validAuthTokenDto = AuthTokenDto.builder().token(VALID_TOKEN).build();
     }
 
     @Test
-    public void extractUsername_ValidToken_ReturnsString() throws JwtTokenException {
-        String validToken = getValidToken();
+    public void parseAuthToken_GeneratedAccessToken_ReturnsParsedAuthToken() {
+        String accessToken = jwtTokenService.generateAuthTokens(user).accessToken();
 
-        String actualUsername = jwtTokenService.extractUsername(validToken);
+        ParsedAuthToken parsedToken = jwtTokenService.parseAuthToken(accessToken);
 
-        assertThat(actualUsername).isNotNull();
-        assertThat(actualUsername).isEqualTo(username);
+        assertThat(parsedToken.token()).isEqualTo(accessToken);
+        assertThat(parsedToken.username()).isEqualTo(username);
+        assertThat(parsedToken.tokenType()).isEqualTo(AuthTokenType.ACCESS);
+        assertFalse(parsedToken.isExpired());
     }
 
     @Test
-    public void extractUsername_InvalidToken_ThrowsJwtTokenException() {
-        String jwtTokenExceptionMsg = "Failed to extract expiration date from token: " +
-                "JWT strings must contain exactly 2 period characters. Found: 0";
-
-        assertException(JwtTokenException.class, jwtTokenExceptionMsg,
-                () -> jwtTokenService.extractUsername(invalidToken));
-    }
-
-    @Test
-    public void isAuthTokenValid_ValidToken_ReturnsTrue() throws JwtTokenException {
-        String validToken = getValidToken();
+    public void isAuthTokenValid_ParsedValidToken_ReturnsTrue() {
+        ParsedAuthToken parsedToken = jwtTokenService.parseAuthToken(getValidToken());
         AuthenticationToken validAuthToken = AuthenticationToken
                 .builder()
-                .token(validToken)
+                .tokenHash(AuthTokenHasher.hash(VALID_TOKEN))
                 .tokenType(accessTokenType)
-                .revoked(false)
-                .expired(false)
                 .user(user)
                 .build();
 
-        when(authTokenRepository.findByToken(validToken)).thenReturn(Optional.of(validAuthToken));
-        doReturn(username).when(jwtTokenService).extractUsername(validToken);
+        when(authTokenRepository.findByToken(VALID_TOKEN)).thenReturn(Optional.of(validAuthToken));
         when(userRepository.findByEmail(username)).thenReturn(Optional.of(user));
 
-        boolean isValid = jwtTokenService.isAuthTokenValid(validToken, accessTokenType);
-
-        assertTrue(isValid);
+        assertTrue(jwtTokenService.isAuthTokenValid(parsedToken, accessTokenType));
     }
 
     @Test
-    public void isAuthTokenValid_TokenThatIsNotPresent_ReturnsFalse() throws JwtTokenException {
-        boolean isValid = jwtTokenService.isAuthTokenValid(invalidToken, accessTokenType);
+    public void isAuthTokenValid_ParsedTokenThatIsNotPresent_ReturnsFalse() {
+        ParsedAuthToken parsedToken = jwtTokenService.parseAuthToken(getValidToken());
+
+        boolean isValid = jwtTokenService.isAuthTokenValid(parsedToken, accessTokenType);
 
         assertFalse(isValid);
     }
 
     @Test
-    public void isAuthTokenValid_TokenExpiredException_ReturnsFalse() throws JwtTokenException {
-        AuthenticationToken invalidAuthToken = AuthenticationToken
-                .builder()
-                .token(invalidToken)
-                .tokenType(accessTokenType)
-                .revoked(false)
-                .expired(true)
-                .user(user)
-                .build();
-        String jwtTokenExceptionMsg = "Failed to extract expiration date from token: " +
+    public void parseAuthToken_InvalidToken_ThrowsJwtTokenException() {
+        String jwtTokenExceptionMsg = "Failed to parse authentication token: " +
                 "JWT strings must contain exactly 2 period characters. Found: 0";
 
-        when(authTokenRepository.findByToken(eq(invalidToken))).thenReturn(Optional.of(invalidAuthToken));
-        doReturn(username).when(jwtTokenService).extractUsername(eq(invalidToken));
-        when(userRepository.findByEmail(eq(username))).thenReturn(Optional.of(user));
-
         assertException(JwtTokenException.class, jwtTokenExceptionMsg,
-                () -> jwtTokenService.isAuthTokenValid(this.invalidToken, accessTokenType));
+                () -> jwtTokenService.parseAuthToken(invalidToken));
     }
 
     @Test
@@ -138,6 +138,79 @@ class JwtTokenServiceTest {
         assertThat(accessAndRefreshTokensDto.refreshToken()).isNotNull();
     }
 
+    @Test
+    public void extractStatelessAccessTokenUser_NonRevokedAccessToken_ReturnsUserFromClaims() {
+        String accessToken = jwtTokenService.generateAuthTokens(user).accessToken();
+
+        Optional<AppUser> actualUser = jwtTokenService.extractStatelessAccessTokenUser(jwtTokenService.parseAuthToken(accessToken));
+
+        assertTrue(actualUser.isPresent());
+        assertThat(actualUser.get().getId()).isEqualTo(user.getId());
+        assertThat(actualUser.get().getUsername()).isEqualTo(username);
+        assertThat(actualUser.get().getRole()).isEqualTo(Role.ROLE_USER);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void extractStatelessAccessTokenUser_RevokedAccessToken_ReturnsEmptyOptional() {
+        String accessToken = jwtTokenService.generateAuthTokens(user).accessToken();
+
+        when(authTokenRevocationList.isRevoked(anyString())).thenReturn(true);
+
+        assertFalse(jwtTokenService.extractStatelessAccessTokenUser(jwtTokenService.parseAuthToken(accessToken)).isPresent());
+    }
+
+    @Test
+    public void extractStatelessAccessTokenUser_TokenOfLockedUser_ReturnsEmptyOptional() {
+        user.setLocked(true);
+        String accessToken = jwtTokenService.generateAuthTokens(user).accessToken();
+
+        assertFalse(jwtTokenService.extractStatelessAccessTokenUser(jwtTokenService.parseAuthToken(accessToken)).isPresent());
+    }
+
+    @Test
+    public void extractStatelessAccessTokenUser_TokenOfDisabledUser_ReturnsEmptyOptional() {
+        user.setEnabled(false);
+        String accessToken = jwtTokenService.generateAuthTokens(user).accessToken();
+
+        assertFalse(jwtTokenService.extractStatelessAccessTokenUser(jwtTokenService.parseAuthToken(accessToken)).isPresent());
+    }
+
+    @Test
+    public void extractStatelessAccessTokenUser_RefreshToken_ReturnsEmptyOptional() {
+        String refreshToken = jwtTokenService.generateAuthTokens(user).refreshToken();
+
+        assertFalse(jwtTokenService.extractStatelessAccessTokenUser(jwtTokenService.parseAuthToken(refreshToken)).isPresent());
+    }
+
+    @Test
+    public void revokeAllUserAuthTokens_StatelessValidation_AddsActiveTokensToRevocationList() {
+        ReflectionTestUtils.setField(jwtTokenService, "STATELESS_VALIDATION", true);
+        var activeTokenId = new AuthTokenIdDto("token-id", LocalDateTime.now().plusHours(1));
+
+        when(authTokenRepository.findActiveUserTokenIds(eq(user))).thenReturn(List.of(activeTokenId));
+
+        jwtTokenService.revokeAllUserAuthTokens(user);
+
+        verify(authTokenRevocationList).revoke(eq("token-id"), any(Instant.class));
+        verify(authTokenRepository).revokeActiveUserAuthTokens(user);
+    }
+
+    @Test
+    public void generateAuthTokens_ExistingUser_SavesTokenHashesInsteadOfTokens() {
+        ArgumentCaptor<AuthenticationToken> authTokenCaptor = ArgumentCaptor.forClass(AuthenticationToken.class);
+
+        AccessAndRefreshTokensDto accessAndRefreshTokensDto = jwtTokenService.generateAuthTokens(user);
+
+        verify(authTokenRepository, times(2)).save(authTokenCaptor.capture());
+        AuthenticationToken savedAccessToken = authTokenCaptor.getAllValues().get(0);
+        assertThat(savedAccessToken.getTokenHash())
+                .isEqualTo(AuthTokenHasher.hash(accessAndRefreshTokensDto.accessToken()));
+        assertThat(savedAccessToken.getTokenId())
+                .isEqualTo(jwtTokenService.parseAuthToken(accessAndRefreshTokensDto.accessToken()).tokenId());
+        assertTrue(savedAccessToken.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
     @Test
     public void refreshAccessToken_ValidAuthToken_ReturnsAuthTokenDto() throws JwtTokenException, TokenAlreadyExistException {
         AuthenticationToken authToken = AuthenticationToken.builder().tokenType(AuthTokenType.REFRESH).build();
@@ -154,12 +227,25 @@ class JwtTokenServiceTest {
     @Test
     public void refreshAccessToken_InvalidAuthToken_ThrowsJwtTokenException() {
         var ivalidAuthTokenDto = AuthTokenDto.builder().token(invalidToken).build();
-        String jwtTokenExceptionMsg = "The refresh token is invalid!";
+        String jwtTokenExceptionMsg = "Failed to parse authentication token: " +
+                "JWT strings must contain exactly 2 period characters. Found: 0";
 
         assertException(JwtTokenException.class, jwtTokenExceptionMsg,
                 () -> jwtTokenService.refreshAccessToken(ivalidAuthTokenDto));
     }
 
+    @Test
+    public void refreshAccessToken_AccessTokenInsteadOfRefreshToken_ThrowsJwtTokenException() {
+        AuthenticationToken authToken = AuthenticationToken.builder().tokenType(AuthTokenType.ACCESS).build();
+        String jwtTokenExceptionMsg = "The refresh token is invalid!";
+
+        when(authTokenRepository.findByToken(eq(VALID_TOKEN))).thenReturn(Optional.of(authToken));
+        when(userRepository.findByEmail(eq(username))).thenReturn(Optional.of(user));
+
+        assertException(JwtTokenException.class, jwtTokenExceptionMsg,
+                () -> jwtTokenService.refreshAccessToken(validAuthTokenDto));
+    }
+
     @Test
     public void refreshAccessToken_ActiveAuthTokenExists_ThrowsTokenAlreadyExistException() {
         AuthenticationToken authToken = AuthenticationToken.builder().tokenType(AuthTokenType.REFRESH).build();
@@ -3,6 +3,9 @@ package com.kopchak.worldoftoys.service.impl;
 import com.kopchak.worldoftoys.domain.token.auth.AuthenticationToken;
 import com.kopchak.worldoftoys.domain.user.AppUser;
 import com.kopchak.worldoftoys.repository.token.AuthTokenRepository;
+import com.kopchak.worldoftoys.security.AuthTokenHasher;
+import com.kopchak.worldoftoys.security.ParsedAuthToken;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
@@ -23,6 +26,9 @@ class LogoutServiceTest {
     @Mock
     private AuthTokenRepository authTokenRepository;
 
+    @Mock
+    private JwtTokenService jwtTokenService;
+
     @InjectMocks
     private LogoutService logoutService;
 
@@ -45,7 +51,7 @@ class LogoutServiceTest {
                 .build();
         AuthenticationToken authToken = AuthenticationToken
                 .builder()
-                .token(validJwtToken)
+                .tokenHash(AuthTokenHasher.hash(validJwtToken))
                 .user(user)
                 .build();
 
@@ -56,10 +62,32 @@ class LogoutServiceTest {
 
         verify(authTokenRepository).findByToken(eq(validJwtToken));
         verify(authTokenRepository).save(eq(authToken));
+        verify(jwtTokenService).revokeAuthToken(eq(validJwtToken));
         assertTrue(authToken.isRevoked());
         assertTrue(authToken.isExpired());
     }
 
+    @Test
+    public void logout_AuthenticationWithParsedToken_RevokesTokenWithoutReadingHeader() {
+        String validJwtToken = "valid-jwt-token";
+        ParsedAuthToken parsedToken = new ParsedAuthToken(validJwtToken, Jwts.claims());
+        AuthenticationToken authToken = AuthenticationToken
+                .builder()
+                .tokenHash(AuthTokenHasher.hash(validJwtToken))
+                .user(AppUser.builder().email("test@gmail.com").build())
+                .build();
+
+        when(authentication.getCredentials()).thenReturn(parsedToken);
+        when(authTokenRepository.findByToken(eq(validJwtToken))).thenReturn(Optional.of(authToken));
+
+        logoutService.logout(request, response, authentication);
+
+        verify(request, never()).getHeader(any());
+        verify(authTokenRepository).save(eq(authToken));
+        verify(jwtTokenService).revokeAuthToken(eq(parsedToken));
+        assertTrue(authToken.isRevoked());
+    }
+
     @Test
     public void logout_InvalidAuthorizationHeader() {
         logoutService.logout(request, response, authentication);
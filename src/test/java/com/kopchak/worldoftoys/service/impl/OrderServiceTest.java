@@ -11,26 +11,35 @@ import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.user.AppUser;
 import com.kopchak.worldoftoys.dto.admin.order.FilteredOrdersPageDto;
 import com.kopchak.worldoftoys.dto.admin.order.FilteringOrderOptionsDto;
+import com.kopchak.worldoftoys.dto.admin.order.OrdersStatusUpdateDto;
 import com.kopchak.worldoftoys.dto.admin.order.StatusDto;
+import com.kopchak.worldoftoys.dto.email.StatusEmailRecipientDto;
 import com.kopchak.worldoftoys.dto.order.OrderDto;
 import com.kopchak.worldoftoys.dto.order.OrderRecipientDto;
+import com.kopchak.worldoftoys.dto.order.OrderStatusRecipientDto;
+import com.kopchak.worldoftoys.dto.product.ProductStockDto;
 import com.kopchak.worldoftoys.exception.exception.email.MessageSendingException;
 import com.kopchak.worldoftoys.exception.exception.order.OrderNotFoundException;
+import com.kopchak.worldoftoys.exception.exception.order.OrderStatusConflictException;
 import com.kopchak.worldoftoys.exception.exception.order.InvalidOrderStatusException;
 import com.kopchak.worldoftoys.exception.exception.order.OrderCreationException;
 import com.kopchak.worldoftoys.mapper.order.OrderMapper;
 import com.kopchak.worldoftoys.mapper.order.OrderRecipientMapper;
 import com.kopchak.worldoftoys.repository.cart.CartItemRepository;
-import com.kopchak.worldoftoys.repository.order.OrderDetailsRepository;
+import com.kopchak.worldoftoys.repository.order.OrderDetailsBatchRepository;
 import com.kopchak.worldoftoys.repository.order.OrderRepository;
-import com.kopchak.worldoftoys.repository.product.ProductRepository;
+import com.kopchak.worldoftoys.repository.product.ProductStockRepository;
 import com.kopchak.worldoftoys.repository.specifications.OrderSpecifications;
+import com.kopchak.worldoftoys.search.CatalogIndex;
+import com.kopchak.worldoftoys.transaction.AfterCommitExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +49,8 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -60,17 +71,23 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
-    private OrderDetailsRepository orderDetailsRepository;
+    private OrderDetailsBatchRepository orderDetailsBatchRepository;
     @Mock
-    private ProductRepository productRepository;
+    private ProductStockRepository productStockRepository;
     @Mock
     private OrderSpecifications orderSpecifications;
     @Mock
     private EmailSenderService emailSenderService;
+    @Mock
+    private CatalogIndex catalogIndex;
+    @Spy
+    private AfterCommitExecutor afterCommitExecutor;
     @InjectMocks
     private OrderService orderService;
 
     private final static String ORDER_ID = "order-id";
+    private final static Integer PRODUCT_ID = 1;
+    private final static String SECOND_ORDER_ID = "second-order-id";
     private final static String USER_EMAIL = "user@test.com";
     private final String USER_FIRSTNAME = "Firstname";
     private final static OrderStatus NEW_ORDER_STATUS = OrderStatus.CANCELED;
@@ -99,21 +116,64 @@ class OrderServiceTest {
 
     @Test
     public void createOrder_CartIsNotEmpty() throws OrderCreationException {
-        Product product = Product.builder().availableQuantity(BigInteger.TWO).build();
-        CartItem cartItem = CartItem.builder().id(new CartItemId(user, product)).quantity(BigInteger.ONE).build();
+        Product product = Product.builder().id(PRODUCT_ID).price(BigDecimal.valueOf(500))
+                .availableQuantity(BigInteger.TWO).build();
+        CartItem cartItem = CartItem.builder().id(new CartItemId(user, product)).quantity(BigInteger.TWO).build();
         OrderRecipient orderRecipient = OrderRecipient.builder().build();
         Set<OrderDetails> expectedOrderDetailsSet = Set.of(OrderDetails.builder().build());
+        ProductStockDto productStockDto = new ProductStockDto(PRODUCT_ID, true, BigInteger.ZERO);
 
-        when(cartItemRepository.calculateUserCartTotalPrice(eq(user))).thenReturn(BigDecimal.valueOf(1000));
-        when(cartItemRepository.deleteAllById_User(eq(user))).thenReturn(Set.of(cartItem));
+        when(cartItemRepository.findAllUserCartItemsWithProducts(eq(user))).thenReturn(Set.of(cartItem));
+        when(cartItemRepository.deleteAllUserCartItems(eq(user))).thenReturn(1);
+        when(productStockRepository.decreaseAvailableQuantities(eq(Map.of(PRODUCT_ID, BigInteger.TWO))))
+                .thenReturn(Set.of());
+        when(productStockRepository.findAllStocksById(eq(Set.of(PRODUCT_ID)))).thenReturn(List.of(productStockDto));
         when(orderRecipientMapper.toOrderRecipient(eq(orderRecipientDto))).thenReturn(orderRecipient);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(orderMapper.toOrderDetails(anySet(), any())).thenReturn(expectedOrderDetailsSet);
 
         orderService.createOrder(orderRecipientDto, user);
 
-        verify(orderRepository).save(any(Order.class));
-        verify(orderDetailsRepository).saveAll(eq(expectedOrderDetailsSet));
-        assertThat(product.getAvailableQuantity()).isEqualTo(BigInteger.ONE);
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).saveAndFlush(orderCaptor.capture());
+        verify(orderDetailsBatchRepository).insertAll(eq(expectedOrderDetailsSet));
+        verify(catalogIndex).updateAvailability(PRODUCT_ID, true, BigInteger.ZERO);
+        assertThat(orderCaptor.getValue().getTotalPrice()).isEqualTo(BigDecimal.valueOf(1000));
+        assertThat(orderCaptor.getValue().getOrderRecipient()).isEqualTo(orderRecipient);
+    }
+
+    @Test
+    public void createOrder_CartChangedConcurrently_ThrowsOrderCreationException() {
+        Product product = Product.builder().id(PRODUCT_ID).availableQuantity(BigInteger.TWO).build();
+        CartItem cartItem = CartItem.builder().id(new CartItemId(user, product)).quantity(BigInteger.ONE).build();
+        String orderCreationExceptionMsg = "It is impossible to create an order for the user " +
+                "because the user's cart has been changed during the order creation.";
+
+        when(cartItemRepository.findAllUserCartItemsWithProducts(eq(user))).thenReturn(Set.of(cartItem));
+        when(cartItemRepository.deleteAllUserCartItems(eq(user))).thenReturn(0);
+
+        assertException(OrderCreationException.class, orderCreationExceptionMsg,
+                () -> orderService.createOrder(orderRecipientDto, user));
+        verifyNoInteractions(productStockRepository, orderRepository, orderDetailsBatchRepository);
+    }
+
+    @Test
+    public void createOrder_NotEnoughProductQuantity_ThrowsOrderCreationException() {
+        String productName = "Лялька Клаймбер";
+        Product product = Product.builder().id(PRODUCT_ID).name(productName).availableQuantity(BigInteger.ONE).build();
+        CartItem cartItem = CartItem.builder().id(new CartItemId(user, product)).quantity(BigInteger.TWO).build();
+        String orderCreationExceptionMsg = String.format("It is impossible to create an order for the user " +
+                "because there is not enough quantity of the products: %s", productName);
+
+        when(cartItemRepository.findAllUserCartItemsWithProducts(eq(user))).thenReturn(Set.of(cartItem));
+        when(cartItemRepository.deleteAllUserCartItems(eq(user))).thenReturn(1);
+        when(productStockRepository.decreaseAvailableQuantities(eq(Map.of(PRODUCT_ID, BigInteger.TWO))))
+                .thenReturn(Set.of(PRODUCT_ID));
+
+        assertException(OrderCreationException.class, orderCreationExceptionMsg,
+                () -> orderService.createOrder(orderRecipientDto, user));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+        verifyNoInteractions(catalogIndex);
     }
 
     @Test
@@ -121,7 +181,7 @@ class OrderServiceTest {
         String orderCreationExceptionMsg = "It is impossible to create an order for the user " +
                 "because there are no products in the user's cart.";
 
-        when(cartItemRepository.deleteAllById_User(user)).thenReturn(new HashSet<>());
+        when(cartItemRepository.findAllUserCartItemsWithProducts(user)).thenReturn(new HashSet<>());
 
         assertException(OrderCreationException.class, orderCreationExceptionMsg,
                 () -> orderService.createOrder(orderRecipientDto, user));
@@ -229,6 +289,83 @@ class OrderServiceTest {
         verify(emailSenderService, never()).sendEmail(any(), any(), any(), any());
     }
 
+    @Test
+    public void updateOrdersStatus_ExistentOrderIds_UpdatesStatusesAndSendsEmails() {
+        var ordersStatusUpdateDto = new OrdersStatusUpdateDto(List.of(ORDER_ID, SECOND_ORDER_ID), statusDto);
+        var orderIds = Set.of(ORDER_ID, SECOND_ORDER_ID);
+        var orders = List.of(
+                new OrderStatusRecipientDto(ORDER_ID, OrderStatus.AWAITING_PAYMENT, USER_EMAIL, USER_FIRSTNAME),
+                new OrderStatusRecipientDto(SECOND_ORDER_ID, OrderStatus.SHIPPED, USER_EMAIL, USER_FIRSTNAME));
+        var expectedEmailRecipients = List.of(
+                new StatusEmailRecipientDto(USER_EMAIL, USER_FIRSTNAME, ORDER_ID),
+                new StatusEmailRecipientDto(USER_EMAIL, USER_FIRSTNAME, SECOND_ORDER_ID));
+
+        when(orderMapper.toOrderStatus(eq(statusDto))).thenReturn(NEW_ORDER_STATUS);
+        when(orderRepository.findOrderStatusRecipients(eq(orderIds))).thenReturn(orders);
+        when(orderRepository.updateOrderStatuses(eq(List.of(ORDER_ID)), eq(OrderStatus.AWAITING_PAYMENT),
+                eq(NEW_ORDER_STATUS))).thenReturn(1);
+        when(orderRepository.updateOrderStatuses(eq(List.of(SECOND_ORDER_ID)), eq(OrderStatus.SHIPPED),
+                eq(NEW_ORDER_STATUS))).thenReturn(1);
+
+        orderService.updateOrdersStatus(ordersStatusUpdateDto);
+
+        verify(emailSenderService).sendEmails(eq(expectedEmailRecipients), eq(NEW_ORDER_STATUS));
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    public void updateOrdersStatus_NonExistentOrderId_ThrowsOrderNotFoundException() {
+        var ordersStatusUpdateDto = new OrdersStatusUpdateDto(List.of(ORDER_ID, SECOND_ORDER_ID), statusDto);
+        var orders = List.of(
+                new OrderStatusRecipientDto(ORDER_ID, OrderStatus.AWAITING_PAYMENT, USER_EMAIL, USER_FIRSTNAME));
+        String orderNotFoundExceptionMsg = String.format("Orders with ids: [%s] don't exist!", SECOND_ORDER_ID);
+
+        when(orderMapper.toOrderStatus(eq(statusDto))).thenReturn(NEW_ORDER_STATUS);
+        when(orderRepository.findOrderStatusRecipients(any())).thenReturn(orders);
+
+        assertException(OrderNotFoundException.class, orderNotFoundExceptionMsg,
+                () -> orderService.updateOrdersStatus(ordersStatusUpdateDto));
+
+        verify(orderRepository, never()).updateOrderStatuses(any(), any(), any());
+        verifyNoInteractions(emailSenderService);
+    }
+
+    @Test
+    public void updateOrdersStatus_OrderWithSameStatus_ThrowsInvalidOrderStatusException() {
+        var ordersStatusUpdateDto = new OrdersStatusUpdateDto(List.of(ORDER_ID, SECOND_ORDER_ID), statusDto);
+        var orders = List.of(
+                new OrderStatusRecipientDto(ORDER_ID, OrderStatus.AWAITING_PAYMENT, USER_EMAIL, USER_FIRSTNAME),
+                new OrderStatusRecipientDto(SECOND_ORDER_ID, NEW_ORDER_STATUS, USER_EMAIL, USER_FIRSTNAME));
+        String invalidOrderStatusExceptionMsg = String.format("The status: %s of the orders with ids: [%s] " +
+                "is the same as the current status", statusDto.status(), SECOND_ORDER_ID);
+
+        when(orderMapper.toOrderStatus(eq(statusDto))).thenReturn(NEW_ORDER_STATUS);
+        when(orderRepository.findOrderStatusRecipients(any())).thenReturn(orders);
+
+        assertException(InvalidOrderStatusException.class, invalidOrderStatusExceptionMsg,
+                () -> orderService.updateOrdersStatus(ordersStatusUpdateDto));
+
+        verify(orderRepository, never()).updateOrderStatuses(any(), any(), any());
+        verifyNoInteractions(emailSenderService);
+    }
+
+    @Test
+    public void updateOrdersStatus_ConcurrentlyChangedOrder_ThrowsOrderStatusConflictException() {
+        var ordersStatusUpdateDto = new OrdersStatusUpdateDto(List.of(ORDER_ID), statusDto);
+        var orders = List.of(
+                new OrderStatusRecipientDto(ORDER_ID, OrderStatus.AWAITING_PAYMENT, USER_EMAIL, USER_FIRSTNAME));
+
+        when(orderMapper.toOrderStatus(eq(statusDto))).thenReturn(NEW_ORDER_STATUS);
+        when(orderRepository.findOrderStatusRecipients(any())).thenReturn(orders);
+        when(orderRepository.updateOrderStatuses(any(), eq(OrderStatus.AWAITING_PAYMENT), eq(NEW_ORDER_STATUS)))
+                .thenReturn(0);
+
+        assertThrows(OrderStatusConflictException.class, () -> orderService.updateOrdersStatus(ordersStatusUpdateDto));
+
+        verifyNoInteractions(emailSenderService);
+    }
+
     @Test
     public void getAllOrderStatuses_ReturnsStatusDtoSet() {
         var orderStatusesList = Arrays.asList(OrderStatus.values());
@@ -0,0 +1,281 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.cache.StripeCustomerCache;
+import com.kopchak.worldoftoys.domain.order.Order;
+import com.kopchak.worldoftoys.domain.order.OrderStatus;
+import com.kopchak.worldoftoys.domain.order.details.OrderDetails;
+import com.kopchak.worldoftoys.domain.order.payment.StripeCheckoutSession;
+import com.kopchak.worldoftoys.domain.order.payment.StripeCustomer;
+import com.kopchak.worldoftoys.domain.product.Product;
+import com.kopchak.worldoftoys.dto.payment.StripeCredentialsDto;
+import com.kopchak.worldoftoys.repository.order.OrderRepository;
+import com.kopchak.worldoftoys.repository.order.StripeCheckoutSessionRepository;
+import com.kopchak.worldoftoys.repository.order.StripeCustomerRepository;
+import com.stripe.Stripe;
+import com.stripe.exception.StripeException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PaymentServiceStripeApiTest {
+    private final static String ORDER_ID = "order-id";
+    private final static String CUSTOMER_EMAIL = "john.doe@example.com";
+    private final static String CUSTOMER_NAME = "John";
+    private final static String SEARCH_PATH = "/v1/customers/search";
+    private final static String CUSTOMERS_PATH = "/v1/customers";
+    private final static String SESSIONS_PATH = "/v1/checkout/sessions";
+    private final static String SESSION_ID = "cs_test";
+    private final static String SESSION_URL = "https://checkout.stripe.com/c/pay/cs_test";
+    private final static Pattern CUSTOMER_PARAM_PATTERN = Pattern.compile("(?:^|&)customer=([^&]+)");
+
+    private HttpServer stripeServer;
+    private Map<String, AtomicInteger> requestsAmount;
+    private List<String> sessionRequestBodies;
+    private List<String> idempotencyKeys;
+    private Set<String> deletedCustomerIds;
+    private String searchResponse;
+    private OrderRepository orderRepository;
+    private StripeCustomerRepository stripeCustomerRepository;
+    private StripeCheckoutSessionRepository checkoutSessionRepository;
+    private PaymentService paymentService;
+    private StripeCredentialsDto credentialsDto;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        requestsAmount = new ConcurrentHashMap<>();
+        sessionRequestBodies = new CopyOnWriteArrayList<>();
+        idempotencyKeys = new CopyOnWriteArrayList<>();
+        deletedCustomerIds = ConcurrentHashMap.newKeySet();
+        searchResponse = "{\"object\": \"search_result\", \"url\": \"/v1/customers/search\", \"has_more\": false, " +
+                "\"data\": []}";
+        stripeServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stripeServer.createContext(SEARCH_PATH, exchange -> respond(exchange, 200, searchResponse));
+        stripeServer.createContext(CUSTOMERS_PATH, exchange -> respond(exchange, 200,
+                "{\"id\": \"cus_created\", \"object\": \"customer\"}"));
+        stripeServer.createContext(SESSIONS_PATH, this::handleSessionCreation);
+        stripeServer.start();
+        Stripe.overrideApiBase("http://localhost:" + stripeServer.getAddress().getPort());
+
+        orderRepository = mock(OrderRepository.class);
+        stripeCustomerRepository = mock(StripeCustomerRepository.class);
+        checkoutSessionRepository = mock(StripeCheckoutSessionRepository.class);
+        StripeCustomerCache stripeCustomerCache = new StripeCustomerCache(Duration.ofMinutes(1), 100,
+                new SimpleMeterRegistry());
+        paymentService = new PaymentService(orderRepository, mock(PaymentWebhookService.class),
+                stripeCustomerRepository, stripeCustomerCache, checkoutSessionRepository);
+        ReflectionTestUtils.setField(paymentService, "STRIPE_API_KEY", "sk_test_key");
+        ReflectionTestUtils.setField(paymentService, "SESSION_REUSE_MARGIN", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(paymentService, "STRIPE_SUCCESS_URL", "https://example.com/success");
+        paymentService.init();
+
+        Product product = Product.builder().name("Лялька Клаймбер").price(BigDecimal.valueOf(850)).build();
+        Order order = Order.builder().id(ORDER_ID).orderStatus(OrderStatus.AWAITING_PAYMENT).build();
+        order.setOrderDetails(Set.of(OrderDetails.builder().order(order).product(product)
+                .quantity(BigInteger.TWO).build()));
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        credentialsDto = new StripeCredentialsDto(CUSTOMER_NAME, CUSTOMER_EMAIL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stripeServer.stop(0);
+        Stripe.overrideApiBase(Stripe.LIVE_API_BASE);
+    }
+
+    @Test
+    public void stripeCheckout_NewCustomer_CreatesAndLinksStripeCustomer() throws StripeException {
+        when(stripeCustomerRepository.findCustomerIdByEmail(CUSTOMER_EMAIL)).thenReturn(Optional.empty());
+
+        String sessionUrl = paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+
+        ArgumentCaptor<StripeCustomer> stripeCustomerCaptor = ArgumentCaptor.forClass(StripeCustomer.class);
+        verify(stripeCustomerRepository).saveAndFlush(stripeCustomerCaptor.capture());
+        assertThat(sessionUrl).isEqualTo(SESSION_URL);
+        assertThat(stripeCustomerCaptor.getValue().getEmail()).isEqualTo(CUSTOMER_EMAIL);
+        assertThat(stripeCustomerCaptor.getValue().getCustomerId()).isEqualTo("cus_created");
+        assertThat(requestsAmount(SEARCH_PATH)).isEqualTo(1);
+        assertThat(requestsAmount(CUSTOMERS_PATH)).isEqualTo(1);
+        assertThat(sessionRequestBodies).singleElement().asString().contains("customer=cus_created");
+    }
+
+    @Test
+    public void stripeCheckout_NewOrderSession_CreatesIdempotentSessionAndRegistersIt() throws StripeException {
+        when(stripeCustomerRepository.findCustomerIdByEmail(CUSTOMER_EMAIL)).thenReturn(Optional.of("cus_linked"));
+
+        paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+
+        ArgumentCaptor<StripeCheckoutSession> checkoutSessionCaptor =
+                ArgumentCaptor.forClass(StripeCheckoutSession.class);
+        verify(checkoutSessionRepository).save(checkoutSessionCaptor.capture());
+        StripeCheckoutSession checkoutSession = checkoutSessionCaptor.getValue();
+        assertThat(idempotencyKeys).containsExactly("checkout-session-order-id-cus_linked-initial");
+        assertThat(checkoutSession.getOrderId()).isEqualTo(ORDER_ID);
+        assertThat(checkoutSession.getSessionId()).isEqualTo(SESSION_ID);
+        assertThat(checkoutSession.getCustomerId()).isEqualTo("cus_linked");
+        assertThat(checkoutSession.getUrl()).isEqualTo(SESSION_URL);
+        assertThat(checkoutSession.getExpiresAt()).isAfter(LocalDateTime.now().plusHours(23));
+    }
+
+    @Test
+    public void stripeCheckout_OpenSessionOfOrder_ReturnsRegisteredSessionUrl() throws StripeException {
+        String registeredSessionUrl = "https://checkout.stripe.com/c/pay/cs_registered";
+        when(stripeCustomerRepository.findCustomerIdByEmail(CUSTOMER_EMAIL)).thenReturn(Optional.of("cus_linked"));
+        when(checkoutSessionRepository.findById(ORDER_ID)).thenReturn(Optional.of(
+                buildCheckoutSession("cs_registered", registeredSessionUrl, LocalDateTime.now().plusHours(1))));
+
+        String sessionUrl = paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+
+        verify(checkoutSessionRepository, never()).save(any());
+        assertThat(sessionUrl).isEqualTo(registeredSessionUrl);
+        assertThat(requestsAmount(SESSIONS_PATH)).isEqualTo(0);
+    }
+
+    @Test
+    public void stripeCheckout_ExpiringSessionOfOrder_CreatesSessionWithNewIdempotencyKey() throws StripeException {
+        when(stripeCustomerRepository.findCustomerIdByEmail(CUSTOMER_EMAIL)).thenReturn(Optional.of("cus_linked"));
+        when(checkoutSessionRepository.findById(ORDER_ID)).thenReturn(Optional.of(buildCheckoutSession(
+                "cs_expiring", "https://checkout.stripe.com/c/pay/cs_expiring", LocalDateTime.now().plusMinutes(5))));
+
+        String sessionUrl = paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+
+        verify(checkoutSessionRepository).save(any(StripeCheckoutSession.class));
+        assertThat(sessionUrl).isEqualTo(SESSION_URL);
+        assertThat(idempotencyKeys).containsExactly("checkout-session-order-id-cus_linked-cs_expiring");
+    }
+
+    @Test
+    public void stripeCheckout_RepeatBuyer_SkipsCustomerSearch() throws StripeException {
+        when(stripeCustomerRepository.findCustomerIdByEmail(CUSTOMER_EMAIL)).thenReturn(Optional.empty());
+
+        paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+        paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+
+        verify(stripeCustomerRepository, times(1)).findCustomerIdByEmail(CUSTOMER_EMAIL);
+        assertThat(requestsAmount(SEARCH_PATH)).isEqualTo(1);
+        assertThat(requestsAmount(SESSIONS_PATH)).isEqualTo(2);
+        assertThat(sessionRequestBodies).allSatisfy(body -> assertThat(body).contains("customer=cus_created"));
+    }
+
+    @Test
+    public void stripeCheckout_LinkedCustomer_DoesNotCallCustomerApi() throws StripeException {
+        when(stripeCustomerRepository.findCustomerIdByEmail(CUSTOMER_EMAIL)).thenReturn(Optional.of("cus_linked"));
+
+        paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+
+        verify(stripeCustomerRepository, never()).saveAndFlush(any());
+        assertThat(requestsAmount(SEARCH_PATH)).isEqualTo(0);
+        assertThat(requestsAmount(CUSTOMERS_PATH)).isEqualTo(0);
+        assertThat(sessionRequestBodies).singleElement().asString().contains("customer=cus_linked");
+    }
+
+    @Test
+    public void stripeCheckout_CustomerLinkedConcurrently_UsesAlreadyLinkedCustomer() throws StripeException {
+        when(stripeCustomerRepository.findCustomerIdByEmail(CUSTOMER_EMAIL))
+                .thenReturn(Optional.empty(), Optional.of("cus_concurrent"));
+        when(stripeCustomerRepository.saveAndFlush(any(StripeCustomer.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'PRIMARY'"));
+
+        String sessionUrl = paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+        paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+
+        assertThat(sessionUrl).isEqualTo(SESSION_URL);
+        verify(stripeCustomerRepository, times(2)).findCustomerIdByEmail(CUSTOMER_EMAIL);
+        assertThat(sessionRequestBodies).hasSize(2)
+                .allSatisfy(body -> assertThat(body).contains("customer=cus_concurrent"));
+    }
+
+    @Test
+    public void stripeCheckout_LinkedCustomerDeletedInStripe_LinksExistingCustomerAgain() throws StripeException {
+        deletedCustomerIds.add("cus_deleted");
+        searchResponse = "{\"object\": \"search_result\", \"url\": \"/v1/customers/search\", \"has_more\": false, " +
+                "\"data\": [{\"id\": \"cus_found\", \"object\": \"customer\"}]}";
+        when(stripeCustomerRepository.findCustomerIdByEmail(CUSTOMER_EMAIL))
+                .thenReturn(Optional.of("cus_deleted"), Optional.empty());
+
+        String sessionUrl = paymentService.stripeCheckout(credentialsDto, ORDER_ID);
+
+        ArgumentCaptor<StripeCustomer> stripeCustomerCaptor = ArgumentCaptor.forClass(StripeCustomer.class);
+        verify(stripeCustomerRepository).deleteById(CUSTOMER_EMAIL);
+        verify(stripeCustomerRepository).saveAndFlush(stripeCustomerCaptor.capture());
+        assertThat(sessionUrl).isEqualTo(SESSION_URL);
+        assertThat(stripeCustomerCaptor.getValue().getCustomerId()).isEqualTo("cus_found");
+        assertThat(requestsAmount(CUSTOMERS_PATH)).isEqualTo(0);
+        assertThat(sessionRequestBodies).hasSize(2);
+        assertThat(sessionRequestBodies.get(1)).contains("customer=cus_found");
+        assertThat(idempotencyKeys).containsExactly("checkout-session-order-id-cus_found-initial");
+    }
+
+    private StripeCheckoutSession buildCheckoutSession(String sessionId, String url, LocalDateTime expiresAt) {
+        return StripeCheckoutSession
+                .builder()
+                .orderId(ORDER_ID)
+                .sessionId(sessionId)
+                .customerId("cus_linked")
+                .url(url)
+                .expiresAt(expiresAt)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void handleSessionCreation(HttpExchange exchange) throws IOException {
+        String requestBody = URLDecoder.decode(new String(exchange.getRequestBody().readAllBytes(),
+                StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        sessionRequestBodies.add(requestBody);
+        if (deletedCustomerIds.stream().anyMatch(customerId -> requestBody.contains("customer=" + customerId))) {
+            respond(exchange, 400, "{\"error\": {\"type\": \"invalid_request_error\", \"code\": " +
+                    "\"resource_missing\", \"param\": \"customer\", \"message\": \"No such customer\"}}");
+            return;
+        }
+        idempotencyKeys.add(exchange.getRequestHeaders().getFirst("Idempotency-Key"));
+        Matcher customerMatcher = CUSTOMER_PARAM_PATTERN.matcher(requestBody);
+        String customerId = customerMatcher.find() ? customerMatcher.group(1) : null;
+        respond(exchange, 200, String.format("{\"id\": \"%s\", \"object\": \"checkout.session\", " +
+                "\"url\": \"%s\", \"customer\": \"%s\", \"expires_at\": %d}", SESSION_ID, SESSION_URL, customerId,
+                Instant.now().plus(Duration.ofHours(24)).getEpochSecond()));
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        requestsAmount.computeIfAbsent(exchange.getHttpContext().getPath(), path -> new AtomicInteger())
+                .incrementAndGet();
+        byte[] responseBytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, responseBytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(responseBytes);
+        }
+    }
+
+    private int requestsAmount(String path) {
+        return requestsAmount.getOrDefault(path, new AtomicInteger()).get();
+    }
+}
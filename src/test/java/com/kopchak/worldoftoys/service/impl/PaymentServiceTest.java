@@ -0,0 +1,89 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEvent;
+import com.kopchak.worldoftoys.repository.order.OrderRepository;
+import com.stripe.Stripe;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.net.Webhook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+    private final static String WEBHOOK_SECRET_KEY = "whsec_test";
+    private final static String EVENT_ID = "evt_1";
+    private final static String ORDER_ID = "order-id";
+    private final static String SESSION_ID = "cs_1";
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private PaymentWebhookService paymentWebhookService;
+    @InjectMocks
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(paymentService, "WEBHOOK_SECRET_KEY", WEBHOOK_SECRET_KEY);
+    }
+
+    @Test
+    public void handlePaymentWebhook_CheckoutSessionCompletedEvent_RegistersWebhookEvent() throws Exception {
+        String requestBody = buildEventPayload(PaymentWebhookService.CHECKOUT_SESSION_COMPLETED);
+
+        paymentService.handlePaymentWebhook(signPayload(requestBody), requestBody);
+
+        ArgumentCaptor<StripeWebhookEvent> webhookEventCaptor = ArgumentCaptor.forClass(StripeWebhookEvent.class);
+        verify(paymentWebhookService).registerEvent(webhookEventCaptor.capture());
+        StripeWebhookEvent webhookEvent = webhookEventCaptor.getValue();
+        assertThat(webhookEvent.getId()).isEqualTo(EVENT_ID);
+        assertThat(webhookEvent.getType()).isEqualTo(PaymentWebhookService.CHECKOUT_SESSION_COMPLETED);
+        assertThat(webhookEvent.getOrderId()).isEqualTo(ORDER_ID);
+        assertThat(webhookEvent.getSessionId()).isEqualTo(SESSION_ID);
+        assertThat(webhookEvent.getSessionPaymentStatus()).isEqualTo("paid");
+        assertThat(webhookEvent.getAmountTotal()).isEqualTo(100000L);
+    }
+
+    @Test
+    public void handlePaymentWebhook_UnhandledEventType_DoesNotRegisterWebhookEvent() throws Exception {
+        String requestBody = buildEventPayload("checkout.session.expired");
+
+        paymentService.handlePaymentWebhook(signPayload(requestBody), requestBody);
+
+        verifyNoInteractions(paymentWebhookService);
+    }
+
+    @Test
+    public void handlePaymentWebhook_InvalidSignature_ThrowsSignatureVerificationException() {
+        String requestBody = buildEventPayload(PaymentWebhookService.CHECKOUT_SESSION_COMPLETED);
+        String sigHeader = String.format("t=%d,v1=invalid", Webhook.Util.getTimeNow());
+
+        assertThrows(SignatureVerificationException.class,
+                () -> paymentService.handlePaymentWebhook(sigHeader, requestBody));
+        verifyNoInteractions(paymentWebhookService);
+    }
+
+    private String buildEventPayload(String eventType) {
+        return String.format("{\"id\": \"%s\", \"object\": \"event\", \"api_version\": \"%s\", " +
+                "\"type\": \"%s\", \"data\": {\"object\": {\"id\": \"%s\", \"object\": \"checkout.session\", " +
+                "\"payment_status\": \"paid\", \"amount_total\": 100000, \"metadata\": {\"order_id\": \"%s\"}}}}",
+                EVENT_ID, Stripe.API_VERSION, eventType, SESSION_ID, ORDER_ID);
+    }
+
+    private String signPayload(String payload) throws Exception {
+        long timestamp = Webhook.Util.getTimeNow();
+        String signature = Webhook.Util.computeHmacSha256(WEBHOOK_SECRET_KEY, timestamp + "." + payload);
+        return String.format("t=%d,v1=%s", timestamp, signature);
+    }
+}
@@ -0,0 +1,224 @@
+package com.kopchak.worldoftoys.service.impl;
+
+import com.kopchak.worldoftoys.domain.order.Order;
+import com.kopchak.worldoftoys.domain.order.OrderStatus;
+import com.kopchak.worldoftoys.domain.order.payment.Payment;
+import com.kopchak.worldoftoys.domain.order.payment.PaymentStatus;
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEvent;
+import com.kopchak.worldoftoys.domain.order.payment.webhook.StripeWebhookEventStatus;
+import com.kopchak.worldoftoys.domain.user.AppUser;
+import com.kopchak.worldoftoys.repository.order.OrderRepository;
+import com.kopchak.worldoftoys.repository.order.StripeWebhookEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentWebhookServiceTest {
+    private final static String EVENT_ID = "evt_1";
+    private final static String ORDER_ID = "order-id";
+    private final static String SESSION_ID = "cs_1";
+    private final static String PROCESSING_ERROR = "Failed to process the event";
+    private final static long TIMEOUT_IN_MILLIS = 1000;
+
+    @Mock
+    private StripeWebhookEventRepository webhookEventRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private EmailSenderService emailSenderService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentWebhookService paymentWebhookService;
+    private StripeWebhookEvent event;
+    private Order order;
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentWebhookService = new PaymentWebhookService(webhookEventRepository, orderRepository, emailSenderService,
+                new TransactionTemplate(transactionManager), meterRegistry, 2, 10);
+        ReflectionTestUtils.setField(paymentWebhookService, "BATCH_SIZE", 10);
+        ReflectionTestUtils.setField(paymentWebhookService, "MAX_ATTEMPTS", 2);
+        ReflectionTestUtils.setField(paymentWebhookService, "INITIAL_BACKOFF", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(paymentWebhookService, "MAX_BACKOFF", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(paymentWebhookService, "PROCESSING_TIMEOUT", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(paymentWebhookService, "RETENTION", Duration.ofDays(7));
+        event = buildEvent(PaymentWebhookService.CHECKOUT_SESSION_COMPLETED);
+        user = AppUser.builder().email("john.doe@example.com").firstname("John").build();
+        order = Order.builder().id(ORDER_ID).orderStatus(OrderStatus.AWAITING_PAYMENT).user(user)
+                .payments(new LinkedHashSet<>()).build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        paymentWebhookService.shutdown();
+    }
+
+    @Test
+    public void registerEvent_NewEvent_SavesEventAndCreatesPayment() {
+        when(webhookEventRepository.existsById(EVENT_ID)).thenReturn(false);
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+
+        paymentWebhookService.registerEvent(event);
+
+        verify(webhookEventRepository).saveAndFlush(eq(event));
+        verify(webhookEventRepository, timeout(TIMEOUT_IN_MILLIS)).markProcessed(eq(EVENT_ID));
+        verify(orderRepository).save(eq(order));
+        verify(emailSenderService).sendEmail(user.getEmail(), user.getFirstname(), ORDER_ID, PaymentStatus.COMPLETE);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.AWAITING_FULFILMENT);
+        assertThat(order.getPayments()).singleElement().satisfies(payment -> {
+            assertThat(payment.getId()).isEqualTo(SESSION_ID);
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETE);
+            assertThat(payment.getPrice()).isEqualTo(BigDecimal.valueOf(1000, 0).setScale(2));
+        });
+    }
+
+    @Test
+    public void registerEvent_PaymentOfSessionExists_UpdatesExistingPayment() {
+        StripeWebhookEvent failedPaymentEvent = buildEvent(PaymentWebhookService.FAILED_DELAYED_PAYMENT);
+        Payment payment = Payment.builder().id(SESSION_ID).status(PaymentStatus.PENDING).order(order).build();
+        order.getPayments().add(payment);
+        when(webhookEventRepository.existsById(EVENT_ID)).thenReturn(false);
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+
+        paymentWebhookService.registerEvent(failedPaymentEvent);
+
+        verify(webhookEventRepository, timeout(TIMEOUT_IN_MILLIS)).markProcessed(eq(EVENT_ID));
+        assertThat(order.getPayments()).containsExactly(payment);
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.CANCELED);
+    }
+
+    @Test
+    public void registerEvent_AlreadyReceivedEvent_DoesNotProcessEvent() {
+        when(webhookEventRepository.existsById(EVENT_ID)).thenReturn(true);
+
+        paymentWebhookService.registerEvent(event);
+
+        verify(webhookEventRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(orderRepository, emailSenderService);
+        assertThat(meterRegistry.get("payment.webhook.duplicates").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void registerEvent_ConcurrentlyReceivedEvent_DoesNotProcessEvent() {
+        when(webhookEventRepository.existsById(EVENT_ID)).thenReturn(false);
+        when(webhookEventRepository.saveAndFlush(eq(event))).thenThrow(new DataIntegrityViolationException(EVENT_ID));
+
+        paymentWebhookService.registerEvent(event);
+
+        verifyNoInteractions(orderRepository, emailSenderService);
+        assertThat(meterRegistry.get("payment.webhook.duplicates").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void registerEvent_EarlierEventOfOrderIsPending_DefersEvent() {
+        when(webhookEventRepository.existsById(EVENT_ID)).thenReturn(false);
+        when(webhookEventRepository.existsByOrderIdAndStatusAndReceivedAtBefore(eq(ORDER_ID),
+                eq(StripeWebhookEventStatus.PENDING), any())).thenReturn(true);
+
+        paymentWebhookService.registerEvent(event);
+
+        verify(webhookEventRepository, timeout(TIMEOUT_IN_MILLIS)).deferEvent(eq(EVENT_ID), any());
+        verifyNoInteractions(orderRepository, emailSenderService);
+    }
+
+    @Test
+    public void dispatchPendingEvents_FailedProcessing_SchedulesRetryWithBackoff() {
+        mockDueEvents(List.of(event));
+        when(orderRepository.findById(ORDER_ID)).thenThrow(new IllegalStateException(PROCESSING_ERROR));
+        LocalDateTime dispatchedAt = LocalDateTime.now();
+
+        paymentWebhookService.dispatchPendingEvents();
+
+        ArgumentCaptor<LocalDateTime> nextAttemptAtCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(webhookEventRepository, timeout(TIMEOUT_IN_MILLIS))
+                .scheduleRetry(eq(EVENT_ID), nextAttemptAtCaptor.capture(), eq(PROCESSING_ERROR));
+        verify(webhookEventRepository, never()).markProcessed(any());
+        assertThat(nextAttemptAtCaptor.getValue()).isAfterOrEqualTo(dispatchedAt.plusSeconds(10));
+    }
+
+    @Test
+    public void dispatchPendingEvents_LastAttemptFailed_MarksEventAsFailed() {
+        event.setAttempts(1);
+        mockDueEvents(List.of(event));
+        when(orderRepository.findById(ORDER_ID)).thenThrow(new IllegalStateException(PROCESSING_ERROR));
+
+        paymentWebhookService.dispatchPendingEvents();
+
+        verify(webhookEventRepository, timeout(TIMEOUT_IN_MILLIS)).markFailed(eq(EVENT_ID), eq(PROCESSING_ERROR));
+        verify(webhookEventRepository, never()).scheduleRetry(any(), any(), any());
+    }
+
+    @Test
+    public void dispatchPendingEvents_EventClaimedByAnotherDispatcher_DoesNotProcessEvent() {
+        when(webhookEventRepository.countByStatus(StripeWebhookEventStatus.PENDING)).thenReturn(1L);
+        when(webhookEventRepository.countByStatus(StripeWebhookEventStatus.FAILED)).thenReturn(0L);
+        when(webhookEventRepository.findDueEvents(any(), any())).thenReturn(List.of(event));
+        when(webhookEventRepository.claimEvent(eq(EVENT_ID), eq(0), any())).thenReturn(0);
+
+        paymentWebhookService.dispatchPendingEvents();
+
+        verifyNoInteractions(orderRepository, emailSenderService);
+    }
+
+    @Test
+    public void deleteProcessedEvents_DeletesEventsOlderThanRetention() {
+        LocalDateTime deletedAt = LocalDateTime.now();
+
+        paymentWebhookService.deleteProcessedEvents();
+
+        ArgumentCaptor<LocalDateTime> receivedBeforeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(webhookEventRepository).deleteProcessedEvents(receivedBeforeCaptor.capture());
+        assertThat(receivedBeforeCaptor.getValue()).isBeforeOrEqualTo(deletedAt.minusDays(7).plusSeconds(1));
+    }
+
+    private void mockDueEvents(List<StripeWebhookEvent> dueEvents) {
+        when(webhookEventRepository.countByStatus(StripeWebhookEventStatus.PENDING))
+                .thenReturn((long) dueEvents.size());
+        when(webhookEventRepository.countByStatus(StripeWebhookEventStatus.FAILED)).thenReturn(0L);
+        when(webhookEventRepository.findDueEvents(any(), any())).thenReturn(dueEvents);
+        when(webhookEventRepository.claimEvent(any(), anyInt(), any())).thenReturn(1);
+    }
+
+    private StripeWebhookEvent buildEvent(String type) {
+        return StripeWebhookEvent
+                .builder()
+                .id(EVENT_ID)
+                .type(type)
+                .orderId(ORDER_ID)
+                .sessionId(SESSION_ID)
+                .sessionPaymentStatus("paid")
+                .amountTotal(100000L)
+                .receivedAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
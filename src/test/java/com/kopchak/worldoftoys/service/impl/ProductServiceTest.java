@@ -1,6 +1,8 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.ProductCountCache;
 import com.kopchak.worldoftoys.domain.image.Image;
+import com.kopchak.worldoftoys.domain.image.ImageSize;
 import com.kopchak.worldoftoys.domain.product.Product;
 import com.kopchak.worldoftoys.domain.product.category.AgeCategory;
 import com.kopchak.worldoftoys.domain.product.category.BrandCategory;
@@ -10,30 +12,44 @@ import com.kopchak.worldoftoys.dto.admin.product.AddUpdateProductDto;
 import com.kopchak.worldoftoys.dto.admin.product.AdminFilteredProductDto;
 import com.kopchak.worldoftoys.dto.admin.product.AdminProductDto;
 import com.kopchak.worldoftoys.dto.admin.product.AdminProductsPageDto;
+import com.kopchak.worldoftoys.dto.product.CursorPageDto;
 import com.kopchak.worldoftoys.dto.product.FilteredProductDto;
 import com.kopchak.worldoftoys.dto.product.FilteredProductsPageDto;
 import com.kopchak.worldoftoys.dto.product.ProductDto;
+import com.kopchak.worldoftoys.dto.product.ProductListingDto;
+import com.kopchak.worldoftoys.dto.product.ProductSuggestionDto;
 import com.kopchak.worldoftoys.dto.image.ImageDto;
 import com.kopchak.worldoftoys.exception.exception.product.DuplicateProductNameException;
+import com.kopchak.worldoftoys.exception.exception.product.InvalidPageSizeException;
+import com.kopchak.worldoftoys.exception.exception.product.InvalidProductCursorException;
 import com.kopchak.worldoftoys.exception.exception.product.ProductNotFoundException;
 import com.kopchak.worldoftoys.mapper.product.ProductMapper;
+import com.kopchak.worldoftoys.repository.product.ProductListingRepository;
 import com.kopchak.worldoftoys.repository.product.ProductRepository;
 import com.kopchak.worldoftoys.repository.specifications.impl.ProductSpecificationsImpl;
+import com.kopchak.worldoftoys.search.CatalogIndex;
+import com.kopchak.worldoftoys.search.ProductSearchDocument;
+import com.kopchak.worldoftoys.search.ProductSearchIndex;
+import com.kopchak.worldoftoys.transaction.AfterCommitExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -41,6 +57,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +65,8 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
     @Mock
+    private ProductListingRepository productListingRepository;
+    @Mock
     private ImageService imageService;
     @Mock
     private CategoryService categoryService;
@@ -55,6 +74,14 @@ class ProductServiceTest {
     private ProductSpecificationsImpl productSpecifications;
     @Mock
     private ProductMapper productMapper;
+    @Mock
+    private ProductCountCache productCountCache;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private CatalogIndex catalogIndex;
+    @Spy
+    private AfterCommitExecutor afterCommitExecutor;
     @InjectMocks
     private ProductService productService;
 
@@ -69,12 +96,15 @@ class ProductServiceTest {
 
     private final static int PAGE = 0;
     private final static int SIZE = 3;
+    private final static int SUGGESTIONS_MAX_LIMIT = 50;
+    private final static int MAX_PAGE_SIZE = 100;
     private BigDecimal minProductPrice;
     private BigDecimal maxProductPrice;
     private List<String> originCategories;
     private List<String> brandCategories;
     private List<String> ageCategories;
     private Product product;
+    private ProductListingDto productListingDto;
     private ImageDto imageDto;
     private Specification<Product> spec;
     private Pageable pageable;
@@ -86,12 +116,16 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(productService, "SUGGESTIONS_MAX_LIMIT", SUGGESTIONS_MAX_LIMIT);
+        ReflectionTestUtils.setField(productService, "MAX_PAGE_SIZE", MAX_PAGE_SIZE);
         minProductPrice = BigDecimal.valueOf(350);
         maxProductPrice = BigDecimal.valueOf(1000);
         originCategories = List.of("china", "ukraine");
         brandCategories = List.of("сurlimals", "devilon");
         ageCategories = List.of("do-1-roku", "vid-1-do-3-rokiv");
         product = Product.builder().id(PRODUCT_ID).mainImage(new Image()).images(Set.of(new Image())).build();
+        productListingDto = new ProductListingDto(PRODUCT_ID, PRODUCT_NAME, PRODUCT_SLUG, minProductPrice,
+                BigInteger.ONE, true, null, null, null);
         imageDto = ImageDto.builder().build();
         spec = Specification.where(null);
         pageable = PageRequest.of(PAGE, SIZE);
@@ -113,7 +147,7 @@ class ProductServiceTest {
         ProductDto expectedProductDto = ProductDto.builder().build();
 
         when(productRepository.findBySlug(eq(PRODUCT_SLUG))).thenReturn(Optional.of(product));
-        when(imageService.decompressImage(any())).thenReturn(Optional.of(imageDto));
+        when(imageService.toImageDto(any(), any())).thenReturn(imageDto);
         when(productMapper.toProductDto(eq(product), any(), any())).thenReturn(expectedProductDto);
 
         ProductDto actualProductDto = productService.getProductBySlug(PRODUCT_SLUG);
@@ -134,7 +168,7 @@ class ProductServiceTest {
 
     @Test
     public void getFilteredProducts_ReturnsFilteredProductsPageDto() {
-        Page<Product> productPage = new PageImpl<>(List.of(product), PageRequest.of(0, 5), 5);
+        Page<ProductListingDto> productPage = new PageImpl<>(List.of(productListingDto), PageRequest.of(0, 5), 5);
         FilteredProductDto filteredProductDto = FilteredProductDto.builder().build();
         var expectedFilteredProductsPageDto =
                 new FilteredProductsPageDto(List.of(filteredProductDto), 5L, 1L);
@@ -142,20 +176,147 @@ class ProductServiceTest {
         when(productSpecifications.filterByAllCriteria(eq(PRODUCT_NAME), eq(minProductPrice), eq(maxProductPrice),
                 eq(originCategories), eq(brandCategories), eq(ageCategories), eq(PRICE_SORT_ORDER), any()))
                 .thenReturn(spec);
-        when(productRepository.findAll(eq(spec), eq(pageable))).thenReturn(productPage);
-        when(imageService.decompressImage(eq(product.getMainImage()))).thenReturn(Optional.empty());
-        when(productMapper.toFilteredProductDto(eq(product), any())).thenReturn(filteredProductDto);
+        when(productListingRepository.findAll(eq(spec), eq(pageable), any())).thenReturn(productPage);
+        when(imageService.toImageDto(isNull(), isNull(), isNull(), eq(ImageSize.THUMBNAIL))).thenReturn(null);
+        when(productMapper.toFilteredProductDto(eq(productListingDto), any())).thenReturn(filteredProductDto);
 
         var actualFilteredProductsPageDto = productService.getFilteredProductsPage(PAGE, SIZE, PRODUCT_NAME,
-                minProductPrice, maxProductPrice, originCategories, brandCategories, ageCategories, PRICE_SORT_ORDER);
+                minProductPrice, maxProductPrice, originCategories, brandCategories, ageCategories, PRICE_SORT_ORDER,
+                null);
 
         assertThat(actualFilteredProductsPageDto).isNotNull();
         assertThat(actualFilteredProductsPageDto).isEqualTo(expectedFilteredProductsPageDto);
     }
 
+    @Test
+    public void getFilteredProducts_EnabledCatalogIndex_ReturnsFilteredProductsPageDtoFromIndexedIds() {
+        FilteredProductDto filteredProductDto = FilteredProductDto.builder().build();
+        var expectedFilteredProductsPageDto = new FilteredProductsPageDto(List.of(filteredProductDto), 5L, 2L);
+
+        when(catalogIndex.isEnabled()).thenReturn(true);
+        when(catalogIndex.findProductIds(eq(PRODUCT_NAME), eq(minProductPrice), eq(maxProductPrice),
+                eq(originCategories), eq(brandCategories), eq(ageCategories), isNull(), eq(PRICE_SORT_ORDER),
+                isNull(), eq(0L), eq(SIZE))).thenReturn(List.of(PRODUCT_ID));
+        when(catalogIndex.count(eq(PRODUCT_NAME), eq(minProductPrice), eq(maxProductPrice), eq(originCategories),
+                eq(brandCategories), eq(ageCategories), isNull())).thenReturn(5L);
+        when(productListingRepository.findAllById(eq(List.of(PRODUCT_ID)))).thenReturn(List.of(productListingDto));
+        when(productMapper.toFilteredProductDto(eq(productListingDto), any())).thenReturn(filteredProductDto);
+
+        var actualFilteredProductsPageDto = productService.getFilteredProductsPage(PAGE, SIZE, PRODUCT_NAME,
+                minProductPrice, maxProductPrice, originCategories, brandCategories, ageCategories, PRICE_SORT_ORDER,
+                null);
+
+        assertThat(actualFilteredProductsPageDto).isEqualTo(expectedFilteredProductsPageDto);
+        verifyNoInteractions(productSpecifications);
+    }
+
+    @Test
+    public void getFilteredProducts_EnabledCatalogIndexAndHugeSize_ClampsIndexLimit() {
+        when(catalogIndex.isEnabled()).thenReturn(true);
+        when(catalogIndex.findProductIds(any(), any(), any(), any(), any(), any(), any(), any(), any(), anyLong(),
+                anyInt())).thenReturn(List.of());
+
+        productService.getFilteredProductsPage(PAGE, Integer.MAX_VALUE, PRODUCT_NAME, minProductPrice,
+                maxProductPrice, originCategories, brandCategories, ageCategories, PRICE_SORT_ORDER, null);
+
+        verify(catalogIndex).findProductIds(any(), any(), any(), any(), any(), any(), any(), any(), any(), eq(0L),
+                eq(MAX_PAGE_SIZE));
+    }
+
+    @Test
+    public void getFilteredProducts_NonPositiveSize_ThrowsInvalidPageSizeException() {
+        String invalidPageSizeExceptionMsg = "The page size: 0 must be greater than zero";
+
+        assertException(InvalidPageSizeException.class, invalidPageSizeExceptionMsg,
+                () -> productService.getFilteredProductsPage(PAGE, 0, PRODUCT_NAME, minProductPrice,
+                        maxProductPrice, originCategories, brandCategories, ageCategories, PRICE_SORT_ORDER, null));
+        verifyNoInteractions(productListingRepository, catalogIndex);
+    }
+
+    @Test
+    public void getFilteredProductsCursorPage_HasNextSlice_ReturnsCursorPageDtoWithNextCursor() {
+        FilteredProductDto filteredProductDto = FilteredProductDto.builder().build();
+        String expectedNextCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.format("asc:%s:%d", minProductPrice, PRODUCT_ID).getBytes());
+        var expectedCursorPageDto = new CursorPageDto<>(List.of(filteredProductDto), expectedNextCursor, 5L);
+
+        when(productSpecifications.filterByAllCriteria(eq(PRODUCT_NAME), eq(minProductPrice), eq(maxProductPrice),
+                eq(originCategories), eq(brandCategories), eq(ageCategories), eq(PRICE_SORT_ORDER), any()))
+                .thenReturn(spec);
+        when(productSpecifications.isAfterCursor(isNull())).thenReturn(spec);
+        when(productListingRepository.findSlice(any(), eq(SIZE)))
+                .thenReturn(new SliceImpl<>(List.of(productListingDto), pageable, true));
+        when(productCountCache.get(any(), any())).thenReturn(5L);
+        when(productMapper.toFilteredProductDto(eq(productListingDto), any())).thenReturn(filteredProductDto);
+
+        var actualCursorPageDto = productService.getFilteredProductsCursorPage("", SIZE, PRODUCT_NAME,
+                minProductPrice, maxProductPrice, originCategories, brandCategories, ageCategories,
+                PRICE_SORT_ORDER, true);
+
+        assertThat(actualCursorPageDto).isEqualTo(expectedCursorPageDto);
+    }
+
+    @Test
+    public void getFilteredProductsCursorPage_MaxIntegerSize_ClampsSliceSize() {
+        when(productSpecifications.filterByAllCriteria(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(spec);
+        when(productSpecifications.isAfterCursor(isNull())).thenReturn(spec);
+        when(productListingRepository.findSlice(any(), eq(MAX_PAGE_SIZE)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, MAX_PAGE_SIZE), false));
+
+        var actualCursorPageDto = productService.getFilteredProductsCursorPage(null, Integer.MAX_VALUE, null, null,
+                null, null, null, null, PRICE_SORT_ORDER, false);
+
+        assertThat(actualCursorPageDto.nextCursor()).isNull();
+        verify(productListingRepository).findSlice(any(), eq(MAX_PAGE_SIZE));
+    }
+
+    @Test
+    public void getFilteredProductsCursorPage_NonPositiveSize_ThrowsInvalidPageSizeException() {
+        String invalidPageSizeExceptionMsg = "The page size: -1 must be greater than zero";
+
+        assertException(InvalidPageSizeException.class, invalidPageSizeExceptionMsg,
+                () -> productService.getFilteredProductsCursorPage(null, -1, null, null, null, null,
+                        null, null, PRICE_SORT_ORDER, false));
+        verifyNoInteractions(productListingRepository, catalogIndex);
+    }
+
+    @Test
+    public void getFilteredProductsCursorPage_CursorWithOtherPriceSortOrder_ThrowsInvalidProductCursorException() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("desc:900:1002".getBytes());
+        String invalidProductCursorExceptionMsg = String.format("The product cursor: %s is invalid", cursor);
+
+        assertException(InvalidProductCursorException.class, invalidProductCursorExceptionMsg,
+                () -> productService.getFilteredProductsCursorPage(cursor, SIZE, null, null, null, null,
+                        null, null, PRICE_SORT_ORDER, false));
+        verifyNoInteractions(productListingRepository);
+    }
+
+    @Test
+    public void getProductSuggestions_MatchingProducts_ReturnsProductSuggestionDtoList() {
+        var searchDocument = new ProductSearchDocument(PRODUCT_ID, PRODUCT_NAME, PRODUCT_SLUG, null);
+
+        when(productSearchIndex.search(eq(PRODUCT_NAME), eq(SIZE))).thenReturn(List.of(searchDocument));
+
+        List<ProductSuggestionDto> actualProductSuggestions = productService.getProductSuggestions(PRODUCT_NAME, SIZE);
+
+        assertThat(actualProductSuggestions).isEqualTo(List.of(new ProductSuggestionDto(PRODUCT_NAME, PRODUCT_SLUG)));
+    }
+
+    @Test
+    public void getProductSuggestions_LimitOutOfBounds_ClampsSearchLimit() {
+        when(productSearchIndex.search(eq(PRODUCT_NAME), anyInt())).thenReturn(List.of());
+
+        productService.getProductSuggestions(PRODUCT_NAME, Integer.MAX_VALUE);
+        productService.getProductSuggestions(PRODUCT_NAME, -5);
+
+        verify(productSearchIndex).search(PRODUCT_NAME, SUGGESTIONS_MAX_LIMIT);
+        verify(productSearchIndex).search(PRODUCT_NAME, 1);
+    }
+
     @Test
     public void getAdminFilteredProducts_ReturnsAdminProductsPageDto() {
-        Page<Product> productPage = new PageImpl<>(List.of(product), PageRequest.of(0, 5), 5);
+        Page<ProductListingDto> productPage = new PageImpl<>(List.of(productListingDto), PageRequest.of(0, 5), 5);
         AdminFilteredProductDto adminFilteredProductDto = AdminFilteredProductDto.builder().build();
         var expectedAdminProductsPageDto =
                 new AdminProductsPageDto(List.of(adminFilteredProductDto), 5L, 1L);
@@ -163,13 +324,14 @@ class ProductServiceTest {
         when(productSpecifications.filterByAllCriteria(eq(PRODUCT_NAME), eq(minProductPrice), eq(maxProductPrice),
                 eq(originCategories), eq(brandCategories), eq(ageCategories), eq(PRICE_SORT_ORDER), any()))
                 .thenReturn(spec);
-        when(productRepository.findAll(eq(spec), eq(pageable))).thenReturn(productPage);
-        when(imageService.decompressImage(eq(product.getMainImage()))).thenReturn(Optional.empty());
-        when(productMapper.toAdminFilteredProductDto(eq(product), any())).thenReturn(adminFilteredProductDto);
+        when(productListingRepository.findAll(eq(spec), eq(pageable), any())).thenReturn(productPage);
+        when(imageService.toImageDto(isNull(), isNull(), isNull(), eq(ImageSize.THUMBNAIL))).thenReturn(null);
+        when(productMapper.toAdminFilteredProductDto(eq(productListingDto), any()))
+                .thenReturn(adminFilteredProductDto);
 
         var actualAdminProductsPageDto = productService.getAdminProductsPage(PAGE, SIZE, PRODUCT_NAME,
                 minProductPrice, maxProductPrice, originCategories, brandCategories, ageCategories,
-                PRICE_SORT_ORDER, null);
+                PRICE_SORT_ORDER, null, null);
 
         assertThat(actualAdminProductsPageDto).isNotNull();
         assertThat(actualAdminProductsPageDto).isEqualTo(expectedAdminProductsPageDto);
@@ -188,7 +350,7 @@ class ProductServiceTest {
                 .build();
 
         when(productRepository.findById(eq(PRODUCT_ID))).thenReturn(Optional.of(product));
-        when(imageService.decompressImage(any())).thenReturn(Optional.of(imageDto));
+        when(imageService.toImageDto(any(), any())).thenReturn(imageDto);
         when(productMapper.toAdminProductDto(eq(product), eq(imageDto), eq(imageDtoList)))
                 .thenReturn(expectedAdminProductDto);
 
@@ -221,6 +383,8 @@ class ProductServiceTest {
         productService.updateProduct(PRODUCT_ID, addUpdateProductDto, null, null);
 
         verify(productRepository).save(eq(product));
+        verify(productCountCache).evictAll();
+        verify(productSearchIndex).index(eq(product.getId()), eq(product.getName()), eq(product.getDescription()));
 
         assertThat(product.getBrandCategory()).isEqualTo(brandCategory);
         assertThat(product.getOriginCategory()).isEqualTo(originCategory);
@@ -269,6 +433,8 @@ class ProductServiceTest {
         productService.createProduct(addUpdateProductDto, image, images);
 
         verify(productRepository).save(eq(product));
+        verify(productCountCache).evictAll();
+        verify(productSearchIndex).index(eq(product.getId()), eq(product.getName()), eq(product.getDescription()));
 
         assertThat(product.getBrandCategory()).isEqualTo(brandCategory);
         assertThat(product.getOriginCategory()).isEqualTo(originCategory);
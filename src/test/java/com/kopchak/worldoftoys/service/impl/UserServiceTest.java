@@ -1,5 +1,6 @@
 package com.kopchak.worldoftoys.service.impl;
 
+import com.kopchak.worldoftoys.cache.UserDetailsCache;
 import com.kopchak.worldoftoys.domain.user.AppUser;
 import com.kopchak.worldoftoys.dto.token.AccessAndRefreshTokensDto;
 import com.kopchak.worldoftoys.dto.user.UserAuthDto;
@@ -38,6 +39,8 @@ class UserServiceTest {
     private JwtTokenService jwtTokenService;
     @Mock
     private AuthenticationManager authenticationManager;
+    @Mock
+    private UserDetailsCache userDetailsCache;
     @InjectMocks
     private UserService userService;
     private final static String USER_EMAIL = "test@gmail.com";
@@ -136,6 +139,7 @@ class UserServiceTest {
         userService.changeUserPassword(user, NEW_USER_PASSWORD);
 
         verify(userRepository).save(eq(user));
+        verify(userDetailsCache).evict(eq(user.getEmail()));
         assertEquals(user.getPassword(), NEW_USER_PASSWORD);
     }
 
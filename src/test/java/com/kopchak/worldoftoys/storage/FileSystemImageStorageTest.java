@@ -0,0 +1,113 @@
+package com.kopchak.worldoftoys.storage;
+
+import com.kopchak.worldoftoys.exception.exception.image.ImageNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileSystemImageStorageTest {
+    private final static byte[] IMAGE_CONTENT = "image".getBytes();
+    private final static String IMAGE_HASH = "6105d6cc76af400325e94d588ce511be5bfdbb73b437dc51eca43917d7a43e3d";
+
+    @TempDir
+    private Path rootLocation;
+
+    private FileSystemImageStorage imageStorage;
+
+    @BeforeEach
+    void setUp() {
+        imageStorage = new FileSystemImageStorage(rootLocation.toString());
+    }
+
+    @Test
+    public void store_ImageContent_ReturnsSha256HashAndStoresContent() throws IOException {
+        String hash = imageStorage.store(IMAGE_CONTENT);
+
+        Resource resource = imageStorage.load(hash);
+
+        assertThat(hash).isEqualTo(IMAGE_HASH);
+        assertThat(resource.getContentAsByteArray()).isEqualTo(IMAGE_CONTENT);
+        assertThat(resource.contentLength()).isEqualTo(IMAGE_CONTENT.length);
+    }
+
+    @Test
+    public void store_IdenticalImageContent_StoresContentOnce() throws IOException {
+        String firstHash = imageStorage.store(IMAGE_CONTENT);
+        String secondHash = imageStorage.store(IMAGE_CONTENT.clone());
+
+        assertThat(secondHash).isEqualTo(firstHash);
+        try (Stream<Path> storedFiles = Files.walk(rootLocation)) {
+            assertThat(storedFiles.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void findHashesStoredBefore_OldAndFreshImages_ReturnsOnlyOldImageHashes() throws IOException {
+        String oldHash = imageStorage.store(IMAGE_CONTENT);
+        imageStorage.store("fresh image".getBytes());
+        setStoredAt(oldHash, Instant.now().minus(Duration.ofDays(2)));
+
+        try (Stream<String> hashes = imageStorage.findHashesStoredBefore(Instant.now().minus(Duration.ofDays(1)))) {
+            assertThat(hashes).containsExactly(oldHash);
+        }
+    }
+
+    @Test
+    public void store_AlreadyStoredOldImage_RefreshesStoredAt() throws IOException {
+        String hash = imageStorage.store(IMAGE_CONTENT);
+        setStoredAt(hash, Instant.now().minus(Duration.ofDays(2)));
+
+        imageStorage.store(IMAGE_CONTENT);
+
+        try (Stream<String> hashes = imageStorage.findHashesStoredBefore(Instant.now().minus(Duration.ofDays(1)))) {
+            assertThat(hashes).isEmpty();
+        }
+    }
+
+    @Test
+    public void deleteIfStoredBefore_OldImage_DeletesImage() throws IOException {
+        String hash = imageStorage.store(IMAGE_CONTENT);
+        setStoredAt(hash, Instant.now().minus(Duration.ofDays(2)));
+
+        boolean isDeleted = imageStorage.deleteIfStoredBefore(hash, Instant.now().minus(Duration.ofDays(1)));
+
+        assertThat(isDeleted).isTrue();
+        assertThrows(ImageNotFoundException.class, () -> imageStorage.load(hash));
+    }
+
+    @Test
+    public void deleteIfStoredBefore_FreshImage_KeepsImage() {
+        String hash = imageStorage.store(IMAGE_CONTENT);
+
+        boolean isDeleted = imageStorage.deleteIfStoredBefore(hash, Instant.now().minus(Duration.ofDays(1)));
+
+        assertThat(isDeleted).isFalse();
+        assertThat(imageStorage.load(hash).exists()).isTrue();
+    }
+
+    @Test
+    public void load_NonExistentHash_ThrowsImageNotFoundException() {
+        String imageNotFoundExceptionMsg = String.format("The image with hash: %s is not found.", IMAGE_HASH);
+
+        ImageNotFoundException exception = assertThrows(ImageNotFoundException.class,
+                () -> imageStorage.load(IMAGE_HASH));
+        assertEquals(imageNotFoundExceptionMsg, exception.getMessage());
+    }
+
+    private void setStoredAt(String hash, Instant storedAt) throws IOException {
+        Files.setLastModifiedTime(imageStorage.load(hash).getFile().toPath(), FileTime.from(storedAt));
+    }
+}
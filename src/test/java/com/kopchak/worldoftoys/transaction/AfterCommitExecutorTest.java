@@ -0,0 +1,56 @@
+package com.kopchak.worldoftoys.transaction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AfterCommitExecutorTest {
+    private final AfterCommitExecutor afterCommitExecutor = new AfterCommitExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void execute_NoActiveTransaction_RunsActionImmediately() {
+        AtomicInteger executionsAmount = new AtomicInteger();
+
+        afterCommitExecutor.execute(executionsAmount::incrementAndGet);
+
+        assertThat(executionsAmount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_ActiveTransaction_RunsActionAfterCommit() {
+        AtomicInteger executionsAmount = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        afterCommitExecutor.execute(executionsAmount::incrementAndGet);
+        int executionsAmountBeforeCommit = executionsAmount.get();
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        assertThat(executionsAmountBeforeCommit).isZero();
+        assertThat(executionsAmount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_RolledBackTransaction_DoesNotRunAction() {
+        AtomicInteger executionsAmount = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        afterCommitExecutor.execute(executionsAmount::incrementAndGet);
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(executionsAmount.get()).isZero();
+    }
+}